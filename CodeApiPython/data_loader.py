@@ -3,12 +3,18 @@ import numpy as np
 from typing import Dict, List, Tuple
 from models import GameData, UserPurchase
 import json
+import uuid
 
 class DataLoader:
     def __init__(self):
         self.games_data = {}
         self.users_data = {}
         self.ratings_matrix = None
+        # Interactions exportées par le backend Java : {user_id: {game_id: (note_explicite, valeur)}}
+        self.imported_interactions = {}
+        # Magasin en mémoire, perdu au redémarrage : un nouvel identifiant signale au backend
+        # que ses exports incrémentaux ne s'appliquent plus et qu'un export complet est nécessaire
+        self.store_id = uuid.uuid4().hex
         
     def load_games_data(self, file_path: str = None) -> Dict[int, GameData]:
         """Charge les données des jeux depuis un fichier ou crée des données de test"""
@@ -91,6 +97,51 @@ class DataLoader:
         self.users_data = sample_users
         return self.users_data
     
+    def add_interactions(self, lines: List[str], reset: bool = False) -> int:
+        """Intègre un lot NDJSON d'interactions (achats, avis, liste de souhaits) exporté par le backend Java.
+        Une ligne "delete" efface un couple utilisateur × jeu, dont l'état courant suit dans le même lot."""
+        if reset:
+            self.imported_interactions = {}
+        count = 0
+        for line in lines:
+            if not line.strip():
+                continue
+            interaction = json.loads(line)
+            game_id = interaction["game_id"]
+            if interaction["kind"] == "delete":
+                user_games = self.imported_interactions.get(interaction["user_id"], {})
+                user_games.pop(game_id, None)
+                if not user_games:
+                    self.imported_interactions.pop(interaction["user_id"], None)
+                count += 1
+                continue
+            user_games = self.imported_interactions.setdefault(interaction["user_id"], {})
+            explicit, value = user_games.get(game_id, (False, 0.0))
+            if interaction["kind"] == "review":
+                # Une note explicite remplace les interactions implicites
+                user_games[game_id] = (True, float(interaction["note"]))
+            elif not explicit:
+                weight = 4.0 if interaction["kind"] == "purchase" else 3.0
+                user_games[game_id] = (False, max(value, weight))
+            count += 1
+        return count
+    
+    def use_imported_users_data(self) -> Dict[int, List[UserPurchase]]:
+        """Remplace les utilisateurs de test par les interactions importées.
+        Les jeux cités par ces interactions sont ajoutés au catalogue s'il ne les connaît pas :
+        la matrice couvre alors tout le catalogue exporté, et non les seuls jeux d'exemple."""
+        for games in self.imported_interactions.values():
+            for game_id in games:
+                if game_id not in self.games_data:
+                    self.games_data[game_id] = GameData(
+                        game_id=game_id, name=f"Jeu {game_id}", category="Inconnue", publisher="Inconnu",
+                        price=0.0, min_players=0, max_players=0, min_age=0, duration=0)
+        self.users_data = {
+            user_id: [UserPurchase(game_id=game_id, rating=value) for game_id, (_, value) in games.items()]
+            for user_id, games in self.imported_interactions.items()
+        }
+        return self.users_data
+    
     def build_ratings_matrix(self) -> np.ndarray:
         """Construit la matrice des notes utilisateur-jeu"""
         if not self.users_data or not self.games_data:
@@ -99,16 +150,15 @@ class DataLoader:
         user_ids = list(self.users_data.keys())
         game_ids = list(self.games_data.keys())
         
-        # Créer la matrice des notes
+        # Créer la matrice des notes : colonne de chaque jeu retrouvée par index plutôt que par parcours
         self.ratings_matrix = np.zeros((len(user_ids), len(game_ids)))
+        column_by_game = {game_id: j for j, game_id in enumerate(game_ids)}
         
         for i, user_id in enumerate(user_ids):
-            for j, game_id in enumerate(game_ids):
-                # Chercher la note de l'utilisateur pour ce jeu
-                for purchase in self.users_data[user_id]:
-                    if purchase.game_id == game_id:
-                        self.ratings_matrix[i, j] = purchase.rating
-                        break
+            for purchase in self.users_data[user_id]:
+                j = column_by_game.get(purchase.game_id)
+                if j is not None and self.ratings_matrix[i, j] == 0:
+                    self.ratings_matrix[i, j] = purchase.rating
         
         return self.ratings_matrix
     
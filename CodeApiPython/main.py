@@ -1,8 +1,8 @@
-from fastapi import FastAPI, HTTPException, Depends
+from fastapi import FastAPI, HTTPException, Depends, Request
 from fastapi.middleware.cors import CORSMiddleware
 from contextlib import asynccontextmanager
 from pydantic import BaseModel
-from typing import List, Dict
+from typing import List, Dict, Optional
 import uvicorn
 import logging
 from models import UserData, RecommendationRequest, RecommendationResponse, UserPurchase, UserPurchase
@@ -240,6 +240,26 @@ async def train_model():
         logger.error(f"Erreur lors de l'entraînement du modèle: {e}")
         raise HTTPException(status_code=500, detail="Erreur lors de l'entraînement du modèle")
 
+@app.post("/train/interactions", tags=["Modèle"])
+async def receive_interactions(request: Request, reset: bool = False, store: Optional[str] = None):
+    """
+    Reçoit un lot d'interactions au format NDJSON ; reset=true oublie les lots précédents.
+    Hors réinitialisation, store désigne le magasin visé : 409 s'il a été perdu (redémarrage)
+    """
+    loader = recommendation_engine.data_loader
+    if not reset and store is not None and store != loader.store_id:
+        logger.warning(f"Lot destiné au magasin {store}, magasin courant {loader.store_id} : export complet requis")
+        raise HTTPException(status_code=409, detail="Magasin d'interactions réinitialisé, export complet requis")
+    try:
+        body = await request.body()
+        count = loader.add_interactions(body.decode("utf-8").splitlines(), reset)
+        logger.info(f"{count} interactions reçues (reset={reset})")
+        return {"message": f"{count} interactions reçues", "status": "success", "store_id": loader.store_id}
+        
+    except (ValueError, KeyError) as e:
+        logger.error(f"Lot d'interactions invalide: {e}")
+        raise HTTPException(status_code=400, detail="Lot d'interactions invalide")
+
 @app.get("/games/", tags=["Jeux"])
 async def get_all_games():
     """Récupère la liste de tous les jeux disponibles"""
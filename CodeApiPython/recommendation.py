@@ -24,6 +24,8 @@ class KNNRecommendationEngine:
             # Charger les données
             self.data_loader.load_games_data()
             self.data_loader.create_sample_users_data()
+            if self.data_loader.imported_interactions:
+                self.data_loader.use_imported_users_data()
             
             # Construire la matrice des notes
             ratings_matrix = self.data_loader.build_ratings_matrix()
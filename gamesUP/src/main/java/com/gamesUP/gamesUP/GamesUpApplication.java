@@ -2,8 +2,12 @@ package com.gamesUP.gamesUP;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Les requêtes sont authentifiées par token (TokenAuthenticationFilter) : pas d'utilisateur en mémoire par défaut
+@SpringBootApplication(exclude = UserDetailsServiceAutoConfiguration.class)
+@EnableScheduling
 public class GamesUpApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,44 @@
+package com.gamesUP.gamesUP.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caches du catalogue : GameDTO hydratés par ID et résultats de listes/pages.
+ * Les caches sont bornés en taille et en durée de vie ; leurs statistiques
+ * (hits, miss, évictions) sont publiées par l'actuator sous /actuator/metrics/cache.*.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String GAMES_CACHE = "games";
+    public static final String GAME_LISTS_CACHE = "gameLists";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${gamesup.cache.games.maximum-size:10000}") long gamesMaximumSize,
+            @Value("${gamesup.cache.games.ttl:10m}") Duration gamesTtl,
+            @Value("${gamesup.cache.game-lists.maximum-size:500}") long listsMaximumSize,
+            @Value("${gamesup.cache.game-lists.ttl:2m}") Duration listsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(GAMES_CACHE, Caffeine.newBuilder()
+                .maximumSize(gamesMaximumSize)
+                .expireAfterWrite(gamesTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(GAME_LISTS_CACHE, Caffeine.newBuilder()
+                .maximumSize(listsMaximumSize)
+                .expireAfterWrite(listsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
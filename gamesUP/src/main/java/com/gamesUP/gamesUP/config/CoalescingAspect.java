@@ -0,0 +1,42 @@
+package com.gamesUP.gamesUP.config;
+
+import com.gamesUP.gamesUP.service.Coalesced;
+import com.gamesUP.gamesUP.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applique {@link Coalesced} : la clé est la liste des arguments. Placé avant les intercepteurs
+ * de cache et de transaction (ordre par défaut : le plus bas), un appel regroupé n'ouvre
+ * ni transaction ni lecture du cache.
+ */
+@Aspect
+@Component
+@Order(0)
+public class CoalescingAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SingleFlight> flights = new ConcurrentHashMap<>();
+
+    public CoalescingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(com.gamesUP.gamesUP.service.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Coalesced coalesced = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(Coalesced.class);
+        SingleFlight flight = flights.computeIfAbsent(coalesced.value(), name -> new SingleFlight(name, meterRegistry));
+        List<Object> key = Arrays.asList(joinPoint.getArgs());
+        return flight.execute(key, joinPoint::proceed);
+    }
+}
@@ -1,14 +1,26 @@
 package com.gamesUP.gamesUP.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Client HTTP partagé : il conserve les connexions keep-alive dans son pool
+     * au lieu d'ouvrir une connexion TCP par appel. Chaque client construit dessus
+     * ses propres RestTemplate avec ses délais de lecture (voir PythonApiClient).
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient httpClient(@Value("${gamesup.http.connect-timeout:500ms}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
     }
-} 
\ No newline at end of file
+}
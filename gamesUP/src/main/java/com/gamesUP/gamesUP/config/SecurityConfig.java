@@ -1,17 +1,20 @@
 package com.gamesUP.gamesUP.config;
 
+import com.gamesUP.gamesUP.security.PrincipalCache;
+import com.gamesUP.gamesUP.security.TokenAuthenticationFilter;
+import com.gamesUP.gamesUP.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -23,27 +26,43 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService,
+                                           PrincipalCache principalCache) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
+            // Authentification par token à chaque requête : pas de session HTTP
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService, principalCache),
+                    UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(authz -> authz
                 // Endpoints publics (pas d'authentification requise)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/users/register").permitAll()
                 .requestMatchers("/api/users/clients").permitAll()
                 .requestMatchers("/api/users/admins").permitAll()
-                .requestMatchers("/api/games").permitAll()
-                .requestMatchers("/api/games/search").permitAll()
-                .requestMatchers("/api/games/{id}").permitAll()
+                // Catalogue en lecture seule : {id} ne doit couvrir ni /bulk, ni les écritures.
+                // L'export NDJSON /stream expose le même contenu que la liste, avec les mêmes règles
+                .requestMatchers(HttpMethod.GET, "/api/games", "/api/games/stream", "/api/games/search",
+                        "/api/games/scroll", "/api/games/top-rated").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/games/search").permitAll()
+                .requestMatchers("/api/games/bulk").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/games/{id}").permitAll()
                 .requestMatchers("/api/categories/**").permitAll()
                 .requestMatchers("/api/publishers/**").permitAll()
                 .requestMatchers("/api/authors/**").permitAll()
+                // Recommandations par lot : une requête peut couvrir des milliers d'utilisateurs
+                .requestMatchers(HttpMethod.POST, "/api/recommendations/users").hasRole("ADMIN")
+                // Réentraînement et export complet vers l'API Python : opérations d'administration
+                .requestMatchers("/api/recommendations/send-data", "/api/recommendations/update-model").hasRole("ADMIN")
                 .requestMatchers("/api/recommendations/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
                 
                 // Endpoints nécessitant une authentification
                 .requestMatchers("/api/users/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/purchases/**").authenticated()
+                .requestMatchers("/api/avis/*/approval").hasRole("ADMIN")
                 .requestMatchers("/api/avis/**").authenticated()
                 .requestMatchers("/api/wishlist/**").authenticated()
                 .requestMatchers("/api/games/**").authenticated() // Pour POST, PUT, DELETE
@@ -56,25 +75,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        UserDetails admin = User.builder()
-            .username("admin")
-            .password(passwordEncoder().encode("admin"))
-            .roles("ADMIN")
-            .build();
-        
-        UserDetails client = User.builder()
-            .username("client")
-            .password(passwordEncoder().encode("client"))
-            .roles("CLIENT")
-            .build();
-        
-        return new InMemoryUserDetailsManager(admin, client);
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${gamesup.auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
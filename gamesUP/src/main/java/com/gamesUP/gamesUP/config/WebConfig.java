@@ -0,0 +1,17 @@
+package com.gamesUP.gamesUP.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
+
+import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
+
+/**
+ * Toute {@code Page<?>} renvoyée par un contrôleur est sérialisée en
+ * {@code {"content": [...], "page": {"size", "number", "totalElements", "totalPages"}}},
+ * et non avec les champs internes de PageImpl (pageable, sort, first, last...) dont la forme
+ * varie d'une version de Spring Data à l'autre. S'applique à toutes les routes paginées.
+ */
+@Configuration
+@EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
+public class WebConfig {
+}
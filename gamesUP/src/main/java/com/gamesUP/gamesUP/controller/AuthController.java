@@ -2,7 +2,9 @@ package com.gamesUP.gamesUP.controller;
 
 import com.gamesUP.gamesUP.dto.LoginRequestDTO;
 import com.gamesUP.gamesUP.dto.LoginResponseDTO;
+import com.gamesUP.gamesUP.exception.TooManyRequestsException;
 import com.gamesUP.gamesUP.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,11 +26,15 @@ public class AuthController {
      * Authentification d'un utilisateur
      */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
+    public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest,
+                                                  HttpServletRequest request) {
         log.info("POST /api/auth/login - Tentative de connexion pour l'utilisateur: {}", loginRequest.getEmail());
         try {
-            LoginResponseDTO response = authService.login(loginRequest);
+            LoginResponseDTO response = authService.login(loginRequest, request.getRemoteAddr());
             return ResponseEntity.ok(response);
+        } catch (TooManyRequestsException e) {
+            // Réponse 429 avec Retry-After, construite par GlobalExceptionHandler
+            throw e;
         } catch (RuntimeException e) {
             log.error("Erreur lors de la connexion: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -87,6 +87,17 @@ public class AvisController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Approuve ou retire l'approbation d'un avis
+     */
+    @PutMapping("/{id}/approval")
+    public ResponseEntity<Avis> setApproval(@PathVariable Long id, @RequestParam boolean approuve) {
+        log.info("PUT /api/avis/{}/approval - Approbation de l'avis: {}", id, approuve);
+        return avisService.setApproval(id, approuve)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Supprime un avis
      */
@@ -1,16 +1,32 @@
 package com.gamesUP.gamesUP.controller;
 
+import com.gamesUP.gamesUP.dto.GameCursorPageDTO;
 import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.GameImportResultDTO;
 import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import com.gamesUP.gamesUP.dto.GameSearchResultDTO;
+import com.gamesUP.gamesUP.service.GameImportService;
 import com.gamesUP.gamesUP.service.GameService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/games")
@@ -20,6 +36,8 @@ import java.util.List;
 public class GameController {
 
     private final GameService gameService;
+    private final GameImportService gameImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Récupère tous les jeux
@@ -31,6 +49,50 @@ public class GameController {
         return ResponseEntity.ok(games);
     }
 
+    /**
+     * Parcourt le catalogue par nom avec une pagination à curseur
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<GameCursorPageDTO> scrollGames(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/games/scroll - Parcours des jeux après le curseur: {}", cursor);
+        return ResponseEntity.ok(gameService.getGamesAfterCursor(cursor, size));
+    }
+
+    /**
+     * Récupère les jeux les mieux notés
+     */
+    @GetMapping("/top-rated")
+    public ResponseEntity<List<GameDTO>> getTopRatedGames(@RequestParam(defaultValue = "10") int limit,
+                                                          @RequestParam(defaultValue = "1") long minReviews) {
+        log.info("GET /api/games/top-rated - Récupération des {} jeux les mieux notés", limit);
+        return ResponseEntity.ok(gameService.getTopRatedGames(limit, minReviews));
+    }
+
+    /**
+     * Exporte tout le catalogue en NDJSON (un jeu par ligne), écrit au fil de la lecture
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamGames() {
+        log.info("GET /api/games/stream - Export en flux de tous les jeux");
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Séparateur de lignes explicite plutôt que l'espace inséré par défaut entre valeurs racines
+                generator.setRootValueSeparator(null);
+                gameService.forEachGame(game -> {
+                    try {
+                        writer.writeValue(generator, game);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Récupère un jeu par son ID
      */
@@ -43,24 +105,27 @@ public class GameController {
     }
 
     /**
-     * Recherche de jeux avec critères
+     * Recherche de jeux avec critères, et facettes si {@code includeFacets} est demandé
      */
     @PostMapping("/search")
-    public ResponseEntity<List<GameDTO>> searchGames(@RequestBody GameSearchDTO searchDTO) {
+    public ResponseEntity<GameSearchResultDTO> searchGames(@RequestBody GameSearchDTO searchDTO) {
         log.info("POST /api/games/search - Recherche de jeux avec critères: {}", searchDTO);
-        List<GameDTO> games = gameService.searchGames(searchDTO);
-        return ResponseEntity.ok(games);
+        Page<GameDTO> games = gameService.searchGames(searchDTO);
+        Map<String, Map<String, Long>> facets = Boolean.TRUE.equals(searchDTO.getIncludeFacets())
+                ? gameService.getSearchFacets(searchDTO)
+                : null;
+        return ResponseEntity.ok(GameSearchResultDTO.of(games, facets));
     }
 
     /**
-     * Recherche de jeux par mot-clé
+     * Recherche plein texte de jeux par mot-clé, classée par pertinence
      */
     @GetMapping("/search")
-    public ResponseEntity<List<GameDTO>> searchGamesByKeyword(@RequestParam String keyword) {
+    public ResponseEntity<Page<GameDTO>> searchGamesByKeyword(@RequestParam String keyword,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
         log.info("GET /api/games/search - Recherche de jeux par mot-clé: {}", keyword);
-        GameSearchDTO searchDTO = new GameSearchDTO();
-        searchDTO.setKeyword(keyword);
-        List<GameDTO> games = gameService.searchGames(searchDTO);
+        Page<GameDTO> games = gameService.searchGamesByText(keyword, page, size);
         return ResponseEntity.ok(games);
     }
 
@@ -79,6 +144,18 @@ public class GameController {
         }
     }
 
+    /**
+     * Importe des jeux en masse depuis un tableau JSON ou un flux NDJSON (un jeu par ligne)
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<GameImportResultDTO> importGames(InputStream body) throws IOException {
+        log.info("POST /api/games/bulk - Import en masse de jeux");
+        // Un tableau racine est parcouru élément par élément, comme une suite de documents NDJSON
+        try (MappingIterator<GameDTO> games = objectMapper.readerFor(GameDTO.class).readValues(body)) {
+            return ResponseEntity.ok(gameImportService.importGames(games));
+        }
+    }
+
     /**
      * Met à jour un jeu existant
      */
@@ -1,12 +1,21 @@
 package com.gamesUP.gamesUP.controller;
 
 import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.UserRecommendationsDTO;
 import com.gamesUP.gamesUP.service.RecommendationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,6 +26,7 @@ import java.util.List;
 public class RecommendationController {
 
     private final RecommendationService recommendationService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Récupère des recommandations générales
@@ -49,6 +59,41 @@ public class RecommendationController {
         }
     }
 
+    /**
+     * Récupère les recommandations d'une liste d'utilisateurs, en NDJSON (un utilisateur par ligne)
+     * écrit au fil du calcul : chaque groupe de résultats prêts est envoyé aussitôt, dans l'ordre
+     * d'achèvement et non dans celui de la demande
+     */
+    @PostMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getRecommendationsForUsers(@RequestBody List<Long> userIds) {
+        log.info("POST /api/recommendations/users - Récupération des recommandations pour {} utilisateurs", userIds.size());
+        try {
+            recommendationService.checkBatchSize(userIds);
+        } catch (IllegalArgumentException e) {
+            log.warn("Demande de recommandations groupées refusée: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                recommendationService.forEachUserRecommendations(userIds, ready -> {
+                    try {
+                        for (UserRecommendationsDTO recommendations : ready) {
+                            writer.writeValue(generator, recommendations);
+                            generator.writeRaw('\n');
+                        }
+                        // Une écriture réseau par groupe plutôt que par ligne
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Récupère les recommandations basées sur un jeu
      */
@@ -83,10 +128,10 @@ public class RecommendationController {
      * Envoie les données utilisateur à l'API Python pour l'entraînement
      */
     @PostMapping("/send-data")
-    public ResponseEntity<String> sendUserDataToPythonAPI() {
+    public ResponseEntity<String> sendUserDataToPythonAPI(@RequestParam(defaultValue = "false") boolean full) {
         log.info("POST /api/recommendations/send-data - Envoi des données utilisateur à l'API Python");
         try {
-            String result = recommendationService.sendUserDataToPythonAPI();
+            String result = recommendationService.sendUserDataToPythonAPI(full);
             return ResponseEntity.ok(result);
         } catch (RuntimeException e) {
             log.error("Erreur lors de l'envoi des données: {}", e.getMessage());
@@ -1,16 +1,17 @@
 package com.gamesUP.gamesUP.controller;
 
 import com.gamesUP.gamesUP.dto.UserDTO;
+import com.gamesUP.gamesUP.exception.TooManyRequestsException;
 import com.gamesUP.gamesUP.model.User;
 import com.gamesUP.gamesUP.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -25,9 +26,10 @@ public class UserController {
      * Récupère tous les utilisateurs (ADMIN seulement)
      */
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
+    public ResponseEntity<Page<UserDTO>> getAllUsers(@RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
         log.info("GET /api/users - Récupération de tous les utilisateurs");
-        List<UserDTO> users = userService.getAllUsers();
+        Page<UserDTO> users = userService.getAllUsers(page, size);
         return ResponseEntity.ok(users);
     }
 
@@ -51,6 +53,9 @@ public class UserController {
         try {
             UserDTO createdUser = userService.createUser(userDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+        } catch (TooManyRequestsException e) {
+            // Hachage saturé : réponse 429 avec Retry-After, construite par GlobalExceptionHandler
+            throw e;
         } catch (RuntimeException e) {
             log.error("Erreur lors de l'inscription: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -96,9 +101,11 @@ public class UserController {
      * Récupère les utilisateurs par rôle
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable User.UserRole role) {
+    public ResponseEntity<Page<UserDTO>> getUsersByRole(@PathVariable User.UserRole role,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
         log.info("GET /api/users/role/{} - Récupération des utilisateurs par rôle", role);
-        List<UserDTO> users = userService.getUsersByRole(role);
+        Page<UserDTO> users = userService.getUsersByRole(role, page, size);
         return ResponseEntity.ok(users);
     }
 
@@ -106,9 +113,10 @@ public class UserController {
      * Récupère les clients actifs
      */
     @GetMapping("/clients")
-    public ResponseEntity<List<UserDTO>> getActiveClients() {
+    public ResponseEntity<Page<UserDTO>> getActiveClients(@RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "20") int size) {
         log.info("GET /api/users/clients - Récupération des clients actifs");
-        List<UserDTO> clients = userService.getActiveClients();
+        Page<UserDTO> clients = userService.getActiveClients(page, size);
         return ResponseEntity.ok(clients);
     }
 
@@ -116,9 +124,10 @@ public class UserController {
      * Récupère les administrateurs actifs
      */
     @GetMapping("/admins")
-    public ResponseEntity<List<UserDTO>> getActiveAdmins() {
+    public ResponseEntity<Page<UserDTO>> getActiveAdmins(@RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size) {
         log.info("GET /api/users/admins - Récupération des administrateurs actifs");
-        List<UserDTO> admins = userService.getActiveAdmins();
+        Page<UserDTO> admins = userService.getActiveAdmins(page, size);
         return ResponseEntity.ok(admins);
     }
 } 
\ No newline at end of file
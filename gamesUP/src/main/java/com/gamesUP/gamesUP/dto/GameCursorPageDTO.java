@@ -0,0 +1,29 @@
+package com.gamesUP.gamesUP.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Page de jeux obtenue par pagination à curseur : le curseur opaque {@code nextCursor}
+ * permet de demander la page suivante, sans numéro de page ni nombre total.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameCursorPageDTO {
+    
+    private List<GameDTO> content;
+    
+    private int size;
+    
+    private boolean hasNext;
+    
+    private String nextCursor;
+}
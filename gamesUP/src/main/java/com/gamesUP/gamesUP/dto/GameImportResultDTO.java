@@ -0,0 +1,49 @@
+package com.gamesUP.gamesUP.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compte rendu d'un import en masse : nombre de lignes lues, importées, rejetées
+ * et détail des erreurs par ligne (numérotées à partir de 1)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameImportResultDTO {
+    
+    private int total;
+    
+    private int imported;
+    
+    private int failed;
+    
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+    
+    public void addError(int row, String nom, String message) {
+        errors.add(new RowError(row, nom, message));
+        failed++;
+    }
+    
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        
+        private int row;
+        
+        private String nom;
+        
+        private String message;
+    }
+}
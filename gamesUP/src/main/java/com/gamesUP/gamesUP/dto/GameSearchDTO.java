@@ -5,6 +5,7 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 
 import java.math.BigDecimal;
 
@@ -13,6 +14,7 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EqualsAndHashCode
 public class GameSearchDTO {
     
     private String keyword;
@@ -39,11 +41,20 @@ public class GameSearchDTO {
     
     private Boolean disponible;
     
+    private Boolean enStock;
+    
+    // Renvoie aussi les comptes par catégorie, éditeur, prix, joueurs et durée
+    private Boolean includeFacets;
+    
+    @Builder.Default
     private String sortBy = "nom"; // nom, prix, date
     
+    @Builder.Default
     private String sortDirection = "ASC"; // ASC, DESC
     
+    @Builder.Default
     private Integer page = 0;
     
+    @Builder.Default
     private Integer size = 20;
 } 
\ No newline at end of file
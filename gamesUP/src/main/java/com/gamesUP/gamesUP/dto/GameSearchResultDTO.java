@@ -0,0 +1,41 @@
+package com.gamesUP.gamesUP.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat de la recherche multicritère : même forme JSON qu'une page
+ * ({@code content} et {@code page}), complétée des facettes lorsqu'elles sont demandées.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameSearchResultDTO {
+    
+    private List<GameDTO> content;
+    
+    private PagedModel.PageMetadata page;
+    
+    // Facette → valeur (ID ou tranche) → nombre de jeux correspondants
+    private Map<String, Map<String, Long>> facets;
+    
+    public static GameSearchResultDTO of(Page<GameDTO> games, Map<String, Map<String, Long>> facets) {
+        return GameSearchResultDTO.builder()
+                .content(games.getContent())
+                .page(new PagedModel.PageMetadata(games.getSize(), games.getNumber(), games.getTotalElements(), games.getTotalPages()))
+                .facets(facets)
+                .build();
+    }
+}
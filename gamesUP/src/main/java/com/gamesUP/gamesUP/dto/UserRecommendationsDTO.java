@@ -0,0 +1,25 @@
+package com.gamesUP.gamesUP.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Recommandations d'un utilisateur, une ligne par utilisateur dans la réponse en flux
+ * des recommandations groupées
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserRecommendationsDTO {
+    
+    private Long userId;
+    
+    private List<GameDTO> games;
+}
@@ -0,0 +1,24 @@
+package com.gamesUP.gamesUP.event;
+
+/**
+ * Événement publié lorsqu'un jeu du catalogue est créé, modifié ou supprimé,
+ * ou lorsque son stock ou ses notes changent. Un import en masse est signalé par un seul
+ * événement BULK_IMPORTED sans ID de jeu, de même que la modification ou la suppression
+ * d'une catégorie, d'un éditeur ou d'un auteur (REFERENCE_CHANGED), qui touche tous les
+ * jeux qui y sont rattachés.
+ * Les composants qui maintiennent une vue dérivée du catalogue (index de recherche,
+ * caches...) l'écoutent après la validation de la transaction.
+ */
+public record GameCatalogEvent(Long gameId, Type type) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, STOCK_CHANGED, RATING_CHANGED, BULK_IMPORTED, REFERENCE_CHANGED;
+
+        /**
+         * Indique si le nom ou la description du jeu ont pu changer
+         */
+        public boolean affectsText() {
+            return this == CREATED || this == UPDATED || this == DELETED || this == BULK_IMPORTED;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.gamesUP.gamesUP.event;
+
+import com.gamesUP.gamesUP.model.Inventory;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de l'inventaire : toute modification de stock, quel que soit le service
+ * qui l'effectue, est signalée par un {@link GameCatalogEvent} de type STOCK_CHANGED.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    public void onUpdate(Inventory inventory) {
+        eventPublisher.publishEvent(new GameCatalogEvent(inventory.getGame().getId(), GameCatalogEvent.Type.STOCK_CHANGED));
+    }
+}
@@ -0,0 +1,15 @@
+package com.gamesUP.gamesUP.event;
+
+import java.util.Set;
+
+/**
+ * Événement publié lorsqu'un utilisateur achète, note ou ajoute à sa liste de souhaits
+ * un ou plusieurs jeux. Les recommandations de cet utilisateur et de ces jeux
+ * sont recalculées après la validation de la transaction.
+ */
+public record UserInteractionEvent(Long userId, Set<Long> gameIds) {
+
+    public static UserInteractionEvent of(Long userId, Long gameId) {
+        return new UserInteractionEvent(userId, Set.of(gameId));
+    }
+}
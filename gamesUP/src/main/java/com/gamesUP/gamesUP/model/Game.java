@@ -17,7 +17,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = @Index(name = "idx_games_nom_id", columnList = "nom, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,7 +27,9 @@ import java.util.Set;
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Séquence avec allocation par blocs : permet le regroupement des INSERT en batch JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Le nom du jeu est obligatoire")
@@ -0,0 +1,36 @@
+package com.gamesUP.gamesUP.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+/**
+ * Agrégats des avis approuvés d'un jeu (somme et nombre de notes),
+ * tenus à jour à chaque écriture d'avis pour éviter un AVG/COUNT à la lecture.
+ */
+@Entity
+@Table(name = "game_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameRatingStats {
+
+    @Id
+    @Column(name = "game_id")
+    private Long gameId;
+    
+    @Column(nullable = false)
+    private long ratingSum;
+    
+    @Column(nullable = false)
+    private long ratingCount;
+    
+    public Double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.gamesUP.gamesUP.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Journal des modifications d'interactions : un couple utilisateur × jeu dont un achat,
+ * un avis ou un élément de liste de souhaits a été créé, modifié, annulé ou supprimé.
+ * Écrit dans la transaction de la modification, lu par l'export des données d'entraînement.
+ */
+@Entity
+@Table(name = "interaction_changes", indexes = @Index(columnList = "changedAt, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InteractionChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long gameId;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
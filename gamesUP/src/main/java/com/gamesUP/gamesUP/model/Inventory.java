@@ -1,5 +1,6 @@
 package com.gamesUP.gamesUP.model;
 
+import com.gamesUP.gamesUP.event.InventoryChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.Getter;
@@ -17,10 +18,13 @@ import lombok.EqualsAndHashCode;
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(exclude = {"game"})
+@EntityListeners(InventoryChangeListener.class)
 public class Inventory {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Séquence avec allocation par blocs : permet le regroupement des INSERT en batch JDBC
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+	@SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 50)
 	private Long id;
 	
 	@OneToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,33 @@
+package com.gamesUP.gamesUP.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.Instant;
+
+/**
+ * Token d'accès révoqué par une déconnexion, partagé entre les nœuds jusqu'à l'expiration du token
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(length = 32)
+    private String tokenId;
+    
+    @Column(nullable = false)
+    private Instant expiresAt;
+    
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,42 @@
+package com.gamesUP.gamesUP.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point de reprise de l'export des données d'entraînement : dernière entrée du journal des
+ * interactions envoyée avec succès (date et ID), et identifiant du magasin d'interactions
+ * de l'API Python qui l'a reçue.
+ */
+@Entity
+@Table(name = "training_export_cursors")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrainingExportCursor {
+
+    @Id
+    @Column(length = 32)
+    private String source;
+    
+    @Column(nullable = false)
+    private long lastExportedId;
+    
+    @Column
+    private LocalDateTime lastChangedAt;
+    
+    // Absent tant qu'aucun export complet n'a abouti : l'export suivant sera complet
+    @Column(length = 64)
+    private String storeId;
+    
+    @Column
+    private LocalDateTime lastSyncAt;
+}
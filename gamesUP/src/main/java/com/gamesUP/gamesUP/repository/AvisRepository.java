@@ -1,6 +1,7 @@
 package com.gamesUP.gamesUP.repository;
 
 import com.gamesUP.gamesUP.model.Avis;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -33,9 +35,26 @@ public interface AvisRepository extends JpaRepository<Avis, Long> {
     @Query("SELECT COUNT(a) FROM Avis a WHERE a.game.id = :gameId AND a.approuve = true")
     long countApprovedByGameId(@Param("gameId") Long gameId);
     
+    // Recalcul des agrégats : une ligne (gameId, somme, nombre) par jeu ayant des avis approuvés
+    @Query("SELECT a.game.id, SUM(a.note), COUNT(a) FROM Avis a WHERE a.approuve = true GROUP BY a.game.id")
+    List<Object[]> getRatingTotalsByGame();
+    
     @Query("SELECT a FROM Avis a WHERE a.user.id = :userId ORDER BY a.dateCreation DESC")
     List<Avis> findByUserIdOrderByDateDesc(@Param("userId") Long userId);
     
     @Query("SELECT a FROM Avis a WHERE a.note >= :minRating AND a.approuve = true")
     List<Avis> findByMinRating(@Param("minRating") int minRating);
+    
+    // Notes utilisées par la recommandation, modérées ou non : elles reflètent le goût de l'auteur
+    @Query("SELECT a.user.id, a.game.id, a.note FROM Avis a")
+    List<Object[]> findAllUserGameNotes();
+    
+    @Query("SELECT a.game.id FROM Avis a WHERE a.user.id = :userId")
+    List<Long> findRatedGameIdsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT a.id, a.user.id, a.game.id, a.note, a.dateCreation FROM Avis a WHERE a.id > :afterId AND a.approuve = true ORDER BY a.id")
+    List<Object[]> findApprovedNotesAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT a.id, a.user.id, a.game.id, a.note, a.dateCreation FROM Avis a WHERE a.user.id IN :userIds AND a.game.id IN :gameIds AND a.approuve = true")
+    List<Object[]> findApprovedNotesOf(@Param("userIds") Collection<Long> userIds, @Param("gameIds") Collection<Long> gameIds);
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.model.GameRatingStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface GameRatingStatsRepository extends JpaRepository<GameRatingStats, Long> {
+    
+    // Incrément atomique côté base, ligne créée au premier avis approuvé : deux avis concurrents
+    // ne peuvent pas s'écraser, et l'instruction unique s'exécute dans la transaction de l'appelant
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO game_rating_stats s "
+            + "USING (SELECT CAST(:gameId AS BIGINT) AS game_id) v ON s.game_id = v.game_id "
+            + "WHEN MATCHED THEN UPDATE SET rating_sum = s.rating_sum + :sumDelta, rating_count = s.rating_count + :countDelta "
+            + "WHEN NOT MATCHED THEN INSERT (game_id, rating_sum, rating_count) VALUES (v.game_id, :sumDelta, :countDelta)",
+            nativeQuery = true)
+    int applyDelta(@Param("gameId") Long gameId, @Param("sumDelta") long sumDelta, @Param("countDelta") long countDelta);
+    
+    // Remplacement conditionnel : sans effet si un avis a modifié la ligne depuis sa lecture
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE GameRatingStats s SET s.ratingSum = :sum, s.ratingCount = :count "
+            + "WHERE s.gameId = :gameId AND s.ratingSum = :expectedSum AND s.ratingCount = :expectedCount")
+    int replaceIfUnchanged(@Param("gameId") Long gameId, @Param("expectedSum") long expectedSum,
+                           @Param("expectedCount") long expectedCount, @Param("sum") long sum, @Param("count") long count);
+    
+    @Query("SELECT s FROM GameRatingStats s WHERE s.ratingCount >= :minReviews ORDER BY CAST(s.ratingSum AS double) / s.ratingCount DESC, s.ratingCount DESC, s.gameId ASC")
+    List<GameRatingStats> findTopRated(@Param("minReviews") long minReviews, Pageable pageable);
+}
@@ -1,19 +1,29 @@
 package com.gamesUP.gamesUP.repository;
 
 import com.gamesUP.gamesUP.model.Game;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface GameRepository extends JpaRepository<Game, Long> {
+public interface GameRepository extends JpaRepository<Game, Long>, JpaSpecificationExecutor<Game> {
     
     Optional<Game> findByNom(String nom);
     
@@ -52,4 +62,64 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     
     @Query("SELECT COUNT(g) FROM Game g WHERE g.disponible = true")
     long countAvailableGames();
+    
+    // Hydratation groupée : une ligne (gameId, categoryId, categoryType, publisherId, publisherName) par jeu
+    @Query("SELECT g.id, c.id, c.type, p.id, p.name FROM Game g LEFT JOIN g.category c LEFT JOIN g.publisher p WHERE g.id IN :gameIds")
+    List<Object[]> findCategoryAndPublisherByGameIds(@Param("gameIds") Collection<Long> gameIds);
+    
+    // Hydratation groupée : une ligne (gameId, authorId, authorName) par couple jeu-auteur
+    @Query("SELECT g.id, a.id, a.name FROM Game g JOIN g.authors a WHERE g.id IN :gameIds")
+    List<Object[]> findAuthorsByGameIds(@Param("gameIds") Collection<Long> gameIds);
+    
+    // Pagination à curseur : recherche par clé (nom, id) sans OFFSET ni COUNT
+    @Query("SELECT g FROM Game g ORDER BY g.nom ASC, g.id ASC")
+    List<Game> findFirstPageOrderByNomAndId(Limit limit);
+    
+    @Query("SELECT g FROM Game g WHERE g.nom > :nom OR (g.nom = :nom AND g.id > :id) ORDER BY g.nom ASC, g.id ASC")
+    List<Game> findPageAfterOrderByNomAndId(@Param("nom") String nom, @Param("id") Long id, Limit limit);
+    
+    // Export en flux : curseur JDBC en lecture seule, à consommer dans une transaction
+    // (avec MySQL, la taille de fetch n'est respectée qu'avec useCursorFetch=true)
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT g FROM Game g ORDER BY g.id")
+    Stream<Game> streamAllOrderById();
+    
+    // Instantané du catalogue : une ligne (id, nom, prix, ageMinimum, nombreJoueursMin, nombreJoueursMax,
+    // dureePartieMinutes, disponible, categoryId, publisherId) par jeu
+    @Query("SELECT g.id, g.nom, g.prix, g.ageMinimum, g.nombreJoueursMin, g.nombreJoueursMax, g.dureePartieMinutes, g.disponible, c.id, p.id "
+            + "FROM Game g LEFT JOIN g.category c LEFT JOIN g.publisher p ORDER BY g.id")
+    List<Object[]> findAllSnapshotRows();
+    
+    // Instantané du catalogue : ordres par nom établis par la collation de la base, comme la pagination SQL
+    @Query("SELECT g.id FROM Game g ORDER BY g.nom ASC, g.id ASC")
+    List<Long> findAllIdsOrderByNom();
+    
+    @Query("SELECT g.id FROM Game g ORDER BY g.nom DESC, g.id ASC")
+    List<Long> findAllIdsOrderByNomDesc();
+    
+    // Instantané du catalogue : une ligne (gameId, authorName) par couple jeu-auteur
+    @Query("SELECT g.id, a.name FROM Game g JOIN g.authors a")
+    List<Object[]> findAllAuthorNames();
+    
+    // Mise à jour de l'instantané : lignes des seuls jeux modifiés, au même format
+    @Query("SELECT g.id, g.nom, g.prix, g.ageMinimum, g.nombreJoueursMin, g.nombreJoueursMax, g.dureePartieMinutes, g.disponible, c.id, p.id "
+            + "FROM Game g LEFT JOIN g.category c LEFT JOIN g.publisher p WHERE g.id IN :ids")
+    List<Object[]> findSnapshotRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT g.id, a.name FROM Game g JOIN g.authors a WHERE g.id IN :ids")
+    List<Object[]> findAuthorNamesByGameIds(@Param("ids") Collection<Long> ids);
+    
+    // Index plein texte : une ligne (gameId, nom, description) par jeu
+    @Query("SELECT g.id, g.nom, g.description FROM Game g ORDER BY g.id")
+    List<Object[]> findAllIndexableTexts();
+    
+    @Query("SELECT g.id, g.nom, g.description FROM Game g WHERE g.id = :gameId")
+    List<Object[]> findIndexableTextById(@Param("gameId") Long gameId);
+    
+    @Query("SELECT g.id, c.id FROM Game g LEFT JOIN g.category c")
+    List<Object[]> findAllCategoryIds();
 } 
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import com.gamesUP.gamesUP.model.Author;
+import com.gamesUP.gamesUP.model.Game;
+import com.gamesUP.gamesUP.model.Inventory;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Prédicats composables sur Game utilisés par la recherche multicritère.
+ * Chaque méthode renvoie null lorsque le critère est absent, ce qui le neutralise
+ * dans {@link Specification#allOf}.
+ */
+public final class GameSpecifications {
+
+    private GameSpecifications() {
+    }
+
+    /**
+     * Construit la spécification correspondant à tous les critères renseignés
+     */
+    public static Specification<Game> fromSearch(GameSearchDTO search) {
+        return Specification.allOf(
+                hasKeyword(search.getKeyword()),
+                hasCategory(search.getCategoryId()),
+                hasPublisher(search.getPublisherId()),
+                hasAuthorNameLike(search.getAuthorName()),
+                hasMinPrice(search.getMinPrice()),
+                hasMaxPrice(search.getMaxPrice()),
+                hasMinAge(search.getMinAge()),
+                hasMaxAge(search.getMaxAge()),
+                acceptsMinPlayers(search.getMinPlayers()),
+                acceptsMaxPlayers(search.getMaxPlayers()),
+                hasMaxDuration(search.getMaxDuration()),
+                isDisponible(search.getDisponible()),
+                isEnStock(search.getEnStock()));
+    }
+
+    public static Specification<Game> hasKeyword(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + keyword.trim() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("nom"), pattern),
+                cb.like(root.get("description"), pattern));
+    }
+
+    public static Specification<Game> hasCategory(Long categoryId) {
+        if (categoryId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Game> hasPublisher(Long publisherId) {
+        if (publisherId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("publisher").get("id"), publisherId);
+    }
+
+    public static Specification<Game> hasAuthorNameLike(String authorName) {
+        if (authorName == null || authorName.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + authorName.trim() + "%";
+        // Sous-requête EXISTS plutôt qu'une jointure pour éviter les doublons et le DISTINCT paginé
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Game> game = subquery.from(Game.class);
+            Join<Game, Author> author = game.join("authors");
+            subquery.select(game.get("id"))
+                    .where(cb.equal(game, root), cb.like(author.get("name"), pattern));
+            return cb.exists(subquery);
+        };
+    }
+
+    public static Specification<Game> hasMinPrice(BigDecimal minPrice) {
+        if (minPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("prix"), minPrice);
+    }
+
+    public static Specification<Game> hasMaxPrice(BigDecimal maxPrice) {
+        if (maxPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("prix"), maxPrice);
+    }
+
+    public static Specification<Game> hasMinAge(Integer minAge) {
+        if (minAge == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("ageMinimum"), minAge);
+    }
+
+    /**
+     * Âge du plus jeune joueur : exclut les jeux dont l'âge minimum le dépasse
+     * (ce critère était ignoré par l'ancienne recherche filtrée en mémoire)
+     */
+    public static Specification<Game> hasMaxAge(Integer maxAge) {
+        if (maxAge == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("ageMinimum"), maxAge);
+    }
+
+    /**
+     * Le jeu doit se jouer à {@code minPlayers} joueurs ou moins. Indépendant de
+     * {@link #acceptsMaxPlayers} : l'ancienne recherche n'appliquait les bornes de joueurs
+     * que lorsque les deux étaient renseignées, le résultat est identique dans ce cas
+     */
+    public static Specification<Game> acceptsMinPlayers(Integer minPlayers) {
+        if (minPlayers == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("nombreJoueursMin"), minPlayers);
+    }
+
+    /**
+     * Le jeu doit se jouer à {@code maxPlayers} joueurs ou plus
+     */
+    public static Specification<Game> acceptsMaxPlayers(Integer maxPlayers) {
+        if (maxPlayers == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("nombreJoueursMax"), maxPlayers);
+    }
+
+    public static Specification<Game> hasMaxDuration(Integer maxDuration) {
+        if (maxDuration == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dureePartieMinutes"), maxDuration);
+    }
+
+    public static Specification<Game> isDisponible(Boolean disponible) {
+        if (disponible == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("disponible"), disponible);
+    }
+
+    public static Specification<Game> isEnStock(Boolean enStock) {
+        if (enStock == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Inventory> inventory = subquery.from(Inventory.class);
+            subquery.select(inventory.get("id"))
+                    .where(cb.equal(inventory.get("game"), root), cb.greaterThan(inventory.get("stock"), 0));
+            return enStock ? cb.exists(subquery) : cb.not(cb.exists(subquery));
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.model.InteractionChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InteractionChangeRepository extends JpaRepository<InteractionChange, Long> {
+
+    // Pagination sur (date, ID) jusqu'à une borne supérieure en retrait de l'instant courant
+    @Query("SELECT c FROM InteractionChange c WHERE c.changedAt <= :until "
+            + "AND (c.changedAt > :afterTime OR (c.changedAt = :afterTime AND c.id > :afterId)) "
+            + "ORDER BY c.changedAt, c.id")
+    List<InteractionChange> findChangesAfter(@Param("afterTime") LocalDateTime afterTime,
+                                             @Param("afterId") long afterId,
+                                             @Param("until") LocalDateTime until, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InteractionChange c WHERE c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") LocalDateTime before);
+}
@@ -3,8 +3,10 @@ package com.gamesUP.gamesUP.repository;
 import com.gamesUP.gamesUP.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +15,17 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     
     Optional<Inventory> findByGameId(Long gameId);
     
+    // Hydratation groupée : une ligne (gameId, stock) par jeu
+    @Query("SELECT i.game.id, i.stock FROM Inventory i WHERE i.game.id IN :gameIds")
+    List<Object[]> findStockByGameIds(@Param("gameIds") Collection<Long> gameIds);
+    
+    // Instantané du catalogue : IDs des jeux ayant du stock
+    @Query("SELECT i.game.id FROM Inventory i WHERE i.stock > 0")
+    List<Long> findGameIdsInStock();
+    
+    @Query("SELECT i.game.id FROM Inventory i WHERE i.game.id IN :gameIds AND i.stock > 0")
+    List<Long> findGameIdsInStockAmong(@Param("gameIds") Collection<Long> gameIds);
+    
     List<Inventory> findByDisponible(boolean disponible);
     
     List<Inventory> findByStockLessThanEqual(int stock);
@@ -1,6 +1,7 @@
 package com.gamesUP.gamesUP.repository;
 
 import com.gamesUP.gamesUP.model.Purchase;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -44,4 +46,30 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
     
     @Query("SELECT SUM(p.totalAmount) FROM Purchase p WHERE p.user.id = :userId AND p.paid = true")
     Double getTotalSpentByUser(@Param("userId") Long userId);
+    
+    // Statistiques d'une page d'utilisateurs : (utilisateur, nombre de commandes, total payé) en une requête groupée
+    @Query("SELECT p.user.id, COUNT(p), SUM(CASE WHEN p.paid = true THEN p.totalAmount END) FROM Purchase p WHERE p.user.id IN :userIds GROUP BY p.user.id")
+    List<Object[]> findPurchaseStatsByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    // Matrice de recommandation : un couple (utilisateur, jeu) par ligne de commande non annulée
+    @Query("SELECT p.user.id, l.game.id FROM Purchase p JOIN p.lines l WHERE p.status <> 'CANCELLED'")
+    List<Object[]> findPurchasedUserGamePairs();
+    
+    @Query("SELECT DISTINCT l.game.id FROM Purchase p JOIN p.lines l WHERE p.user.id = :userId AND p.status <> 'CANCELLED'")
+    List<Long> findPurchasedGameIdsByUserId(@Param("userId") Long userId);
+    
+    // Popularité : (jeu, date, quantité) des lignes de commandes non annulées depuis une date
+    @Query("SELECT l.game.id, p.date, l.quantite FROM Purchase p JOIN p.lines l WHERE p.status <> 'CANCELLED' AND p.date >= :since")
+    List<Object[]> findSaleLinesSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT l.game.id, p.date, l.quantite FROM Purchase p JOIN p.lines l WHERE p.status <> 'CANCELLED' AND p.date >= :since AND l.game.id IN :gameIds")
+    List<Object[]> findSaleLinesByGameIdsSince(@Param("gameIds") Collection<Long> gameIds, @Param("since") LocalDateTime since);
+    
+    // Export d'entraînement : lignes de commandes non annulées au-delà du dernier ID exporté
+    @Query("SELECT l.id, p.user.id, l.game.id, l.quantite, p.date FROM Purchase p JOIN p.lines l WHERE l.id > :afterId AND p.status <> 'CANCELLED' ORDER BY l.id")
+    List<Object[]> findSaleLinesAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Export d'entraînement : état courant des couples modifiés (à filtrer sur les couples exacts)
+    @Query("SELECT l.id, p.user.id, l.game.id, l.quantite, p.date FROM Purchase p JOIN p.lines l WHERE p.user.id IN :userIds AND l.game.id IN :gameIds AND p.status <> 'CANCELLED'")
+    List<Object[]> findSaleLinesOf(@Param("userIds") Collection<Long> userIds, @Param("gameIds") Collection<Long> gameIds);
 } 
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.model.TrainingExportCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TrainingExportCursorRepository extends JpaRepository<TrainingExportCursor, String> {
+}
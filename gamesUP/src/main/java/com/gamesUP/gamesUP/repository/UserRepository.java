@@ -1,6 +1,8 @@
 package com.gamesUP.gamesUP.repository;
 
 import com.gamesUP.gamesUP.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,7 +18,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmail(String email);
     
-    List<User> findByRole(User.UserRole role);
+    Page<User> findByRole(User.UserRole role, Pageable pageable);
     
     List<User> findByActive(boolean active);
     
@@ -24,8 +26,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByKeyword(@Param("keyword") String keyword);
     
     @Query("SELECT u FROM User u WHERE u.role = 'CLIENT' AND u.active = true")
-    List<User> findActiveClients();
+    Page<User> findActiveClients(Pageable pageable);
     
     @Query("SELECT u FROM User u WHERE u.role = 'ADMIN' AND u.active = true")
-    List<User> findActiveAdmins();
+    Page<User> findActiveAdmins(Pageable pageable);
 } 
\ No newline at end of file
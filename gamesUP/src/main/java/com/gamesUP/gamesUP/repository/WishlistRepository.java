@@ -1,11 +1,13 @@
 package com.gamesUP.gamesUP.repository;
 
 import com.gamesUP.gamesUP.model.Wishlist;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,19 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     
     @Query("SELECT COUNT(w) FROM Wishlist w WHERE w.game.id = :gameId")
     long countByGameId(@Param("gameId") Long gameId);
+    
+    @Query("SELECT w.user.id, w.game.id FROM Wishlist w")
+    List<Object[]> findAllUserGamePairs();
+    
+    @Query("SELECT w.game.id, COUNT(w) FROM Wishlist w GROUP BY w.game.id")
+    List<Object[]> countAllByGame();
+    
+    @Query("SELECT w.game.id, COUNT(w) FROM Wishlist w WHERE w.game.id IN :gameIds GROUP BY w.game.id")
+    List<Object[]> countByGameIds(@Param("gameIds") Collection<Long> gameIds);
+    
+    @Query("SELECT w.id, w.user.id, w.game.id, w.priorite, w.dateAjout FROM Wishlist w WHERE w.id > :afterId ORDER BY w.id")
+    List<Object[]> findEntriesAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT w.id, w.user.id, w.game.id, w.priorite, w.dateAjout FROM Wishlist w WHERE w.user.id IN :userIds AND w.game.id IN :gameIds")
+    List<Object[]> findEntriesOf(@Param("userIds") Collection<Long> userIds, @Param("gameIds") Collection<Long> gameIds);
 } 
\ No newline at end of file
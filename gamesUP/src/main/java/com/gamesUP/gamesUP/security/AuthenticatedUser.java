@@ -0,0 +1,27 @@
+package com.gamesUP.gamesUP.security;
+
+import com.gamesUP.gamesUP.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal d'une requête authentifiée par token : l'essentiel de l'utilisateur, sans entité JPA
+ */
+public record AuthenticatedUser(Long id, String email, User.UserRole role, boolean active) implements Principal {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.isActive());
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
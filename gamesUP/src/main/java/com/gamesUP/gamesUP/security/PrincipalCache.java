@@ -0,0 +1,46 @@
+package com.gamesUP.gamesUP.security;
+
+import com.gamesUP.gamesUP.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Principaux des utilisateurs authentifiés, conservés brièvement : une requête portant un token
+ * ne relit l'utilisateur qu'au premier passage puis après expiration. La courte durée de vie borne
+ * le délai de prise en compte d'un changement fait hors de {@code UserService}, qui invalide
+ * l'entrée lui-même ; un utilisateur inconnu est aussi retenu, pour ne pas relire la base à chaque requête.
+ */
+@Component
+public class PrincipalCache {
+
+    private final LoadingCache<Long, Optional<AuthenticatedUser>> principals;
+
+    public PrincipalCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                          @Value("${gamesup.auth.principal-cache.ttl:30s}") Duration ttl,
+                          @Value("${gamesup.auth.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(userId -> userRepository.findById(userId).map(AuthenticatedUser::from));
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    /**
+     * Principal d'un utilisateur actif ; absent pour un utilisateur supprimé ou désactivé
+     */
+    public Optional<AuthenticatedUser> get(Long userId) {
+        return principals.get(userId).filter(AuthenticatedUser::active);
+    }
+
+    public void invalidate(Long userId) {
+        principals.invalidate(userId);
+    }
+}
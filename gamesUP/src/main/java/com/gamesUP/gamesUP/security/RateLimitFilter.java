@@ -0,0 +1,171 @@
+package com.gamesUP.gamesUP.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamesUP.gamesUP.exception.ErrorResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limitation de débit des routes coûteuses, par client : un seau à jetons par couple
+ * (utilisateur authentifié ou, à défaut, adresse IP ; groupe de routes). Les groupes sont
+ * déclarés dans {@code gamesup.rate-limit.routes} sous la forme {@code nom:motif:capacité:jetons/s},
+ * le premier motif correspondant l'emporte. Placé après la chaîne Spring Security pour connaître
+ * l'utilisateur ; les seaux inactifs sont évincés, leur nombre est borné.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteGroup> routeGroups = new ArrayList<>();
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                           @Value("${gamesup.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${gamesup.rate-limit.routes:}") List<String> routes,
+                           @Value("${gamesup.rate-limit.idle-eviction:10m}") Duration idleEviction,
+                           @Value("${gamesup.rate-limit.maximum-buckets:100000}") long maximumBuckets) {
+        this(meterRegistry, objectMapper, enabled, routes, idleEviction, maximumBuckets, Ticker.systemTicker());
+    }
+
+    RateLimitFilter(MeterRegistry meterRegistry, ObjectMapper objectMapper, boolean enabled, List<String> routes,
+                    Duration idleEviction, long maximumBuckets, Ticker ticker) {
+        for (String route : routes) {
+            String[] parts = route.trim().split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Route limitée invalide, format attendu nom:motif:capacité:jetons/s: " + route);
+            }
+            routeGroups.add(new RouteGroup(parts[0], parts[1], Integer.parseInt(parts[2]),
+                    Double.parseDouble(parts[3]), outcomeCounter(meterRegistry, parts[0], "allowed"),
+                    outcomeCounter(meterRegistry, parts[0], "throttled")));
+        }
+        this.enabled = enabled;
+        this.ticker = ticker;
+        this.objectMapper = objectMapper;
+        // Un seau inactif plus longtemps que son temps de remplissage est plein : l'évincer
+        // ne change pas la décision suivante, tant que idleEviction dépasse ce temps
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .expireAfterAccess(idleEviction)
+                .ticker(ticker)
+                .build();
+        Gauge.builder("http.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .description("Seaux à jetons en mémoire")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String group, String outcome) {
+        return Counter.builder("http.rate-limit.requests")
+                .description("Requêtes soumises à la limitation de débit, par groupe de routes et résultat")
+                .tag("group", group)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routeGroups.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RouteGroup group = routeGroups.stream()
+                .filter(candidate -> pathMatcher.match(candidate.pattern(), path))
+                .findFirst()
+                .orElse(null);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = ticker.read();
+        TokenBucket bucket = buckets.get(new BucketKey(clientKey(request), group.name()),
+                key -> new TokenBucket(group.capacity(), group.refillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0) {
+            group.allowed().increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.throttled().increment();
+        log.warn("Limite de débit atteinte pour le groupe {} sur {}", group.name(), path);
+        reject(request, response, Duration.ofNanos(waitNanos));
+    }
+
+    /**
+     * Utilisateur authentifié si connu, adresse IP sinon. Derrière un proxy, l'adresse est celle
+     * du client, résolue par le conteneur depuis X-Forwarded-For uniquement pour les proxies de
+     * confiance ({@code server.forward-headers-strategy}) : l'en-tête n'est jamais lu ici.
+     */
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return "user:" + user.id();
+            }
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Duration retryAfter)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Trop de requêtes")
+                .message("Limite de débit atteinte, réessayez plus tard")
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // Retry-After en secondes entières, arrondi au supérieur
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private record RouteGroup(String name, String pattern, int capacity, double refillPerSecond,
+                              Counter allowed, Counter throttled) {
+    }
+
+    private record BucketKey(String client, String group) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.gamesUP.gamesUP.security;
+
+import com.gamesUP.gamesUP.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authentifie la requête à partir du token {@code Authorization: Bearer ...} émis par {@code /api/auth/login}.
+ * La signature et l'expiration sont vérifiées sans état ; le principal (rôle, compte actif) vient
+ * de {@link PrincipalCache}. Un token absent ou invalide laisse la requête anonyme : les règles
+ * d'autorisation de {@code SecurityConfig} décident alors de la réponse.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final PrincipalCache principalCache;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public TokenAuthenticationFilter(TokenService tokenService, PrincipalCache principalCache) {
+        this.tokenService = tokenService;
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            tokenService.verify(header.substring(BEARER_PREFIX.length()))
+                    .flatMap(claims -> principalCache.get(claims.userId()))
+                    .ifPresent(user -> authenticate(request, user));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, AuthenticatedUser user) {
+        // Le rôle vient du principal et non du token : un changement de rôle s'applique sans reconnexion
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.authorities());
+        authentication.setDetails(detailsSource.buildDetails(request));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -0,0 +1,41 @@
+package com.gamesUP.gamesUP.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou, sous sa forme « GCRA » : au lieu d'un nombre de jetons et d'une date
+ * de remplissage, un seul instant théorique d'arrivée, mis à jour par compare-and-set. Une requête
+ * est admise si le seau, rempli au rythme {@code refillPerSecond}, contient encore un jeton :
+ * soit, après consommation, au plus {@code capacity} jetons de retard sur l'horloge.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    // Instant (System.nanoTime) auquel le seau serait de nouveau plein
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Consomme un jeton ; retourne 0 si la requête est admise, sinon l'attente en nanosecondes
+     * avant qu'un jeton soit disponible
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
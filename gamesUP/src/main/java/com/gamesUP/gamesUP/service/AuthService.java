@@ -6,13 +6,9 @@ import com.gamesUP.gamesUP.model.User;
 import com.gamesUP.gamesUP.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -20,18 +16,31 @@ import java.util.UUID;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    
-    // Stockage temporaire des tokens (en production, utiliser Redis ou JWT)
-    private final Map<String, User> activeTokens = new HashMap<>();
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottle loginThrottle;
+    private final TokenService tokenService;
 
     /**
-     * Authentification d'un utilisateur
+     * Authentification d'un utilisateur ; les tentatives sont limitées avant toute vérification
      */
-    public LoginResponseDTO login(LoginRequestDTO loginRequest) {
+    public LoginResponseDTO login(LoginRequestDTO loginRequest, String clientIp) {
         log.info("Tentative de connexion pour l'utilisateur: {}", loginRequest.getEmail());
         
-        Optional<User> userOpt = userRepository.findByEmail(loginRequest.getEmail());
+        // Tentative comptée comme un échec dès l'acquisition : des requêtes simultanées sur un même
+        // compte ne peuvent pas toutes passer avant que le premier échec soit enregistré
+        loginThrottle.acquire(loginRequest.getEmail(), clientIp);
+        
+        Optional<User> userOpt;
+        boolean passwordMatches;
+        try {
+            userOpt = userRepository.findByEmail(loginRequest.getEmail());
+            passwordMatches = userOpt.isPresent()
+                    && passwordHashingService.matches(loginRequest.getPassword(), userOpt.get().getPassword());
+        } catch (RuntimeException e) {
+            // Vérification interrompue (base, pool de hachage saturé) : ce n'est pas un échec du compte
+            loginThrottle.release(loginRequest.getEmail());
+            throw e;
+        }
         
         if (userOpt.isEmpty()) {
             throw new RuntimeException("Utilisateur non trouvé");
@@ -39,17 +48,25 @@ public class AuthService {
         
         User user = userOpt.get();
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordMatches) {
             throw new RuntimeException("Mot de passe incorrect");
         }
         
         if (!user.isActive()) {
+            loginThrottle.release(loginRequest.getEmail());
             throw new RuntimeException("Compte désactivé");
         }
         
-        // Génération d'un token simple (en production, utiliser JWT)
-        String token = UUID.randomUUID().toString();
-        activeTokens.put(token, user);
+        loginThrottle.recordSuccess(loginRequest.getEmail());
+        
+        // Hash calculé avec un coût inférieur au coût configuré : recalculé tant que le mot de passe est connu
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(loginRequest.getPassword()));
+            userRepository.save(user);
+            log.info("Hash du mot de passe mis à jour pour l'utilisateur: {}", user.getId());
+        }
+        
+        String token = tokenService.issue(user.getId(), user.getRole());
         
         return LoginResponseDTO.builder()
                 .token(token)
@@ -68,7 +85,7 @@ public class AuthService {
     public void logout(String token) {
         log.info("Déconnexion de l'utilisateur");
         String cleanToken = extractToken(token);
-        activeTokens.remove(cleanToken);
+        tokenService.revoke(cleanToken);
     }
 
     /**
@@ -77,7 +94,7 @@ public class AuthService {
     public boolean validateToken(String token) {
         log.info("Vérification de la validité du token");
         String cleanToken = extractToken(token);
-        return activeTokens.containsKey(cleanToken);
+        return tokenService.verify(cleanToken).isPresent();
     }
 
     /**
@@ -87,10 +104,9 @@ public class AuthService {
         log.info("Récupération des informations de l'utilisateur connecté");
         String cleanToken = extractToken(token);
         
-        User user = activeTokens.get(cleanToken);
-        if (user == null) {
-            throw new RuntimeException("Token invalide");
-        }
+        User user = tokenService.verify(cleanToken)
+                .flatMap(claims -> userRepository.findById(claims.userId()))
+                .orElseThrow(() -> new RuntimeException("Token invalide"));
         
         return LoginResponseDTO.builder()
                 .token(cleanToken)
@@ -1,9 +1,11 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
 import com.gamesUP.gamesUP.model.Author;
 import com.gamesUP.gamesUP.repository.AuthorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +17,7 @@ import java.util.Optional;
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les auteurs
@@ -49,7 +52,9 @@ public class AuthorService {
                 .map(existingAuthor -> {
                     existingAuthor.setName(author.getName());
                     existingAuthor.setBiography(author.getBiography());
-                    return authorRepository.save(existingAuthor);
+                    Author saved = authorRepository.save(existingAuthor);
+                    publishReferenceChanged();
+                    return saved;
                 });
     }
 
@@ -60,8 +65,16 @@ public class AuthorService {
         log.info("Suppression de l'auteur avec l'ID: {}", id);
         if (authorRepository.existsById(id)) {
             authorRepository.deleteById(id);
+            publishReferenceChanged();
             return true;
         }
         return false;
     }
+
+    /**
+     * Le nom de l'auteur est recopié dans les jeux qu'il a conçus
+     */
+    private void publishReferenceChanged() {
+        eventPublisher.publishEvent(new GameCatalogEvent(null, GameCatalogEvent.Type.REFERENCE_CHANGED));
+    }
 } 
\ No newline at end of file
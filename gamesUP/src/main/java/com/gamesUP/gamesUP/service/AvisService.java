@@ -1,10 +1,13 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
 import com.gamesUP.gamesUP.model.Avis;
 import com.gamesUP.gamesUP.repository.AvisRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +18,8 @@ import java.util.Optional;
 public class AvisService {
 
     private final AvisRepository avisRepository;
+    private final GameRatingStatsService gameRatingStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les avis
@@ -51,34 +56,78 @@ public class AvisService {
     /**
      * Crée un nouvel avis
      */
+    @Transactional
     public Avis createAvis(Avis avis) {
         log.info("Création d'un nouvel avis pour le jeu: {}", avis.getGame().getId());
-        return avisRepository.save(avis);
+        Avis savedAvis = avisRepository.save(avis);
+        if (savedAvis.isApprouve()) {
+            gameRatingStatsService.applyDelta(savedAvis.getGame().getId(), savedAvis.getNote(), 1);
+        }
+        publishInteraction(savedAvis);
+        return savedAvis;
     }
 
     /**
      * Met à jour un avis
      */
+    @Transactional
     public Optional<Avis> updateAvis(Long id, Avis avis) {
         log.info("Mise à jour de l'avis avec l'ID: {}", id);
         return avisRepository.findById(id)
                 .map(existingAvis -> {
+                    if (existingAvis.isApprouve()) {
+                        gameRatingStatsService.applyDelta(existingAvis.getGame().getId(),
+                                avis.getNote() - existingAvis.getNote(), 0);
+                    }
                     existingAvis.setNote(avis.getNote());
                     existingAvis.setCommentaire(avis.getCommentaire());
                     existingAvis.setDateCreation(avis.getDateCreation());
-                    return avisRepository.save(existingAvis);
+                    Avis savedAvis = avisRepository.save(existingAvis);
+                    publishInteraction(savedAvis);
+                    return savedAvis;
                 });
     }
 
     /**
      * Supprime un avis
      */
+    @Transactional
     public boolean deleteAvis(Long id) {
         log.info("Suppression de l'avis avec l'ID: {}", id);
-        if (avisRepository.existsById(id)) {
-            avisRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return avisRepository.findById(id)
+                .map(existingAvis -> {
+                    if (existingAvis.isApprouve()) {
+                        gameRatingStatsService.applyDelta(existingAvis.getGame().getId(), -existingAvis.getNote(), -1);
+                    }
+                    avisRepository.delete(existingAvis);
+                    publishInteraction(existingAvis);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Approuve ou retire l'approbation d'un avis
+     */
+    @Transactional
+    public Optional<Avis> setApproval(Long id, boolean approuve) {
+        log.info("Changement d'approbation de l'avis {}: {}", id, approuve);
+        return avisRepository.findById(id)
+                .map(existingAvis -> {
+                    if (existingAvis.isApprouve() != approuve) {
+                        int sign = approuve ? 1 : -1;
+                        gameRatingStatsService.applyDelta(existingAvis.getGame().getId(),
+                                sign * existingAvis.getNote(), sign);
+                        existingAvis.setApprouve(approuve);
+                        // Seules les notes approuvées sont exportées pour l'entraînement
+                        publishInteraction(existingAvis);
+                    }
+                    return avisRepository.save(existingAvis);
+                });
+    }
+
+    // Les notes alimentent les recommandations, qu'elles soient approuvées ou non
+    private void publishInteraction(Avis avis) {
+        eventPublisher.publishEvent(UserInteractionEvent.of(avis.getUser().getId(), avis.getGame().getId()));
     }
-} 
\ No newline at end of file
+}
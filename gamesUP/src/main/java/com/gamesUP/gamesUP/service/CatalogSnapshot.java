@@ -0,0 +1,776 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Instantané immuable des attributs filtrables du catalogue, stockés en colonnes
+ * de tableaux primitifs (une position par jeu, dans l'ordre des IDs).
+ * Les critères de {@link GameSearchDTO} sont évalués par intersection de bitsets :
+ * bitsets par valeur pour la catégorie, l'éditeur, l'auteur, la disponibilité et le stock,
+ * index triés pour les plages numériques (prix en centimes, âge, joueurs, durée).
+ * Un jeu créé, modifié ou supprimé donne une copie où seuls les éléments qui le concernent
+ * sont mis à jour ; un jeu supprimé garde sa position, simplement exclue des résultats,
+ * jusqu'à la prochaine reconstruction.
+ * Les ordres par nom viennent de la base, qui les établit avec sa collation comme pour la
+ * pagination SQL ; un jeu n'y est replacé en Java que si la comparaison de chaînes reproduit
+ * exactement l'ordre de la base, sinon un changement de nom impose une reconstruction.
+ */
+public final class CatalogSnapshot {
+
+    private static final BitSet NO_GAMES = new BitSet();
+
+    // Bornes supérieures (incluses) des tranches de facettes ; la dernière tranche est ouverte.
+    // Partagées avec le calcul des facettes en base lorsque l'instantané n'est pas disponible.
+    static final long[] PRICE_BUCKETS_CENTS = {2000, 4000, 6000};
+    static final long[] DURATION_BUCKETS_MINUTES = {30, 60, 120};
+    static final int MAX_PLAYER_FACET = 6;
+
+    private final int size;
+    private final long[] gameIds;
+    private final String[] noms;
+    private final long[] priceCents;
+    private final int[] ageMinimum;
+    private final int[] playersMin;
+    private final int[] playersMax;
+    private final int[] durations;
+    private final long[] categoryIds;
+    private final long[] publisherIds;
+
+    // Positions des jeux toujours présents au catalogue
+    private final BitSet present;
+    private final BitSet disponible;
+    private final BitSet inStock;
+    private final Map<Long, BitSet> gamesByCategory;
+    private final Map<Long, BitSet> gamesByPublisher;
+    private final Map<String, BitSet> gamesByAuthorName;
+
+    private final SortedIndex priceIndex;
+    private final SortedIndex ageIndex;
+    private final SortedIndex playersMinIndex;
+    private final SortedIndex playersMaxIndex;
+    private final SortedIndex durationIndex;
+
+    private final int[] orderByNom;
+    private final int[] orderByNomDesc;
+    private final int[] orderByPrix;
+    private final int[] orderByPrixDesc;
+    // Vrai si String.compareTo ordonne les noms comme la collation de la base
+    private final boolean nomOrderMatchesDatabase;
+
+    private CatalogSnapshot(Columns columns, int[] orderByNom, int[] orderByNomDesc) {
+        this.size = columns.size;
+        this.gameIds = columns.gameIds;
+        this.noms = columns.noms;
+        this.priceCents = columns.priceCents;
+        this.ageMinimum = columns.ageMinimum;
+        this.playersMin = columns.playersMin;
+        this.playersMax = columns.playersMax;
+        this.durations = columns.durations;
+        this.categoryIds = columns.categoryIds;
+        this.publisherIds = columns.publisherIds;
+        this.present = new BitSet(size);
+        this.present.set(0, size);
+        this.disponible = columns.disponible;
+        this.inStock = columns.inStock;
+        this.gamesByCategory = columns.gamesByCategory;
+        this.gamesByPublisher = columns.gamesByPublisher;
+        this.gamesByAuthorName = columns.gamesByAuthorName;
+
+        this.priceIndex = new SortedIndex(priceCents);
+        this.ageIndex = new SortedIndex(toLongs(ageMinimum));
+        this.playersMinIndex = new SortedIndex(toLongs(playersMin));
+        this.playersMaxIndex = new SortedIndex(toLongs(playersMax));
+        this.durationIndex = new SortedIndex(toLongs(durations));
+
+        this.orderByNom = orderByNom;
+        this.orderByNomDesc = orderByNomDesc;
+        this.orderByPrix = sortPositions(size, prixOrder(false));
+        this.orderByPrixDesc = sortPositions(size, prixOrder(true));
+        this.nomOrderMatchesDatabase = isSorted(orderByNom, nomOrder(false)) && isSorted(orderByNomDesc, nomOrder(true));
+    }
+
+    private CatalogSnapshot(CatalogSnapshot source, BitSet inStock, BitSet present) {
+        this.size = source.size;
+        this.gameIds = source.gameIds;
+        this.noms = source.noms;
+        this.priceCents = source.priceCents;
+        this.ageMinimum = source.ageMinimum;
+        this.playersMin = source.playersMin;
+        this.playersMax = source.playersMax;
+        this.durations = source.durations;
+        this.categoryIds = source.categoryIds;
+        this.publisherIds = source.publisherIds;
+        this.present = present;
+        this.disponible = source.disponible;
+        this.inStock = inStock;
+        this.gamesByCategory = source.gamesByCategory;
+        this.gamesByPublisher = source.gamesByPublisher;
+        this.gamesByAuthorName = source.gamesByAuthorName;
+        this.priceIndex = source.priceIndex;
+        this.ageIndex = source.ageIndex;
+        this.playersMinIndex = source.playersMinIndex;
+        this.playersMaxIndex = source.playersMaxIndex;
+        this.durationIndex = source.durationIndex;
+        this.orderByNom = source.orderByNom;
+        this.orderByNomDesc = source.orderByNomDesc;
+        this.orderByPrix = source.orderByPrix;
+        this.orderByPrixDesc = source.orderByPrixDesc;
+        this.nomOrderMatchesDatabase = source.nomOrderMatchesDatabase;
+    }
+
+    /**
+     * Copie où la position {@code position} (existante, ou ajoutée à la fin) reçoit la ligne {@code row}.
+     * Les colonnes sont recopiées ; les bitsets, index et ordres de tri ne sont mis à jour que pour ce jeu.
+     */
+    private CatalogSnapshot(CatalogSnapshot source, int position, Object[] row, Collection<String> authorNames) {
+        boolean appended = position == source.size;
+        Columns columns = new Columns(source, appended ? source.size + 1 : source.size);
+        if (!appended) {
+            columns.clearReferences(position, source.authorNamesAt(position));
+        }
+        columns.setRow(position, row);
+        authorNames.forEach(authorName -> columns.addAuthorName(position, authorName));
+
+        this.size = columns.size;
+        this.gameIds = columns.gameIds;
+        this.noms = columns.noms;
+        this.priceCents = columns.priceCents;
+        this.ageMinimum = columns.ageMinimum;
+        this.playersMin = columns.playersMin;
+        this.playersMax = columns.playersMax;
+        this.durations = columns.durations;
+        this.categoryIds = columns.categoryIds;
+        this.publisherIds = columns.publisherIds;
+        this.present = (BitSet) source.present.clone();
+        this.present.set(position);
+        this.disponible = columns.disponible;
+        this.inStock = columns.inStock;
+        this.gamesByCategory = columns.gamesByCategory;
+        this.gamesByPublisher = columns.gamesByPublisher;
+        this.gamesByAuthorName = columns.gamesByAuthorName;
+
+        this.priceIndex = source.priceIndex.with(position, appended, source.valueAt(source.priceCents, position), priceCents[position]);
+        this.ageIndex = source.ageIndex.with(position, appended, source.valueAt(source.ageMinimum, position), ageMinimum[position]);
+        this.playersMinIndex = source.playersMinIndex.with(position, appended, source.valueAt(source.playersMin, position), playersMin[position]);
+        this.playersMaxIndex = source.playersMaxIndex.with(position, appended, source.valueAt(source.playersMax, position), playersMax[position]);
+        this.durationIndex = source.durationIndex.with(position, appended, source.valueAt(source.durations, position), durations[position]);
+
+        boolean nomChanged = appended || !noms[position].equals(source.noms[position]);
+        boolean prixChanged = appended || priceCents[position] != source.priceCents[position];
+        this.orderByNom = nomChanged ? reorder(source.orderByNom, position, appended, nomOrder(false)) : source.orderByNom;
+        this.orderByNomDesc = nomChanged ? reorder(source.orderByNomDesc, position, appended, nomOrder(true)) : source.orderByNomDesc;
+        this.orderByPrix = prixChanged ? reorder(source.orderByPrix, position, appended, prixOrder(false)) : source.orderByPrix;
+        this.orderByPrixDesc = prixChanged ? reorder(source.orderByPrixDesc, position, appended, prixOrder(true)) : source.orderByPrixDesc;
+        this.nomOrderMatchesDatabase = source.nomOrderMatchesDatabase;
+    }
+
+    /**
+     * Construit un instantané à partir des lignes (id, nom, prix, ageMinimum, nombreJoueursMin,
+     * nombreJoueursMax, dureePartieMinutes, disponible, categoryId, publisherId) triées par ID,
+     * des IDs triés par la base par nom croissant puis décroissant (ID croissant en cas d'égalité),
+     * des IDs de jeux en stock et des couples (gameId, authorName)
+     */
+    static CatalogSnapshot build(List<Object[]> gameRows, List<Long> idsByNom, List<Long> idsByNomDesc,
+                                 Collection<Long> inStockGameIds, List<Object[]> authorRows) {
+        int size = gameRows.size();
+        Columns columns = new Columns(size);
+        Map<Long, Integer> positions = new HashMap<>(size * 2);
+
+        for (int position = 0; position < size; position++) {
+            Object[] row = gameRows.get(position);
+            positions.put((Long) row[0], position);
+            columns.setRow(position, row);
+        }
+
+        for (Long gameId : inStockGameIds) {
+            Integer position = positions.get(gameId);
+            if (position != null) {
+                columns.inStock.set(position);
+            }
+        }
+
+        for (Object[] row : authorRows) {
+            Integer position = positions.get((Long) row[0]);
+            if (position != null) {
+                columns.addAuthorName(position, (String) row[1]);
+            }
+        }
+
+        return new CatalogSnapshot(columns, toOrder(idsByNom, positions), toOrder(idsByNomDesc, positions));
+    }
+
+    /**
+     * Positions dans l'ordre des IDs donnés. Les jeux absents des lignes (créés entre les lectures)
+     * sont ignorés ; ceux absents de la liste sont ajoutés en fin, ce qui rend l'ordre inexact :
+     * il sera alors jugé différent de celui de la base et corrigé à la reconstruction suivante.
+     */
+    private static int[] toOrder(List<Long> ids, Map<Long, Integer> positions) {
+        int[] order = new int[positions.size()];
+        boolean[] placed = new boolean[positions.size()];
+        int length = 0;
+        for (Long gameId : ids) {
+            Integer position = positions.get(gameId);
+            if (position != null && !placed[position]) {
+                placed[position] = true;
+                order[length++] = position;
+            }
+        }
+        for (int position = 0; position < placed.length; position++) {
+            if (!placed[position]) {
+                order[length++] = position;
+            }
+        }
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    boolean nomOrderMatchesDatabase() {
+        return nomOrderMatchesDatabase;
+    }
+
+    /**
+     * Copie de l'instantané où le stock des jeux {@code changedGameIds} est remplacé :
+     * en stock s'ils figurent dans {@code inStockGameIds}. Seul le bitset du stock est recopié,
+     * les autres colonnes et index sont partagés.
+     */
+    CatalogSnapshot withStock(Collection<Long> changedGameIds, Collection<Long> inStockGameIds) {
+        BitSet updated = (BitSet) inStock.clone();
+        for (Long gameId : changedGameIds) {
+            int position = Arrays.binarySearch(gameIds, gameId);
+            if (position >= 0) {
+                updated.set(position, inStockGameIds.contains(gameId));
+            }
+        }
+        return new CatalogSnapshot(this, updated, present);
+    }
+
+    /**
+     * Copie de l'instantané où le jeu {@code gameId} prend les valeurs de {@code row} (même format
+     * que {@link #build}) et les auteurs {@code authorNames}, ou est retiré si {@code row} est null.
+     * Un nouveau jeu est ajouté en dernière position ; null si son ID ne suit pas le dernier ID
+     * de l'instantané, les positions devant rester dans l'ordre des IDs, ou si son nom doit être
+     * placé alors que l'ordre par nom de la base n'est pas reproductible : il faut alors reconstruire.
+     */
+    CatalogSnapshot withGame(long gameId, Object[] row, Collection<String> authorNames) {
+        int position = Arrays.binarySearch(gameIds, gameId);
+        if (row == null) {
+            if (position < 0 || !present.get(position)) {
+                return this;
+            }
+            BitSet remaining = (BitSet) present.clone();
+            remaining.clear(position);
+            return new CatalogSnapshot(this, inStock, remaining);
+        }
+        if (position < 0) {
+            if (size > 0 && gameId < gameIds[size - 1]) {
+                return null;
+            }
+            position = size;
+        }
+        if (!nomOrderMatchesDatabase && (position == size || !noms[position].equals(row[1]))) {
+            // Place du nom dans l'ordre de la base inconnue : seule la base peut le trier
+            return null;
+        }
+        return new CatalogSnapshot(this, position, row, authorNames);
+    }
+
+    /**
+     * Indique si tous les critères de la recherche peuvent être évalués sur l'instantané
+     * (la recherche par mot-clé dans le nom et la description reste déléguée à la base)
+     */
+    public boolean supports(GameSearchDTO search) {
+        return search.getKeyword() == null || search.getKeyword().isBlank();
+    }
+
+    /**
+     * Renvoie le bitset des positions des jeux satisfaisant tous les critères renseignés
+     */
+    public BitSet filter(GameSearchDTO search) {
+        BitSet matches = (BitSet) present.clone();
+
+        if (search.getCategoryId() != null) {
+            matches.and(gamesByCategory.getOrDefault(search.getCategoryId(), NO_GAMES));
+        }
+        if (search.getPublisherId() != null) {
+            matches.and(gamesByPublisher.getOrDefault(search.getPublisherId(), NO_GAMES));
+        }
+        if (search.getAuthorName() != null && !search.getAuthorName().isBlank()) {
+            String needle = search.getAuthorName().trim().toLowerCase(Locale.ROOT);
+            BitSet byAuthor = new BitSet(size);
+            gamesByAuthorName.forEach((name, games) -> {
+                if (name.contains(needle)) {
+                    byAuthor.or(games);
+                }
+            });
+            matches.and(byAuthor);
+        }
+        if (search.getMinPrice() != null || search.getMaxPrice() != null) {
+            matches.and(priceIndex.range(
+                    search.getMinPrice() != null ? toCents(search.getMinPrice(), RoundingMode.CEILING) : Long.MIN_VALUE,
+                    search.getMaxPrice() != null ? toCents(search.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE));
+        }
+        if (search.getMinAge() != null || search.getMaxAge() != null) {
+            matches.and(ageIndex.range(
+                    search.getMinAge() != null ? search.getMinAge() : Long.MIN_VALUE,
+                    search.getMaxAge() != null ? search.getMaxAge() : Long.MAX_VALUE));
+        }
+        // Le jeu doit accepter le nombre de joueurs demandé
+        if (search.getMinPlayers() != null) {
+            matches.and(playersMinIndex.range(Long.MIN_VALUE, search.getMinPlayers()));
+        }
+        if (search.getMaxPlayers() != null) {
+            matches.and(playersMaxIndex.range(search.getMaxPlayers(), Long.MAX_VALUE));
+        }
+        if (search.getMaxDuration() != null) {
+            matches.and(durationIndex.range(Long.MIN_VALUE, search.getMaxDuration()));
+        }
+        if (search.getDisponible() != null) {
+            applyFlag(matches, disponible, search.getDisponible());
+        }
+        if (search.getEnStock() != null) {
+            applyFlag(matches, inStock, search.getEnStock());
+        }
+        return matches;
+    }
+
+    /**
+     * Renvoie les IDs des jeux de la page demandée, dans l'ordre de tri de la requête
+     * (nom, prix ou id, départagés par ID croissant)
+     */
+    public List<Long> page(BitSet matches, Pageable pageable) {
+        Sort.Order order = pageable.getSort().iterator().next();
+        boolean descending = order.isDescending();
+        int[] positions = switch (order.getProperty()) {
+            case "prix" -> descending ? orderByPrixDesc : orderByPrix;
+            case "id" -> null;
+            default -> descending ? orderByNomDesc : orderByNom;
+        };
+
+        int toSkip = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        if (positions == null) {
+            // Les positions suivent déjà l'ordre des IDs
+            int position = descending ? matches.previousSetBit(size - 1) : matches.nextSetBit(0);
+            while (position >= 0 && ids.size() < pageable.getPageSize()) {
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    ids.add(gameIds[position]);
+                }
+                position = descending ? matches.previousSetBit(position - 1) : matches.nextSetBit(position + 1);
+            }
+            return ids;
+        }
+
+        for (int i = 0; i < positions.length && ids.size() < pageable.getPageSize(); i++) {
+            if (matches.get(positions[i])) {
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    ids.add(gameIds[positions[i]]);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Renvoie le bitset des positions des jeux dont les IDs sont fournis
+     */
+    public BitSet positionsOf(Collection<Long> ids) {
+        BitSet positions = new BitSet(size);
+        for (Long id : ids) {
+            // Les positions suivent l'ordre des IDs : recherche dichotomique
+            int position = Arrays.binarySearch(gameIds, id);
+            if (position >= 0 && present.get(position)) {
+                positions.set(position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Compte en un seul parcours des jeux retenus les valeurs de chaque facette :
+     * catégorie, éditeur, tranche de prix, nombre de joueurs accepté et tranche de durée
+     */
+    public Map<String, Map<String, Long>> facets(BitSet matches) {
+        Map<Long, Long> categories = new TreeMap<>();
+        Map<Long, Long> publishers = new TreeMap<>();
+        long[] priceCounts = new long[PRICE_BUCKETS_CENTS.length + 1];
+        long[] durationCounts = new long[DURATION_BUCKETS_MINUTES.length + 1];
+        long[] playerCounts = new long[MAX_PLAYER_FACET + 1];
+
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            if (categoryIds[position] != 0) {
+                categories.merge(categoryIds[position], 1L, Long::sum);
+            }
+            if (publisherIds[position] != 0) {
+                publishers.merge(publisherIds[position], 1L, Long::sum);
+            }
+            priceCounts[bucket(priceCents[position], PRICE_BUCKETS_CENTS)]++;
+            durationCounts[bucket(durations[position], DURATION_BUCKETS_MINUTES)]++;
+            // Un jeu compte pour chaque nombre de joueurs qu'il accepte ; la dernière valeur vaut "6 et plus"
+            int from = Math.max(playersMin[position], 1);
+            int to = Math.min(playersMax[position], MAX_PLAYER_FACET);
+            for (int players = from; players <= to; players++) {
+                playerCounts[players]++;
+            }
+        }
+        return toFacets(categories, publishers, priceCounts, playerCounts, durationCounts);
+    }
+
+    /**
+     * Met en forme les comptes de chaque facette ; {@code playerCounts} est indexé par nombre de joueurs
+     * (1 à {@link #MAX_PLAYER_FACET}), les tranches suivent {@link #PRICE_BUCKETS_CENTS} et
+     * {@link #DURATION_BUCKETS_MINUTES}
+     */
+    static Map<String, Map<String, Long>> toFacets(Map<Long, Long> categories, Map<Long, Long> publishers,
+                                                   long[] priceCounts, long[] playerCounts, long[] durationCounts) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("category", toLabels(categories));
+        facets.put("publisher", toLabels(publishers));
+        facets.put("price", toBucketLabels(priceCounts, new String[]{"0-20", "20-40", "40-60", "60+"}));
+        Map<String, Long> players = new LinkedHashMap<>();
+        for (int count = 1; count <= MAX_PLAYER_FACET; count++) {
+            players.put(count == MAX_PLAYER_FACET ? count + "+" : String.valueOf(count), playerCounts[count]);
+        }
+        facets.put("players", players);
+        facets.put("duration", toBucketLabels(durationCounts, new String[]{"0-30", "30-60", "60-120", "120+"}));
+        return facets;
+    }
+
+    // Ordres de tri, départagés par ID croissant comme la pagination SQL. Par nom, la comparaison
+    // Java ne sert qu'à replacer un jeu, et seulement si elle reproduit l'ordre de la base
+    private Comparator<Integer> nomOrder(boolean descending) {
+        Comparator<Integer> byNom = Comparator.comparing(position -> noms[position]);
+        return (descending ? byNom.reversed() : byNom).thenComparingLong(position -> gameIds[position]);
+    }
+
+    private Comparator<Integer> prixOrder(boolean descending) {
+        Comparator<Integer> byPrix = Comparator.comparingLong(position -> priceCents[position]);
+        return (descending ? byPrix.reversed() : byPrix).thenComparingLong(position -> gameIds[position]);
+    }
+
+    private Set<String> authorNamesAt(int position) {
+        Set<String> names = new HashSet<>();
+        gamesByAuthorName.forEach((name, games) -> {
+            if (games.get(position)) {
+                names.add(name);
+            }
+        });
+        return names;
+    }
+
+    // Valeur de la colonne à la position, 0 pour une position ajoutée
+    private long valueAt(long[] column, int position) {
+        return position < size ? column[position] : 0;
+    }
+
+    private long valueAt(int[] column, int position) {
+        return position < size ? column[position] : 0;
+    }
+
+    private static boolean isSorted(int[] order, Comparator<Integer> comparator) {
+        for (int index = 1; index < order.length; index++) {
+            if (comparator.compare(order[index - 1], order[index]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retire {@code position} d'un ordre de tri puis l'y réinsère par recherche dichotomique
+     */
+    private static int[] reorder(int[] order, int position, boolean appended, Comparator<Integer> comparator) {
+        int[] reordered = new int[appended ? order.length + 1 : order.length];
+        int length = 0;
+        for (int candidate : order) {
+            if (candidate != position) {
+                reordered[length++] = candidate;
+            }
+        }
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(reordered[middle], position) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        System.arraycopy(reordered, low, reordered, low + 1, length - low);
+        reordered[low] = position;
+        return reordered;
+    }
+
+    private static int bucket(long value, long[] upperBounds) {
+        int bucket = 0;
+        while (bucket < upperBounds.length && value > upperBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static Map<String, Long> toLabels(Map<Long, Long> counts) {
+        Map<String, Long> labelled = new LinkedHashMap<>();
+        counts.forEach((id, count) -> labelled.put(String.valueOf(id), count));
+        return labelled;
+    }
+
+    private static Map<String, Long> toBucketLabels(long[] counts, String[] labels) {
+        Map<String, Long> labelled = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            labelled.put(labels[i], counts[i]);
+        }
+        return labelled;
+    }
+
+    private static void applyFlag(BitSet matches, BitSet flag, boolean expected) {
+        if (expected) {
+            matches.and(flag);
+        } else {
+            matches.andNot(flag);
+        }
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.setScale(2, roundingMode).unscaledValue().longValue();
+    }
+
+    private static long[] toLongs(int[] column) {
+        return Arrays.stream(column).asLongStream().toArray();
+    }
+
+    private static int[] sortPositions(int size, Comparator<Integer> comparator) {
+        Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        Arrays.sort(positions, comparator);
+        return Arrays.stream(positions).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Colonnes en cours de remplissage pendant la construction de l'instantané
+     */
+    private static final class Columns {
+
+        private final int size;
+        private final long[] gameIds;
+        private final String[] noms;
+        private final long[] priceCents;
+        private final int[] ageMinimum;
+        private final int[] playersMin;
+        private final int[] playersMax;
+        private final int[] durations;
+        private final long[] categoryIds;
+        private final long[] publisherIds;
+        private final BitSet disponible;
+        private final BitSet inStock;
+        private final Map<Long, BitSet> gamesByCategory = new HashMap<>();
+        private final Map<Long, BitSet> gamesByPublisher = new HashMap<>();
+        private final Map<String, BitSet> gamesByAuthorName = new HashMap<>();
+        // Bitsets propres à ces colonnes ; ceux repris d'un instantané sont recopiés avant modification
+        private final Set<BitSet> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Columns(int size) {
+            this.size = size;
+            this.gameIds = new long[size];
+            this.noms = new String[size];
+            this.priceCents = new long[size];
+            this.ageMinimum = new int[size];
+            this.playersMin = new int[size];
+            this.playersMax = new int[size];
+            this.durations = new int[size];
+            this.categoryIds = new long[size];
+            this.publisherIds = new long[size];
+            this.disponible = new BitSet(size);
+            this.inStock = new BitSet(size);
+        }
+
+        /**
+         * Copie des colonnes d'un instantané, agrandies à {@code size} positions
+         */
+        Columns(CatalogSnapshot source, int size) {
+            this.size = size;
+            this.gameIds = Arrays.copyOf(source.gameIds, size);
+            this.noms = Arrays.copyOf(source.noms, size);
+            this.priceCents = Arrays.copyOf(source.priceCents, size);
+            this.ageMinimum = Arrays.copyOf(source.ageMinimum, size);
+            this.playersMin = Arrays.copyOf(source.playersMin, size);
+            this.playersMax = Arrays.copyOf(source.playersMax, size);
+            this.durations = Arrays.copyOf(source.durations, size);
+            this.categoryIds = Arrays.copyOf(source.categoryIds, size);
+            this.publisherIds = Arrays.copyOf(source.publisherIds, size);
+            this.disponible = (BitSet) source.disponible.clone();
+            this.inStock = (BitSet) source.inStock.clone();
+            this.gamesByCategory.putAll(source.gamesByCategory);
+            this.gamesByPublisher.putAll(source.gamesByPublisher);
+            this.gamesByAuthorName.putAll(source.gamesByAuthorName);
+        }
+
+        /**
+         * Renseigne la position à partir d'une ligne (id, nom, prix, ageMinimum, nombreJoueursMin,
+         * nombreJoueursMax, dureePartieMinutes, disponible, categoryId, publisherId)
+         */
+        void setRow(int position, Object[] row) {
+            gameIds[position] = (Long) row[0];
+            noms[position] = (String) row[1];
+            priceCents[position] = toCents((BigDecimal) row[2], RoundingMode.HALF_UP);
+            ageMinimum[position] = (Integer) row[3];
+            playersMin[position] = (Integer) row[4];
+            playersMax[position] = (Integer) row[5];
+            durations[position] = (Integer) row[6];
+            disponible.set(position, (Boolean) row[7]);
+            categoryIds[position] = row[8] != null ? (Long) row[8] : 0;
+            if (row[8] != null) {
+                writable(gamesByCategory, (Long) row[8]).set(position);
+            }
+            publisherIds[position] = row[9] != null ? (Long) row[9] : 0;
+            if (row[9] != null) {
+                writable(gamesByPublisher, (Long) row[9]).set(position);
+            }
+        }
+
+        void addAuthorName(int position, String authorName) {
+            if (authorName != null) {
+                writable(gamesByAuthorName, authorName.toLowerCase(Locale.ROOT)).set(position);
+            }
+        }
+
+        /**
+         * Retire la position des bitsets de sa catégorie, de son éditeur et de ses auteurs actuels
+         */
+        void clearReferences(int position, Set<String> authorNames) {
+            if (categoryIds[position] != 0) {
+                clear(gamesByCategory, categoryIds[position], position);
+            }
+            if (publisherIds[position] != 0) {
+                clear(gamesByPublisher, publisherIds[position], position);
+            }
+            authorNames.forEach(authorName -> clear(gamesByAuthorName, authorName, position));
+        }
+
+        private <K> void clear(Map<K, BitSet> games, K key, int position) {
+            BitSet bits = writable(games, key);
+            bits.clear(position);
+            if (bits.isEmpty()) {
+                games.remove(key);
+            }
+        }
+
+        private <K> BitSet writable(Map<K, BitSet> games, K key) {
+            BitSet bits = games.get(key);
+            if (bits == null) {
+                bits = new BitSet(size);
+            } else if (owned.contains(bits)) {
+                return bits;
+            } else {
+                bits = (BitSet) bits.clone();
+            }
+            games.put(key, bits);
+            owned.add(bits);
+            return bits;
+        }
+    }
+
+    /**
+     * Index trié d'une colonne numérique : valeurs croissantes et positions correspondantes,
+     * une plage de valeurs se résout par deux recherches dichotomiques
+     */
+    private static final class SortedIndex {
+
+        private final long[] values;
+        private final int[] positions;
+
+        SortedIndex(long[] column) {
+            this.positions = sortPositions(column.length, Comparator.comparingLong(position -> column[position]));
+            this.values = new long[column.length];
+            for (int i = 0; i < column.length; i++) {
+                values[i] = column[positions[i]];
+            }
+        }
+
+        private SortedIndex(long[] values, int[] positions) {
+            this.values = values;
+            this.positions = positions;
+        }
+
+        /**
+         * Copie de l'index où {@code position} (ajoutée, ou de valeur {@code oldValue}) prend la valeur {@code newValue}
+         */
+        SortedIndex with(int position, boolean appended, long oldValue, long newValue) {
+            if (!appended && oldValue == newValue) {
+                return this;
+            }
+            int length = appended ? values.length + 1 : values.length;
+            long[] newValues = new long[length];
+            int[] newPositions = new int[length];
+            int count = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (positions[i] != position) {
+                    newValues[count] = values[i];
+                    newPositions[count++] = positions[i];
+                }
+            }
+            int insertAt = count;
+            while (insertAt > 0 && newValues[insertAt - 1] > newValue) {
+                newValues[insertAt] = newValues[insertAt - 1];
+                newPositions[insertAt] = newPositions[insertAt - 1];
+                insertAt--;
+            }
+            newValues[insertAt] = newValue;
+            newPositions[insertAt] = position;
+            return new SortedIndex(newValues, newPositions);
+        }
+
+        BitSet range(long min, long max) {
+            BitSet matches = new BitSet(values.length);
+            int to = max == Long.MAX_VALUE ? values.length : lowerBound(max + 1);
+            for (int i = lowerBound(min); i < to; i++) {
+                matches.set(positions[i]);
+            }
+            return matches;
+        }
+
+        // Premier indice dont la valeur est >= value
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import com.gamesUP.gamesUP.repository.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Détient l'instantané courant du catalogue. Les modifications validées sont appliquées
+ * en arrière-plan, regroupées : un changement de stock ne recopie que le bitset du stock,
+ * un jeu créé, modifié ou supprimé n'est relu et recopié que pour sa ligne ; un import en masse
+ * ou une modification de catégorie, d'éditeur ou d'auteur reconstruit l'instantané. Les lecteurs
+ * ne prennent aucun verrou ; tant qu'une modification validée n'est pas appliquée, aucun
+ * instantané n'est proposé et les recherches passent par la base. Après un échec, l'instantané
+ * est reconstruit avec un délai croissant entre les tentatives.
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotService {
+
+    private static final Set<GameCatalogEvent.Type> PATCHABLE = EnumSet.of(GameCatalogEvent.Type.CREATED,
+            GameCatalogEvent.Type.UPDATED, GameCatalogEvent.Type.DELETED, GameCatalogEvent.Type.STOCK_CHANGED);
+    // Au-delà, recopier l'instantané jeu par jeu coûte plus cher qu'une reconstruction
+    private static final int MAX_PATCHED_GAMES = 64;
+
+    private final GameRepository gameRepository;
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor updateExecutor;
+    private final Clock clock;
+    private final Duration retryInitialDelay;
+    private final Duration retryMaxDelay;
+
+    private final Queue<GameCatalogEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+    // Modifications validées pas encore reflétées par l'instantané
+    private final AtomicInteger unappliedChanges = new AtomicInteger();
+    private final AtomicBoolean updateScheduled = new AtomicBoolean();
+    private volatile CatalogSnapshot current;
+    // Échecs consécutifs et date de la prochaine reconstruction, null si aucune n'est attendue
+    private int failedAttempts;
+    private volatile Instant nextRetryAt;
+
+    @Autowired
+    public CatalogSnapshotService(GameRepository gameRepository, InventoryRepository inventoryRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${gamesup.catalog.snapshot.retry.initial-delay:1s}") Duration retryInitialDelay,
+                                  @Value("${gamesup.catalog.snapshot.retry.max-delay:5m}") Duration retryMaxDelay) {
+        this(gameRepository, inventoryRepository, transactionManager, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        }), Clock.systemUTC(), retryInitialDelay, retryMaxDelay);
+    }
+
+    CatalogSnapshotService(GameRepository gameRepository, InventoryRepository inventoryRepository,
+                           PlatformTransactionManager transactionManager, Executor updateExecutor,
+                           Clock clock, Duration retryInitialDelay, Duration retryMaxDelay) {
+        this.gameRepository = gameRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.updateExecutor = updateExecutor;
+        this.clock = clock;
+        this.retryInitialDelay = retryInitialDelay;
+        this.retryMaxDelay = retryMaxDelay;
+    }
+
+    /**
+     * Instantané courant, absent tant que le premier chargement n'est pas terminé
+     * ou qu'une modification validée reste à appliquer
+     */
+    public Optional<CatalogSnapshot> current() {
+        if (unappliedChanges.get() > 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        CatalogSnapshot snapshot = transactionTemplate.execute(status -> CatalogSnapshot.build(
+                gameRepository.findAllSnapshotRows(),
+                gameRepository.findAllIdsOrderByNom(),
+                gameRepository.findAllIdsOrderByNomDesc(),
+                inventoryRepository.findGameIdsInStock(),
+                gameRepository.findAllAuthorNames()));
+        current = snapshot;
+        failedAttempts = 0;
+        nextRetryAt = null;
+        log.info("Instantané du catalogue construit: {} jeux en {} ms",
+                snapshot.size(), (System.nanoTime() - start) / 1_000_000);
+        if (!snapshot.nomOrderMatchesDatabase()) {
+            log.info("Ordre par nom de la base non reproductible en Java : un jeu créé ou renommé reconstruira l'instantané");
+        }
+    }
+
+    /**
+     * Planifie l'application de la modification ; les modifications rapprochées sont regroupées
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(GameCatalogEvent event) {
+        if (event.type() == GameCatalogEvent.Type.RATING_CHANGED) {
+            return;
+        }
+        unappliedChanges.incrementAndGet();
+        pendingChanges.add(event);
+        if (updateScheduled.compareAndSet(false, true)) {
+            updateExecutor.execute(this::applyPendingChanges);
+        }
+    }
+
+    synchronized void applyPendingChanges() {
+        updateScheduled.set(false);
+        List<GameCatalogEvent> changes = new ArrayList<>();
+        for (GameCatalogEvent change; (change = pendingChanges.poll()) != null; ) {
+            changes.add(change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            Set<Long> changedGameIds = new HashSet<>();
+            Set<Long> rowGameIds = new TreeSet<>();
+            boolean patchable = current != null;
+            for (GameCatalogEvent change : changes) {
+                patchable &= change.gameId() != null && PATCHABLE.contains(change.type());
+                if (change.gameId() != null) {
+                    changedGameIds.add(change.gameId());
+                    if (change.type() != GameCatalogEvent.Type.STOCK_CHANGED) {
+                        rowGameIds.add(change.gameId());
+                    }
+                }
+            }
+            CatalogSnapshot patched = patchable && rowGameIds.size() <= MAX_PATCHED_GAMES
+                    ? transactionTemplate.execute(status -> patch(current, rowGameIds, changedGameIds))
+                    : null;
+            if (patched != null) {
+                current = patched;
+            } else {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            // Un instantané périmé donnerait des résultats faux : les recherches passent par la base
+            // jusqu'à la reconstruction planifiée
+            current = null;
+            log.error("Erreur lors de la mise à jour de l'instantané du catalogue: {}", e.getMessage());
+            scheduleRetry();
+        } finally {
+            unappliedChanges.addAndGet(-changes.size());
+        }
+    }
+
+    /**
+     * Relit les lignes des jeux modifiés et les reporte sur une copie de l'instantané, puis le stock
+     * des jeux concernés ; null si un nouveau jeu impose une reconstruction
+     */
+    private CatalogSnapshot patch(CatalogSnapshot snapshot, Set<Long> rowGameIds, Set<Long> changedGameIds) {
+        Map<Long, Object[]> rows = new HashMap<>();
+        Map<Long, List<String>> authorNames = new HashMap<>();
+        if (!rowGameIds.isEmpty()) {
+            gameRepository.findSnapshotRowsByIds(rowGameIds).forEach(row -> rows.put((Long) row[0], row));
+            gameRepository.findAuthorNamesByGameIds(rowGameIds).forEach(row ->
+                    authorNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]));
+        }
+        // Par ID croissant : les nouveaux jeux s'ajoutent dans l'ordre des positions
+        for (Long gameId : rowGameIds) {
+            snapshot = snapshot.withGame(gameId, rows.get(gameId), authorNames.getOrDefault(gameId, List.of()));
+            if (snapshot == null) {
+                return null;
+            }
+        }
+        List<Long> inStock = inventoryRepository.findGameIdsInStockAmong(changedGameIds);
+        return snapshot.withStock(changedGameIds, new HashSet<>(inStock));
+    }
+
+    /**
+     * Lance la reconstruction planifiée après un échec, une fois son délai écoulé
+     */
+    @Scheduled(fixedDelayString = "${gamesup.catalog.snapshot.retry.check-interval:PT1S}")
+    public void retryAfterFailure() {
+        Instant retryAt = nextRetryAt;
+        if (retryAt == null || clock.instant().isBefore(retryAt)) {
+            return;
+        }
+        nextRetryAt = null;
+        updateExecutor.execute(this::retryRebuild);
+    }
+
+    synchronized void retryRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Nouvel échec de la reconstruction de l'instantané du catalogue: {}", e.getMessage());
+            scheduleRetry();
+        }
+    }
+
+    // Délai doublé à chaque échec consécutif, plafonné
+    private void scheduleRetry() {
+        Duration delay = retryInitialDelay.multipliedBy(1L << Math.min(failedAttempts, 20));
+        if (delay.compareTo(retryMaxDelay) > 0) {
+            delay = retryMaxDelay;
+        }
+        failedAttempts++;
+        nextRetryAt = clock.instant().plus(delay);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (updateExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
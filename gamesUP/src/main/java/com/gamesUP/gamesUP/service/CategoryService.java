@@ -1,9 +1,11 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
 import com.gamesUP.gamesUP.model.Category;
 import com.gamesUP.gamesUP.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,7 @@ import java.util.Optional;
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Category> getAllCategories() {
         log.info("Récupération de toutes les catégories");
@@ -56,7 +59,9 @@ public class CategoryService {
             existingCategory.setType(category.getType());
             existingCategory.setDescription(category.getDescription());
             
-            return categoryRepository.save(existingCategory);
+            Category saved = categoryRepository.save(existingCategory);
+            publishReferenceChanged();
+            return saved;
         });
     }
     
@@ -65,6 +70,7 @@ public class CategoryService {
         
         if (categoryRepository.existsById(id)) {
             categoryRepository.deleteById(id);
+            publishReferenceChanged();
             return true;
         }
         return false;
@@ -73,4 +79,12 @@ public class CategoryService {
     public boolean existsByType(String type) {
         return categoryRepository.existsByType(type);
     }
+
+    /**
+     * Le type de la catégorie figure dans chaque jeu qui y est classé : les caches
+     * et l'instantané du catalogue sont à rafraîchir
+     */
+    private void publishReferenceChanged() {
+        eventPublisher.publishEvent(new GameCatalogEvent(null, GameCatalogEvent.Type.REFERENCE_CHANGED));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.gamesUP.gamesUP.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Méthode de lecture dont les appels simultanés avec des arguments égaux partagent une seule exécution
+ * (voir {@link SingleFlight}). Le regroupement se fait avant le cache et la transaction.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+
+    /**
+     * Nom du regroupement, utilisé comme tag des métriques singleflight.*
+     */
+    String value();
+}
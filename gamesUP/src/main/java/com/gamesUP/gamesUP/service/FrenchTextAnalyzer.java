@@ -0,0 +1,102 @@
+package com.gamesUP.gamesUP.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Découpage et normalisation de texte français pour l'index de recherche :
+ * minuscules, suppression des accents ("stratégie" → "strategie"), élision,
+ * mots vides et racinisation légère (pluriels, e/r finaux).
+ */
+public final class FrenchTextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "au", "aux", "avec", "ce", "ces", "cette", "dans", "de", "des", "du", "elle", "en", "est",
+            "et", "il", "la", "le", "les", "leur", "leurs", "mais", "ne", "ou", "par", "pas", "pour",
+            "qu", "que", "qui", "sa", "se", "ses", "son", "sur", "un", "une", "vos", "votre");
+
+    private FrenchTextAnalyzer() {
+    }
+
+    /**
+     * Découpe un texte en termes normalisés, dans l'ordre d'apparition
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                addTerm(terms, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        // Les apostrophes coupent les élisions ("l'aventure") : les lettres isolées sont ignorées
+        if (token.length() < 2 || STOP_WORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    private static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.FRENCH), Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'œ' -> folded.append("oe");
+                case 'æ' -> folded.append("ae");
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Racinisation minimale inspirée de FrenchMinimalStemmer (Lucene), appliquée au texte sans accents
+     */
+    static String stem(String term) {
+        int length = term.length();
+        if (length < 6) {
+            // Mots courts : seul le pluriel est retiré ("jeux" → "jeu", "pions" → "pion")
+            char last = term.charAt(length - 1);
+            return length > 3 && (last == 's' || last == 'x') ? term.substring(0, length - 1) : term;
+        }
+        if (term.charAt(length - 1) == 'x') {
+            return term.endsWith("aux") ? term.substring(0, length - 2) + "l" : term.substring(0, length - 1);
+        }
+        if (term.charAt(length - 1) == 's') {
+            length--;
+        }
+        if (term.charAt(length - 1) == 'r') {
+            length--;
+        }
+        // Deux passes sur le e final : "e" puis "é" une fois les accents retirés
+        if (term.charAt(length - 1) == 'e') {
+            length--;
+        }
+        if (term.charAt(length - 1) == 'e') {
+            length--;
+        }
+        if (term.charAt(length - 1) == term.charAt(length - 2) && Character.isLetter(term.charAt(length - 1))) {
+            length--;
+        }
+        return term.substring(0, length);
+    }
+}
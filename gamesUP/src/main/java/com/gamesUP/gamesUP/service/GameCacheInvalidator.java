@@ -0,0 +1,39 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.config.CacheConfig;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalide les caches du catalogue une fois les modifications validées :
+ * l'entrée du jeu concerné est retirée et les listes/pages sont vidées.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(GameCatalogEvent event) {
+        log.debug("Invalidation du cache pour le jeu {} ({})", event.gameId(), event.type());
+        Cache games = cacheManager.getCache(CacheConfig.GAMES_CACHE);
+        if (games != null) {
+            if (event.gameId() != null) {
+                games.evict(event.gameId());
+            } else {
+                games.clear();
+            }
+        }
+        Cache gameLists = cacheManager.getCache(CacheConfig.GAME_LISTS_CACHE);
+        if (gameLists != null) {
+            gameLists.clear();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.GameImportResultDTO;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.model.Author;
+import com.gamesUP.gamesUP.model.Category;
+import com.gamesUP.gamesUP.model.Game;
+import com.gamesUP.gamesUP.model.Inventory;
+import com.gamesUP.gamesUP.model.Publisher;
+import com.gamesUP.gamesUP.repository.AuthorRepository;
+import com.gamesUP.gamesUP.repository.CategoryRepository;
+import com.gamesUP.gamesUP.repository.PublisherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de jeux. Les lignes sont traitées par tranches : une requête
+ * {@code findAllById} par tranche pour les catégories, éditeurs et auteurs, puis
+ * insertion des jeux, liaisons auteurs et inventaires en batch JDBC dans une transaction
+ * par tranche. Une ligne invalide, ou refusée par la base, est rejetée sans interrompre
+ * le reste de l'import.
+ */
+@Service
+@Slf4j
+public class GameImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final CategoryRepository categoryRepository;
+    private final PublisherRepository publisherRepository;
+    private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public GameImportService(CategoryRepository categoryRepository, PublisherRepository publisherRepository,
+                             AuthorRepository authorRepository, EntityManager entityManager, Validator validator,
+                             ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.publisherRepository = publisherRepository;
+        this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importe les jeux lus au fil de l'eau et renvoie le compte rendu ligne par ligne
+     */
+    public GameImportResultDTO importGames(Iterator<GameDTO> games) {
+        log.info("Import en masse de jeux");
+        GameImportResultDTO result = new GameImportResultDTO();
+        List<GameDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        int firstRow = 1;
+
+        while (true) {
+            GameDTO game;
+            try {
+                if (!games.hasNext()) {
+                    break;
+                }
+                game = games.next();
+            } catch (RuntimeException e) {
+                // Le flux n'est plus lisible au-delà d'une ligne mal formée
+                result.setTotal(result.getTotal() + 1);
+                result.addError(result.getTotal(), null, "JSON invalide, lecture interrompue: " + e.getMessage());
+                break;
+            }
+            result.setTotal(result.getTotal() + 1);
+            chunk.add(game);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, firstRow, result);
+                firstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, firstRow, result);
+        }
+
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(new GameCatalogEvent(null, GameCatalogEvent.Type.BULK_IMPORTED));
+        }
+        log.info("Import terminé: {} jeux importés, {} rejetés sur {}", result.getImported(), result.getFailed(), result.getTotal());
+        return result;
+    }
+
+    /**
+     * Importe une tranche dans sa propre transaction. Si la base refuse la tranche, elle est
+     * annulée puis retentée par moitiés jusqu'à isoler les lignes fautives, seules rejetées.
+     */
+    private void importChunk(List<GameDTO> chunk, int firstRow, GameImportResultDTO result) {
+        List<GameImportResultDTO.RowError> rejected = new ArrayList<>();
+        int persisted;
+        try {
+            persisted = transactionTemplate.execute(status -> {
+                Map<Long, Category> categories = byId(categoryRepository.findAllById(collectIds(chunk, GameDTO::getCategoryId)), Category::getId);
+                Map<Long, Publisher> publishers = byId(publisherRepository.findAllById(collectIds(chunk, GameDTO::getPublisherId)), Publisher::getId);
+                Map<Long, Author> authors = byId(authorRepository.findAllById(chunk.stream()
+                        .filter(dto -> dto.getAuthorIds() != null)
+                        .flatMap(dto -> dto.getAuthorIds().stream())
+                        .collect(Collectors.toSet())), Author::getId);
+
+                int count = 0;
+                for (int i = 0; i < chunk.size(); i++) {
+                    GameDTO dto = chunk.get(i);
+                    String error = validate(dto, categories, publishers, authors);
+                    if (error != null) {
+                        rejected.add(new GameImportResultDTO.RowError(firstRow + i, dto.getNom(), error));
+                        continue;
+                    }
+                    Game game = toEntity(dto, categories, publishers, authors);
+                    entityManager.persist(game);
+                    entityManager.persist(Inventory.builder()
+                            .game(game)
+                            .stock(dto.getStock() != null ? Math.max(dto.getStock(), 0) : 0)
+                            .stockMinimum(5)
+                            .disponible(true)
+                            .build());
+                    count++;
+                }
+                // Les INSERT en attente partent en batch, puis la tranche est libérée de la mémoire
+                entityManager.flush();
+                entityManager.clear();
+                return count;
+            });
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                result.addError(firstRow, chunk.get(0).getNom(), "Rejeté par la base: " + e.getMessage());
+                return;
+            }
+            log.warn("Tranche de {} lignes commençant à la ligne {} annulée, nouvel essai par moitiés: {}",
+                    chunk.size(), firstRow, e.getMessage());
+            int half = chunk.size() / 2;
+            importChunk(chunk.subList(0, half), firstRow, result);
+            importChunk(chunk.subList(half, chunk.size()), firstRow + half, result);
+            return;
+        }
+        rejected.forEach(error -> result.addError(error.getRow(), error.getNom(), error.getMessage()));
+        result.setImported(result.getImported() + persisted);
+    }
+
+    private String validate(GameDTO dto, Map<Long, Category> categories, Map<Long, Publisher> publishers,
+                            Map<Long, Author> authors) {
+        Set<ConstraintViolation<GameDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+        }
+        if (dto.getCategoryId() == null || !categories.containsKey(dto.getCategoryId())) {
+            return "Catégorie introuvable: " + dto.getCategoryId();
+        }
+        if (dto.getPublisherId() == null || !publishers.containsKey(dto.getPublisherId())) {
+            return "Éditeur introuvable: " + dto.getPublisherId();
+        }
+        if (dto.getAuthorIds() != null && !authors.keySet().containsAll(dto.getAuthorIds())) {
+            return "Auteur introuvable parmi: " + dto.getAuthorIds();
+        }
+        return null;
+    }
+
+    private Game toEntity(GameDTO dto, Map<Long, Category> categories, Map<Long, Publisher> publishers,
+                          Map<Long, Author> authors) {
+        Set<Author> gameAuthors = new HashSet<>();
+        if (dto.getAuthorIds() != null) {
+            dto.getAuthorIds().forEach(authorId -> gameAuthors.add(authors.get(authorId)));
+        }
+        return Game.builder()
+                .nom(dto.getNom())
+                .description(dto.getDescription())
+                .prix(dto.getPrix())
+                .numEdition(dto.getNumEdition())
+                .ageMinimum(dto.getAgeMinimum())
+                .nombreJoueursMin(dto.getNombreJoueursMin())
+                .nombreJoueursMax(dto.getNombreJoueursMax())
+                .dureePartieMinutes(dto.getDureePartieMinutes())
+                .disponible(dto.isDisponible())
+                .category(categories.get(dto.getCategoryId()))
+                .publisher(publishers.get(dto.getPublisherId()))
+                .authors(gameAuthors)
+                .build();
+    }
+
+    private static Set<Long> collectIds(List<GameDTO> chunk, Function<GameDTO, Long> id) {
+        return chunk.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.model.GameRatingStats;
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.GameRatingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintient les agrégats de notes par jeu ({@link GameRatingStats}) et vérifie
+ * périodiquement qu'ils n'ont pas dérivé par rapport à la table des avis.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class GameRatingStatsService {
+
+    private final GameRatingStatsRepository gameRatingStatsRepository;
+    private final AvisRepository avisRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Applique une variation de somme et de nombre de notes approuvées à un jeu,
+     * en créant ses agrégats au premier avis approuvé
+     */
+    public void applyDelta(Long gameId, long sumDelta, long countDelta) {
+        if (sumDelta == 0 && countDelta == 0) {
+            return;
+        }
+        gameRatingStatsRepository.applyDelta(gameId, sumDelta, countDelta);
+        eventPublisher.publishEvent(new GameCatalogEvent(gameId, GameCatalogEvent.Type.RATING_CHANGED));
+    }
+
+    /**
+     * Recalcule les agrégats depuis les avis et corrige les écarts.
+     * Exécuté au démarrage (données initiales) puis chaque nuit.
+     * Chaque correction est un remplacement conditionnel sur les valeurs lues : un avis approuvé
+     * pendant le recalcul n'est jamais écrasé, le jeu concerné est simplement revu au passage suivant.
+     * Hors transaction globale : chaque correction est validée aussitôt, sans garder verrouillées
+     * jusqu'à la fin du passage les lignes déjà corrigées.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(cron = "${gamesup.ratings.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        // Agrégats lus avant les totaux : un avis approuvé entre les deux lectures modifie la ligne,
+        // et le remplacement conditionnel ne s'y applique plus
+        Map<Long, GameRatingStats> storedByGame = new HashMap<>();
+        gameRatingStatsRepository.findAll().forEach(stats -> storedByGame.put(stats.getGameId(), stats));
+
+        int drifted = 0;
+        int skipped = 0;
+        for (Object[] row : avisRepository.getRatingTotalsByGame()) {
+            Long gameId = (Long) row[0];
+            long sum = ((Number) row[1]).longValue();
+            long count = ((Number) row[2]).longValue();
+            GameRatingStats stats = storedByGame.remove(gameId);
+            long storedSum = 0;
+            long storedCount = 0;
+            if (stats == null) {
+                // Ligne absente : créée vide (ou laissée telle quelle si un avis vient de la créer)
+                gameRatingStatsRepository.applyDelta(gameId, 0, 0);
+            } else {
+                storedSum = stats.getRatingSum();
+                storedCount = stats.getRatingCount();
+            }
+            if (storedSum == sum && storedCount == count) {
+                continue;
+            }
+            if (correct(gameId, storedSum, storedCount, sum, count)) {
+                drifted++;
+            } else {
+                skipped++;
+            }
+        }
+        // Jeux n'ayant plus aucun avis approuvé
+        for (GameRatingStats stats : storedByGame.values()) {
+            if (stats.getRatingSum() == 0 && stats.getRatingCount() == 0) {
+                continue;
+            }
+            if (correct(stats.getGameId(), stats.getRatingSum(), stats.getRatingCount(), 0, 0)) {
+                drifted++;
+            } else {
+                skipped++;
+            }
+        }
+
+        if (skipped > 0) {
+            log.info("Agrégats de notes modifiés pendant le recalcul pour {} jeu(x), revus au prochain passage", skipped);
+        }
+        if (drifted > 0) {
+            log.warn("Agrégats de notes recalculés pour {} jeu(x)", drifted);
+        } else {
+            log.info("Agrégats de notes à jour");
+        }
+    }
+
+    private boolean correct(Long gameId, long storedSum, long storedCount, long sum, long count) {
+        if (gameRatingStatsRepository.replaceIfUnchanged(gameId, storedSum, storedCount, sum, count) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new GameCatalogEvent(gameId, GameCatalogEvent.Type.RATING_CHANGED));
+        return true;
+    }
+}
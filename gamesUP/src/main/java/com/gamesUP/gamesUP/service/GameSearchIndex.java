@@ -0,0 +1,436 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire sur le nom et la description des jeux.
+ * Les listes de postings sont stockées en tableaux d'entiers primitifs et les
+ * résultats sont classés avec BM25. L'index est construit au démarrage puis
+ * tenu à jour à partir des {@link GameCatalogEvent} ; après un import en masse, il est
+ * reconstruit en arrière-plan et l'ancien index continue de servir les recherches.
+ */
+@Component
+@Slf4j
+public class GameSearchIndex {
+
+    // Une occurrence dans le nom compte autant que trois dans la description
+    private static final int NAME_WEIGHT = 3;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Score réduit pour les termes qui ne font que commencer par le terme recherché ("cata" → "catan")
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final int COMPACTION_MIN_DELETED = 256;
+
+    private final GameRepository gameRepository;
+    private final Executor rebuildExecutor;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, Integer> docIdsByGame = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+    private long[] gameIds = new long[256];
+    private int[] docLengths = new int[256];
+    private int docCount;
+    private long totalLength;
+    private volatile boolean ready;
+    // Jeux modifiés pendant une reconstruction, relus ensuite : les lignes de la reconstruction
+    // ont pu être lues avant leur modification. Null hors reconstruction. Protégé par lock.
+    private Set<Long> changedDuringRebuild;
+
+    @Autowired
+    public GameSearchIndex(GameRepository gameRepository) {
+        this(gameRepository, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-search-index");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    GameSearchIndex(GameRepository gameRepository, Executor rebuildExecutor) {
+        this.gameRepository = gameRepository;
+        this.rebuildExecutor = rebuildExecutor;
+    }
+
+    /**
+     * Résultat d'une recherche : la page d'IDs demandée, classée par pertinence, et le nombre total de jeux trouvés
+     */
+    public record SearchResult(List<Long> gameIds, long totalHits) {
+    }
+
+    /**
+     * Construit l'index à partir de l'ensemble du catalogue
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Object[]> rows;
+        Set<Long> changed;
+        try {
+            rows = gameRepository.findAllIndexableTexts();
+        } finally {
+            lock.writeLock().lock();
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            lock.writeLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            docIdsByGame.clear();
+            deletedDocs.clear();
+            docCount = 0;
+            totalLength = 0;
+            for (Object[] row : rows) {
+                addDocument((Long) row[0], (String) row[1], (String) row[2]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Les modifications suivantes s'appliquent directement au nouvel index ; celles survenues
+        // pendant la lecture sont relues pour ne pas garder un état antérieur à leur validation
+        changed.forEach(this::reindex);
+        ready = true;
+        log.info("Index de recherche construit: {} jeux, {} termes en {} ms",
+                rows.size(), postingsByTerm.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Met à jour l'index après la validation d'une modification du catalogue
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(GameCatalogEvent event) {
+        if (!event.type().affectsText()) {
+            return;
+        }
+        if (event.type() == GameCatalogEvent.Type.BULK_IMPORTED) {
+            // Hors du thread qui a validé l'import ; plusieurs imports rapprochés partagent une reconstruction
+            if (rebuildScheduled.compareAndSet(false, true)) {
+                rebuildExecutor.execute(() -> {
+                    rebuildScheduled.set(false);
+                    rebuild();
+                });
+            }
+            return;
+        }
+        List<Object[]> rows = event.type() == GameCatalogEvent.Type.DELETED
+                ? List.of()
+                : gameRepository.findIndexableTextById(event.gameId());
+        apply(event.gameId(), rows);
+    }
+
+    private void reindex(Long gameId) {
+        apply(gameId, gameRepository.findIndexableTextById(gameId));
+    }
+
+    private void apply(Long gameId, List<Object[]> rows) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(gameId);
+            }
+            removeDocument(gameId);
+            for (Object[] row : rows) {
+                addDocument((Long) row[0], (String) row[1], (String) row[2]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Recherche les jeux contenant tous les termes de la requête, classés par score BM25 décroissant
+     */
+    public SearchResult search(String text, int page, int size) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(FrenchTextAnalyzer.analyze(text)));
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docIdsByGame.size();
+            if (liveDocs == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+            float averageLength = (float) totalLength / liveDocs;
+            float[] scores = new float[docCount];
+            // Nombre de termes consécutifs trouvés depuis le premier : seul un document qui les a tous
+            // trouvés atteint terms.size(), et un terme répété par plusieurs préfixes ne compte qu'une fois
+            int[] matchedTerms = new int[docCount];
+
+            for (int termIndex = 0; termIndex < terms.size(); termIndex++) {
+                String term = terms.get(termIndex);
+                for (Map.Entry<String, Postings> entry
+                        : postingsByTerm.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                    float factor = entry.getKey().equals(term) ? 1f : PREFIX_MATCH_FACTOR;
+                    score(entry.getValue(), factor, liveDocs, averageLength, termIndex, scores, matchedTerms);
+                }
+            }
+
+            // En long : page * size peut dépasser Integer.MAX_VALUE
+            long start = (long) page * size;
+            // Seuls les start + size meilleurs documents sont conservés, dans un tas borné
+            int limit = (int) Math.min(start + size, docCount);
+            TopDocs top = new TopDocs(limit, scores, gameIds);
+            int hitCount = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (matchedTerms[doc] == terms.size()) {
+                    hitCount++;
+                    top.offer(doc);
+                }
+            }
+            if (start >= hitCount) {
+                return new SearchResult(List.of(), hitCount);
+            }
+
+            int[] ranked = top.drainBestFirst();
+            List<Long> pageIds = new ArrayList<>((int) Math.min(size, ranked.length - start));
+            for (int i = (int) start; i < ranked.length; i++) {
+                pageIds.add(gameIds[ranked[i]]);
+            }
+            return new SearchResult(pageIds, hitCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rebuildExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void score(Postings postings, float factor, int liveDocs, float averageLength, int termIndex,
+                       float[] scores, int[] matchedTerms) {
+        int documentFrequency = 0;
+        for (int i = 0; i < postings.size; i++) {
+            if (!deletedDocs.get(postings.docs[i])) {
+                documentFrequency++;
+            }
+        }
+        if (documentFrequency == 0) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            if (deletedDocs.get(doc)) {
+                continue;
+            }
+            // Document écarté par un terme précédent : inutile de le noter
+            if (matchedTerms[doc] < termIndex) {
+                continue;
+            }
+            float tf = postings.freqs[i];
+            float norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+            scores[doc] += factor * idf * tf * (K1 + 1) / (tf + norm);
+            matchedTerms[doc] = termIndex + 1;
+        }
+    }
+
+    private void addDocument(long gameId, String nom, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        FrenchTextAnalyzer.analyze(nom).forEach(term -> frequencies.merge(term, NAME_WEIGHT, Integer::sum));
+        FrenchTextAnalyzer.analyze(description).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        if (docCount == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, docCount * 2);
+            docLengths = Arrays.copyOf(docLengths, docCount * 2);
+        }
+        int doc = docCount++;
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        gameIds[doc] = gameId;
+        docLengths[doc] = length;
+        totalLength += length;
+        docIdsByGame.put(gameId, doc);
+        // Les numéros de documents sont croissants : les postings restent triés
+        frequencies.forEach((term, frequency) ->
+                postingsByTerm.computeIfAbsent(term, t -> new Postings()).add(doc, frequency));
+    }
+
+    private void removeDocument(long gameId) {
+        Integer doc = docIdsByGame.remove(gameId);
+        if (doc == null) {
+            return;
+        }
+        deletedDocs.set(doc);
+        totalLength -= docLengths[doc];
+        int deleted = deletedDocs.cardinality();
+        if (deleted >= COMPACTION_MIN_DELETED && deleted * 4 > docCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumérote les documents vivants et purge les postings des documents supprimés
+     */
+    private void compact() {
+        int[] newDocIds = new int[docCount];
+        int liveCount = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deletedDocs.get(doc)) {
+                newDocIds[doc] = -1;
+            } else {
+                newDocIds[doc] = liveCount;
+                gameIds[liveCount] = gameIds[doc];
+                docLengths[liveCount] = docLengths[doc];
+                docIdsByGame.put(gameIds[liveCount], liveCount);
+                liveCount++;
+            }
+        }
+        postingsByTerm.values().removeIf(postings -> postings.remap(newDocIds) == 0);
+        deletedDocs.clear();
+        docCount = liveCount;
+    }
+
+    /**
+     * Tas borné des meilleurs documents (score décroissant, puis ID de jeu croissant) :
+     * la racine est le moins bon des documents retenus, remplacé par tout document meilleur
+     */
+    private static final class TopDocs {
+
+        private final int[] heap;
+        private final float[] scores;
+        private final long[] gameIds;
+        private int size;
+
+        TopDocs(int capacity, float[] scores, long[] gameIds) {
+            this.heap = new int[capacity];
+            this.scores = scores;
+            this.gameIds = gameIds;
+        }
+
+        void offer(int doc) {
+            if (size < heap.length) {
+                heap[size] = doc;
+                siftUp(size++);
+            } else if (size > 0 && ranksBefore(doc, heap[0])) {
+                heap[0] = doc;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Vide le tas et retourne les documents du meilleur au moins bon
+         */
+        int[] drainBestFirst() {
+            int[] ranked = new int[size];
+            while (size > 0) {
+                ranked[size - 1] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        private boolean ranksBefore(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : gameIds[a] < gameIds[b];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksBefore(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && ranksBefore(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < size && ranksBefore(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = heap[a];
+            heap[a] = heap[b];
+            heap[b] = doc;
+        }
+    }
+
+    /**
+     * Liste de postings d'un terme : IDs de documents croissants et fréquences pondérées
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = frequency;
+            size++;
+        }
+
+        int remap(int[] newDocIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newDocIds[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
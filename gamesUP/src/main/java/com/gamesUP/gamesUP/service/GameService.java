@@ -1,22 +1,50 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.config.CacheConfig;
+import com.gamesUP.gamesUP.dto.GameCursorPageDTO;
 import com.gamesUP.gamesUP.dto.GameDTO;
 import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
 import com.gamesUP.gamesUP.model.*;
 import com.gamesUP.gamesUP.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,101 +53,284 @@ import java.util.stream.Collectors;
 @Transactional
 public class GameService {
     
+    // Taille maximale des clauses IN utilisées par l'hydratation groupée
+    private static final int HYDRATION_CHUNK_SIZE = 1000;
+    
+    // Taille des lots hydratés lors de l'export en flux
+    private static final int STREAM_BATCH_SIZE = 500;
+    
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final GameRepository gameRepository;
     private final CategoryRepository categoryRepository;
     private final PublisherRepository publisherRepository;
     private final AuthorRepository authorRepository;
-    private final AvisRepository avisRepository;
+    private final GameRatingStatsRepository gameRatingStatsRepository;
     private final InventoryRepository inventoryRepository;
+    private final GameSearchIndex gameSearchIndex;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
     
+    /**
+     * Catalogue complet, non mis en cache : il occuperait la mémoire en entier et serait vidé
+     * à chaque variation de stock ou de note. Les appels simultanés restent regroupés, et
+     * {@link #forEachGame} permet de le parcourir à mémoire constante.
+     */
+    @Coalesced("games.all")
+    @Transactional(readOnly = true)
     public List<GameDTO> getAllGames() {
         log.info("Récupération de tous les jeux");
-        return gameRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(gameRepository.findAll());
     }
     
+    @Coalesced("games.page")
+    @Cacheable(cacheNames = CacheConfig.GAME_LISTS_CACHE, key = "'page:' + #page + ':' + #size")
+    @Transactional(readOnly = true)
     public Page<GameDTO> getAllGamesPageable(int page, int size) {
         log.info("Récupération des jeux avec pagination - page: {}, size: {}", page, size);
         Pageable pageable = PageRequest.of(page, size, Sort.by("nom"));
-        return gameRepository.findAll(pageable).map(this::convertToDTO);
+        return convertToDTOPage(gameRepository.findAll(pageable));
+    }
+    
+    /**
+     * Parcourt tout le catalogue en flux : les jeux sont lus par lots depuis un curseur,
+     * hydratés, transmis au consommateur puis détachés, la mémoire utilisée reste constante
+     */
+    @Transactional(readOnly = true)
+    public void forEachGame(Consumer<GameDTO> consumer) {
+        log.info("Export en flux de tous les jeux");
+        List<Game> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        try (Stream<Game> games = gameRepository.streamAllOrderById()) {
+            games.forEach(game -> {
+                batch.add(game);
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    flushBatch(batch, consumer);
+                }
+            });
+        }
+        flushBatch(batch, consumer);
+    }
+    
+    private void flushBatch(List<Game> batch, Consumer<GameDTO> consumer) {
+        convertToDTOs(batch).forEach(consumer);
+        batch.forEach(entityManager::detach);
+        batch.clear();
+    }
+    
+    /**
+     * Récupère une page de jeux triés par nom à partir d'un curseur (nom, id) :
+     * le coût reste constant quelle que soit la profondeur, sans requête COUNT
+     */
+    @Coalesced("games.scroll")
+    @Transactional(readOnly = true)
+    public GameCursorPageDTO getGamesAfterCursor(String cursor, int size) {
+        log.info("Récupération des jeux après le curseur: {}, size: {}", cursor, size);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        // Un élément de plus que demandé pour savoir s'il existe une page suivante
+        Limit limit = Limit.of(pageSize + 1);
+        
+        List<Game> games;
+        if (cursor == null || cursor.isBlank()) {
+            games = gameRepository.findFirstPageOrderByNomAndId(limit);
+        } else {
+            String[] key = decodeCursor(cursor);
+            games = gameRepository.findPageAfterOrderByNomAndId(key[1], Long.valueOf(key[0]), limit);
+        }
+        
+        boolean hasNext = games.size() > pageSize;
+        List<Game> content = hasNext ? games.subList(0, pageSize) : games;
+        Game last = content.isEmpty() ? null : content.get(content.size() - 1);
+        return GameCursorPageDTO.builder()
+                .content(convertToDTOs(content))
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last) : null)
+                .build();
     }
     
+    @Coalesced("games.byId")
+    @Cacheable(cacheNames = CacheConfig.GAMES_CACHE, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<GameDTO> getGameById(Long id) {
         log.info("Récupération du jeu avec l'ID: {}", id);
         return gameRepository.findById(id).map(this::convertToDTO);
     }
     
+    /**
+     * Récupère les jeux par leurs IDs en conservant l'ordre demandé
+     */
+    @Coalesced("games.byIds")
+    @Transactional(readOnly = true)
+    public List<GameDTO> getGamesByIds(List<Long> ids) {
+        log.info("Récupération des jeux avec les IDs: {}", ids);
+        Map<Long, GameDTO> dtosById = convertToDTOs(gameRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(GameDTO::getId, dto -> dto, (first, second) -> first));
+        return ids.stream()
+                .map(dtosById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    @Coalesced("games.available")
+    @Cacheable(cacheNames = CacheConfig.GAME_LISTS_CACHE, key = "'available'")
+    @Transactional(readOnly = true)
     public List<GameDTO> getAvailableGames() {
         log.info("Récupération des jeux disponibles");
-        return gameRepository.findByDisponible(true).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(gameRepository.findByDisponible(true));
     }
     
-    public List<GameDTO> searchGames(GameSearchDTO searchDTO) {
+    /**
+     * Recherche multicritère : les critères sont évalués en mémoire sur l'instantané du catalogue
+     * lorsqu'il le permet, sinon chaque critère renseigné devient un prédicat SQL
+     */
+    @Coalesced("games.search")
+    @Transactional(readOnly = true)
+    public Page<GameDTO> searchGames(GameSearchDTO searchDTO) {
         log.info("Recherche de jeux avec les critères: {}", searchDTO);
         
-        // Construction de la requête basée sur les critères
-        List<Game> games = gameRepository.findByKeyword(searchDTO.getKeyword());
-        
-        // Filtrage par catégorie
-        if (searchDTO.getCategoryId() != null) {
-            games = games.stream()
-                    .filter(game -> game.getCategory().getId().equals(searchDTO.getCategoryId()))
-                    .collect(Collectors.toList());
+        Pageable pageable = toPageable(searchDTO);
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.current().filter(current -> current.supports(searchDTO));
+        if (snapshot.isPresent()) {
+            BitSet matches = snapshot.get().filter(searchDTO);
+            return new PageImpl<>(getGamesByIds(snapshot.get().page(matches, pageable)), pageable, matches.cardinality());
         }
         
-        // Filtrage par éditeur
-        if (searchDTO.getPublisherId() != null) {
-            games = games.stream()
-                    .filter(game -> game.getPublisher().getId().equals(searchDTO.getPublisherId()))
-                    .collect(Collectors.toList());
-        }
+        Specification<Game> specification = GameSpecifications.fromSearch(searchDTO);
+        return convertToDTOPage(gameRepository.findAll(specification, pageable));
+    }
+    
+    /**
+     * Compte les jeux correspondant aux critères par facette, en un seul parcours de l'ensemble retenu.
+     * Pour une recherche par mot-clé, l'ensemble est obtenu par une seule requête d'IDs.
+     * Sans instantané (construction ou mise à jour en cours), les comptes sont calculés en base.
+     */
+    @Coalesced("games.facets")
+    @Transactional(readOnly = true)
+    public Map<String, Map<String, Long>> getSearchFacets(GameSearchDTO searchDTO) {
+        log.info("Calcul des facettes pour les critères: {}", searchDTO);
+        Specification<Game> specification = GameSpecifications.fromSearch(searchDTO);
+        return catalogSnapshotService.current()
+                .map(snapshot -> snapshot.facets(snapshot.supports(searchDTO)
+                        ? snapshot.filter(searchDTO)
+                        : snapshot.positionsOf(findMatchingIds(specification))))
+                .orElseGet(() -> countFacets(specification));
+    }
+    
+    /**
+     * Facettes calculées en base : une requête groupée par catégorie, une par éditeur, puis une seule
+     * ligne de sommes conditionnelles pour les tranches de prix, de durée et les nombres de joueurs
+     */
+    private Map<String, Map<String, Long>> countFacets(Specification<Game> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Map<Long, Long> categories = countGroupedBy(specification, "category");
+        Map<Long, Long> publishers = countGroupedBy(specification, "publisher");
         
-        // Filtrage par prix
-        if (searchDTO.getMinPrice() != null) {
-            games = games.stream()
-                    .filter(game -> game.getPrix().compareTo(searchDTO.getMinPrice()) >= 0)
-                    .collect(Collectors.toList());
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Game> root = query.from(Game.class);
+        List<Expression<?>> sums = new ArrayList<>();
+        sums.add(cb.count(root));
+        for (long bound : CatalogSnapshot.PRICE_BUCKETS_CENTS) {
+            sums.add(countIf(cb, cb.lessThanOrEqualTo(root.get("prix"), BigDecimal.valueOf(bound, 2))));
         }
-        
-        if (searchDTO.getMaxPrice() != null) {
-            games = games.stream()
-                    .filter(game -> game.getPrix().compareTo(searchDTO.getMaxPrice()) <= 0)
-                    .collect(Collectors.toList());
+        for (long bound : CatalogSnapshot.DURATION_BUCKETS_MINUTES) {
+            sums.add(countIf(cb, cb.lessThanOrEqualTo(root.get("dureePartieMinutes"), (int) bound)));
         }
-        
-        // Filtrage par âge
-        if (searchDTO.getMinAge() != null) {
-            games = games.stream()
-                    .filter(game -> game.getAgeMinimum() >= searchDTO.getMinAge())
-                    .collect(Collectors.toList());
+        // Un jeu compte pour chaque nombre de joueurs qu'il accepte ; la dernière valeur vaut "6 et plus"
+        for (int players = 1; players <= CatalogSnapshot.MAX_PLAYER_FACET; players++) {
+            sums.add(countIf(cb, cb.and(
+                    cb.lessThanOrEqualTo(root.get("nombreJoueursMin"), players),
+                    cb.greaterThanOrEqualTo(root.get("nombreJoueursMax"), players))));
         }
+        query.multiselect(sums.toArray(Expression[]::new));
+        restrict(query, root, cb, specification);
+        Object[] row = entityManager.createQuery(query).getSingleResult();
         
-        // Filtrage par nombre de joueurs
-        if (searchDTO.getMinPlayers() != null && searchDTO.getMaxPlayers() != null) {
-            games = games.stream()
-                    .filter(game -> game.getNombreJoueursMin() <= searchDTO.getMinPlayers() &&
-                            game.getNombreJoueursMax() >= searchDTO.getMaxPlayers())
-                    .collect(Collectors.toList());
+        long total = toLong(row[0]);
+        int column = 1;
+        long[] priceCounts = cumulativeToBuckets(row, column, CatalogSnapshot.PRICE_BUCKETS_CENTS.length, total);
+        column += CatalogSnapshot.PRICE_BUCKETS_CENTS.length;
+        long[] durationCounts = cumulativeToBuckets(row, column, CatalogSnapshot.DURATION_BUCKETS_MINUTES.length, total);
+        column += CatalogSnapshot.DURATION_BUCKETS_MINUTES.length;
+        long[] playerCounts = new long[CatalogSnapshot.MAX_PLAYER_FACET + 1];
+        for (int players = 1; players <= CatalogSnapshot.MAX_PLAYER_FACET; players++) {
+            playerCounts[players] = toLong(row[column++]);
         }
-        
-        // Filtrage par durée
-        if (searchDTO.getMaxDuration() != null) {
-            games = games.stream()
-                    .filter(game -> game.getDureePartieMinutes() <= searchDTO.getMaxDuration())
-                    .collect(Collectors.toList());
+        return CatalogSnapshot.toFacets(categories, publishers, priceCounts, playerCounts, durationCounts);
+    }
+    
+    private Map<Long, Long> countGroupedBy(Specification<Game> specification, String reference) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Game> root = query.from(Game.class);
+        Path<Long> referenceId = root.join(reference).get("id");
+        query.multiselect(referenceId, cb.count(root)).groupBy(referenceId);
+        restrict(query, root, cb, specification);
+        Map<Long, Long> counts = new TreeMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            counts.put((Long) row[0], toLong(row[1]));
+        }
+        return counts;
+    }
+    
+    // Sans aucun critère renseigné, la spécification ne produit pas de prédicat
+    private static void restrict(CriteriaQuery<?> query, Root<Game> root, CriteriaBuilder cb, Specification<Game> specification) {
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+    
+    private static Expression<Integer> countIf(CriteriaBuilder cb, Predicate condition) {
+        return cb.sum(cb.<Integer>selectCase().when(condition, 1).otherwise(0));
+    }
+    
+    // Les sommes "valeur <= borne" deviennent des comptes par tranche ; la dernière tranche est ouverte
+    private static long[] cumulativeToBuckets(Object[] row, int from, int bounds, long total) {
+        long[] counts = new long[bounds + 1];
+        long previous = 0;
+        for (int i = 0; i < bounds; i++) {
+            long cumulative = toLong(row[from + i]);
+            counts[i] = cumulative - previous;
+            previous = cumulative;
+        }
+        counts[bounds] = total - previous;
+        return counts;
+    }
+    
+    // SUM renvoie null lorsqu'aucun jeu ne correspond
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+    
+    private List<Long> findMatchingIds(Specification<Game> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Game> root = query.from(Game.class);
+        query.select(root.get("id"));
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
         }
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    /**
+     * Recherche plein texte classée par pertinence via l'index en mémoire.
+     * Tant que l'index n'est pas construit, la recherche est déléguée à la base de données.
+     */
+    @Transactional(readOnly = true)
+    public Page<GameDTO> searchGamesByText(String keyword, int page, int size) {
+        log.info("Recherche plein texte de jeux: {}", keyword);
         
-        // Filtrage par disponibilité
-        if (searchDTO.getDisponible() != null) {
-            games = games.stream()
-                    .filter(game -> game.isDisponible() == searchDTO.getDisponible())
-                    .collect(Collectors.toList());
+        GameSearchDTO searchDTO = GameSearchDTO.builder().keyword(keyword).page(page).size(size).build();
+        Pageable pageable = toPageable(searchDTO);
+        if (keyword == null || keyword.isBlank() || !gameSearchIndex.isReady()) {
+            return searchGames(searchDTO);
         }
         
-        return games.stream().map(this::convertToDTO).collect(Collectors.toList());
+        GameSearchIndex.SearchResult result = gameSearchIndex.search(keyword, pageable.getPageNumber(), pageable.getPageSize());
+        return new PageImpl<>(getGamesByIds(result.gameIds()), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), result.totalHits());
     }
     
     public GameDTO createGame(GameDTO gameDTO) {
@@ -137,6 +348,7 @@ public class GameService {
                 .build();
         inventoryRepository.save(inventory);
         
+        eventPublisher.publishEvent(new GameCatalogEvent(savedGame.getId(), GameCatalogEvent.Type.CREATED));
         return convertToDTO(savedGame);
     }
     
@@ -146,6 +358,7 @@ public class GameService {
         return gameRepository.findById(id).map(existingGame -> {
             updateGameFromDTO(existingGame, gameDTO);
             Game updatedGame = gameRepository.save(existingGame);
+            eventPublisher.publishEvent(new GameCatalogEvent(id, GameCatalogEvent.Type.UPDATED));
             return convertToDTO(updatedGame);
         });
     }
@@ -155,46 +368,131 @@ public class GameService {
         
         if (gameRepository.existsById(id)) {
             gameRepository.deleteById(id);
+            gameRatingStatsRepository.deleteById(id);
+            eventPublisher.publishEvent(new GameCatalogEvent(id, GameCatalogEvent.Type.DELETED));
             return true;
         }
         return false;
     }
     
+    @Coalesced("games.byCategory")
+    @Cacheable(cacheNames = CacheConfig.GAME_LISTS_CACHE, key = "'category:' + #categoryId")
+    @Transactional(readOnly = true)
     public List<GameDTO> getGamesByCategory(Long categoryId) {
         log.info("Récupération des jeux de la catégorie: {}", categoryId);
-        return gameRepository.findByCategoryId(categoryId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(gameRepository.findByCategoryId(categoryId));
     }
     
+    @Coalesced("games.byPublisher")
+    @Cacheable(cacheNames = CacheConfig.GAME_LISTS_CACHE, key = "'publisher:' + #publisherId")
+    @Transactional(readOnly = true)
     public List<GameDTO> getGamesByPublisher(Long publisherId) {
         log.info("Récupération des jeux de l'éditeur: {}", publisherId);
-        return gameRepository.findByPublisherId(publisherId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(gameRepository.findByPublisherId(publisherId));
     }
     
+    @Transactional(readOnly = true)
     public List<GameDTO> getGamesByAuthor(String authorName) {
         log.info("Récupération des jeux de l'auteur: {}", authorName);
-        return gameRepository.findByAuthorName(authorName).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(gameRepository.findByAuthorName(authorName));
     }
     
+    @Transactional(readOnly = true)
     public List<GameDTO> getGamesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         log.info("Récupération des jeux dans la fourchette de prix: {} - {}", minPrice, maxPrice);
-        return gameRepository.findByPrixBetween(minPrice, maxPrice).stream()
-                .map(this::convertToDTO)
+        return convertToDTOs(gameRepository.findByPrixBetween(minPrice, maxPrice));
+    }
+    
+    /**
+     * Récupère les jeux les mieux notés à partir des agrégats précalculés
+     */
+    @Coalesced("games.topRated")
+    @Cacheable(cacheNames = CacheConfig.GAME_LISTS_CACHE, key = "'top:' + #limit + ':' + #minReviews")
+    @Transactional(readOnly = true)
+    public List<GameDTO> getTopRatedGames(int limit, long minReviews) {
+        log.info("Récupération des {} jeux les mieux notés", limit);
+        // Au moins un avis : la moyenne d'un jeu sans note n'est pas définie
+        List<Long> ids = gameRatingStatsRepository
+                .findTopRated(Math.max(minReviews, 1), PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)))
+                .stream()
+                .map(GameRatingStats::getGameId)
                 .collect(Collectors.toList());
+        return getGamesByIds(ids);
     }
     
     public long getAvailableGamesCount() {
         return gameRepository.countAvailableGames();
     }
     
+    private Pageable toPageable(GameSearchDTO searchDTO) {
+        int page = searchDTO.getPage() != null ? Math.max(searchDTO.getPage(), 0) : 0;
+        int size = searchDTO.getSize() != null ? Math.min(Math.max(searchDTO.getSize(), 1), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        
+        String property = switch (searchDTO.getSortBy() != null ? searchDTO.getSortBy() : "nom") {
+            case "prix" -> "prix";
+            case "date" -> "id"; // pas de date de création sur Game : l'ID suit l'ordre d'insertion
+            default -> "nom";
+        };
+        Sort.Direction direction = "DESC".equalsIgnoreCase(searchDTO.getSortDirection())
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        // Tri secondaire sur l'ID pour garantir un ordre stable entre les pages
+        return PageRequest.of(page, size, Sort.by(direction, property).and(Sort.by("id")));
+    }
+    
+    // Curseur opaque : "id:nom" encodé en Base64 URL
+    private static String encodeCursor(Game game) {
+        String key = game.getId() + ":" + game.getNom();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            Long.parseLong(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide: " + cursor);
+        }
+    }
+    
     // Méthodes de conversion
     private GameDTO convertToDTO(Game game) {
-        GameDTO dto = GameDTO.builder()
+        return convertToDTOs(List.of(game)).get(0);
+    }
+    
+    private Page<GameDTO> convertToDTOPage(Page<Game> page) {
+        return new PageImpl<>(convertToDTOs(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+    
+    /**
+     * Conversion groupée d'une liste de jeux : les catégories, éditeurs, auteurs,
+     * statistiques d'avis et stocks sont chargés en un nombre fixe de requêtes
+     * ensemblistes (par tranche d'IDs) au lieu de plusieurs requêtes par jeu.
+     */
+    List<GameDTO> convertToDTOs(List<Game> games) {
+        Map<Long, GameDTO> dtosById = new LinkedHashMap<>();
+        for (Game game : games) {
+            dtosById.computeIfAbsent(game.getId(), id -> convertScalarFields(game));
+        }
+        
+        List<Long> gameIds = new ArrayList<>(dtosById.keySet());
+        for (int from = 0; from < gameIds.size(); from += HYDRATION_CHUNK_SIZE) {
+            List<Long> chunk = gameIds.subList(from, Math.min(from + HYDRATION_CHUNK_SIZE, gameIds.size()));
+            hydrate(chunk, dtosById);
+        }
+        
+        return games.stream()
+                .map(game -> dtosById.get(game.getId()))
+                .collect(Collectors.toList());
+    }
+    
+    private GameDTO convertScalarFields(Game game) {
+        return GameDTO.builder()
                 .id(game.getId())
                 .nom(game.getNom())
                 .description(game.getDescription())
@@ -205,43 +503,45 @@ public class GameService {
                 .nombreJoueursMax(game.getNombreJoueursMax())
                 .dureePartieMinutes(game.getDureePartieMinutes())
                 .disponible(game.isDisponible())
+                .numberOfReviews(0L)
                 .build();
-        
-        // Ajout des informations de catégorie
-        if (game.getCategory() != null) {
-            dto.setCategoryId(game.getCategory().getId());
-            dto.setCategoryType(game.getCategory().getType());
-        }
-        
-        // Ajout des informations d'éditeur
-        if (game.getPublisher() != null) {
-            dto.setPublisherId(game.getPublisher().getId());
-            dto.setPublisherName(game.getPublisher().getName());
+    }
+    
+    private void hydrate(Collection<Long> gameIds, Map<Long, GameDTO> dtosById) {
+        // Ajout des informations de catégorie et d'éditeur
+        for (Object[] row : gameRepository.findCategoryAndPublisherByGameIds(gameIds)) {
+            GameDTO dto = dtosById.get((Long) row[0]);
+            dto.setCategoryId((Long) row[1]);
+            dto.setCategoryType((String) row[2]);
+            dto.setPublisherId((Long) row[3]);
+            dto.setPublisherName((String) row[4]);
         }
         
         // Ajout des informations d'auteurs
-        if (game.getAuthors() != null && !game.getAuthors().isEmpty()) {
-            Set<Long> authorIds = game.getAuthors().stream()
-                    .map(Author::getId)
-                    .collect(Collectors.toSet());
-            Set<String> authorNames = game.getAuthors().stream()
-                    .map(Author::getName)
-                    .collect(Collectors.toSet());
-            dto.setAuthorIds(authorIds);
-            dto.setAuthorNames(authorNames);
+        Map<Long, Set<Long>> authorIds = new HashMap<>();
+        Map<Long, Set<String>> authorNames = new HashMap<>();
+        for (Object[] row : gameRepository.findAuthorsByGameIds(gameIds)) {
+            Long gameId = (Long) row[0];
+            authorIds.computeIfAbsent(gameId, id -> new HashSet<>()).add((Long) row[1]);
+            authorNames.computeIfAbsent(gameId, id -> new HashSet<>()).add((String) row[2]);
         }
+        authorIds.forEach((gameId, ids) -> {
+            GameDTO dto = dtosById.get(gameId);
+            dto.setAuthorIds(ids);
+            dto.setAuthorNames(authorNames.get(gameId));
+        });
         
-        // Ajout des statistiques d'avis
-        Double avgRating = avisRepository.getAverageRatingByGameId(game.getId());
-        Long numberOfReviews = avisRepository.countApprovedByGameId(game.getId());
-        dto.setAverageRating(avgRating);
-        dto.setNumberOfReviews(numberOfReviews);
+        // Ajout des statistiques d'avis (agrégats précalculés)
+        for (GameRatingStats stats : gameRatingStatsRepository.findAllById(gameIds)) {
+            GameDTO dto = dtosById.get(stats.getGameId());
+            dto.setAverageRating(stats.getAverageRating());
+            dto.setNumberOfReviews(stats.getRatingCount());
+        }
         
         // Ajout des informations de stock
-        Optional<Inventory> inventory = inventoryRepository.findByGameId(game.getId());
-        inventory.ifPresent(inv -> dto.setStock(inv.getStock()));
-        
-        return dto;
+        for (Object[] row : inventoryRepository.findStockByGameIds(gameIds)) {
+            dtosById.get((Long) row[0]).setStock((Integer) row[1]);
+        }
     }
     
     private Game convertToEntity(GameDTO dto) {
@@ -0,0 +1,233 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Jeux similaires : les K plus proches voisins de chaque jeu, par similarité cosinus entre jeux
+ * achetés (commandes non annulées) ou notés par les mêmes utilisateurs :
+ * co(a, b) / √(n(a) × n(b)). Les co-occurrences sont tenues à jour utilisateur par utilisateur
+ * à chaque interaction ; la lecture des voisins d'un jeu est celle d'un tableau précalculé.
+ */
+@Component
+@Slf4j
+public class GameSimilarityService {
+
+    private final PurchaseRepository purchaseRepository;
+    private final AvisRepository avisRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int neighbours;
+
+    // Co-occurrences, modifiées uniquement sous le verrou de l'instance
+    private final Map<Long, Set<Long>> gamesByUser = new HashMap<>();
+    private final Map<Long, Map<Long, Integer>> coOccurrences = new HashMap<>();
+    private final Map<Long, Integer> userCounts = new HashMap<>();
+
+    private final Set<Long> pendingUserIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-similarity");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Voisins publiés, du plus proche au moins proche ; un tableau n'est jamais modifié après publication
+    private final Map<Long, long[]> neighboursByGame = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public GameSimilarityService(PurchaseRepository purchaseRepository, AvisRepository avisRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${gamesup.similarity.neighbours:20}") int neighbours) {
+        this.purchaseRepository = purchaseRepository;
+        this.avisRepository = avisRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.neighbours = neighbours;
+    }
+
+    /**
+     * Jeux les plus proches d'un jeu ; absent tant que le premier calcul n'est pas terminé
+     */
+    public Optional<List<Long>> similarGames(Long gameId, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        long[] similar = neighboursByGame.getOrDefault(gameId, new long[0]);
+        List<Long> result = new ArrayList<>(Math.min(limit, similar.length));
+        for (int i = 0; i < similar.length && i < limit; i++) {
+            result.add(similar[i]);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Recalcule toutes les co-occurrences (au démarrage puis chaque nuit)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${gamesup.similarity.rebuild-cron:0 45 3 * * *}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, Set<Long>> loaded = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object[] row : purchaseRepository.findPurchasedUserGamePairs()) {
+                loaded.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+            }
+            for (Object[] row : avisRepository.findAllUserGameNotes()) {
+                loaded.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+            }
+        });
+        gamesByUser.clear();
+        coOccurrences.clear();
+        userCounts.clear();
+        loaded.forEach(this::applyUserGames);
+        // Les voisins sont remplacés jeu par jeu : la lecture ne voit jamais de table vide
+        coOccurrences.keySet().forEach(this::publishNeighbours);
+        neighboursByGame.keySet().retainAll(coOccurrences.keySet());
+        ready = true;
+        log.info("Similarités entre jeux calculées: {} jeux, {} utilisateurs en {} ms",
+                coOccurrences.size(), gamesByUser.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recharge les jeux de quelques utilisateurs et ne met à jour que les co-occurrences
+     * qui changent. Les voisins des jeux ajoutés ou retirés sont recalculés, ainsi que ceux
+     * des jeux dont une co-occurrence a changé ; pour les autres jeux, le score d'un voisin
+     * dont le nombre d'utilisateurs a changé est corrigé par le calcul nocturne.
+     */
+    public synchronized void refreshUsers(Collection<Long> userIds) {
+        Map<Long, Set<Long>> reloaded = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long userId : userIds) {
+                Set<Long> games = new HashSet<>(purchaseRepository.findPurchasedGameIdsByUserId(userId));
+                games.addAll(avisRepository.findRatedGameIdsByUserId(userId));
+                reloaded.put(userId, games);
+            }
+        });
+        Set<Long> affected = new HashSet<>();
+        reloaded.forEach((userId, games) -> affected.addAll(applyUserGames(userId, games)));
+        affected.forEach(this::publishNeighbours);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserInteraction(UserInteractionEvent event) {
+        pendingUserIds.add(event.userId());
+        if (updatePending.compareAndSet(false, true)) {
+            updateExecutor.execute(() -> {
+                updatePending.set(false);
+                List<Long> batch = new ArrayList<>(pendingUserIds);
+                pendingUserIds.removeAll(batch);
+                try {
+                    refreshUsers(batch);
+                } catch (RuntimeException e) {
+                    log.error("Erreur lors de la mise à jour des similarités entre jeux: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateExecutor.shutdownNow();
+    }
+
+    /**
+     * Remplace les jeux d'un utilisateur : chaque jeu retiré (puis ajouté) décrémente (puis incrémente)
+     * sa co-occurrence avec les jeux restants. Retourne les jeux dont les voisins doivent être recalculés.
+     */
+    private Set<Long> applyUserGames(Long userId, Set<Long> games) {
+        Set<Long> current = gamesByUser.computeIfAbsent(userId, id -> new HashSet<>());
+        Set<Long> affected = new HashSet<>();
+        for (Long removed : new ArrayList<>(current)) {
+            if (!games.contains(removed)) {
+                current.remove(removed);
+                for (Long other : current) {
+                    addCoOccurrence(removed, other, -1);
+                }
+                userCounts.merge(removed, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+                affected.add(removed);
+                affected.addAll(current);
+            }
+        }
+        for (Long added : games) {
+            if (current.add(added)) {
+                for (Long other : current) {
+                    if (!other.equals(added)) {
+                        addCoOccurrence(added, other, 1);
+                    }
+                }
+                userCounts.merge(added, 1, Integer::sum);
+                affected.addAll(current);
+            }
+        }
+        if (current.isEmpty()) {
+            gamesByUser.remove(userId);
+        }
+        return affected;
+    }
+
+    private void addCoOccurrence(Long first, Long second, int delta) {
+        increment(first, second, delta);
+        increment(second, first, delta);
+    }
+
+    private void increment(Long game, Long other, int delta) {
+        Map<Long, Integer> row = coOccurrences.computeIfAbsent(game, id -> new HashMap<>());
+        if (row.merge(other, delta, Integer::sum) <= 0) {
+            row.remove(other);
+        }
+    }
+
+    /**
+     * Publie les K voisins d'un jeu, obtenus par un tas borné sur sa ligne de co-occurrences
+     */
+    private void publishNeighbours(Long gameId) {
+        Map<Long, Integer> row = coOccurrences.getOrDefault(gameId, Map.of());
+        int gameUsers = userCounts.getOrDefault(gameId, 0);
+        if (row.isEmpty() || gameUsers <= 0) {
+            neighboursByGame.remove(gameId);
+            return;
+        }
+        // Tas minimum : la racine est le moins proche des voisins retenus (à score égal, le plus grand ID)
+        PriorityQueue<Neighbour> heap = new PriorityQueue<>(neighbours + 1, (a, b) -> a.score() != b.score()
+                ? Double.compare(a.score(), b.score())
+                : Long.compare(b.gameId(), a.gameId()));
+        row.forEach((other, count) -> {
+            heap.add(new Neighbour(other, count / Math.sqrt((double) gameUsers * userCounts.get(other))));
+            if (heap.size() > neighbours) {
+                heap.poll();
+            }
+        });
+        long[] similar = new long[heap.size()];
+        for (int i = similar.length - 1; i >= 0; i--) {
+            similar[i] = heap.poll().gameId();
+        }
+        neighboursByGame.put(gameId, similar);
+    }
+
+    private record Neighbour(long gameId, double score) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
+import com.gamesUP.gamesUP.model.InteractionChange;
+import com.gamesUP.gamesUP.repository.InteractionChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inscrit chaque interaction modifiée au journal lu par l'export des données d'entraînement.
+ * L'écriture a lieu avant la validation, dans la transaction de la modification : le journal
+ * ne peut ni manquer une modification validée, ni en contenir une annulée.
+ */
+@Component
+@RequiredArgsConstructor
+public class InteractionChangeRecorder {
+
+    private final InteractionChangeRepository changeRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserInteraction(UserInteractionEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        changeRepository.saveAll(event.gameIds().stream()
+                .map(gameId -> InteractionChange.builder()
+                        .userId(event.userId())
+                        .gameId(gameId)
+                        .changedAt(now)
+                        .build())
+                .toList());
+    }
+}
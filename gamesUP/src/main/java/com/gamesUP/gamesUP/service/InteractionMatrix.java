@@ -0,0 +1,354 @@
+package com.gamesUP.gamesUP.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Matrice immuable des interactions utilisateur × jeu, stockée en lignes compressées (CSR)
+ * dans des tableaux primitifs, avec sa transposée (CSC) pour parcourir un jeu par colonne.
+ * Les voisins les plus proches sont obtenus par similarité cosinus : seuls les produits scalaires
+ * non nuls sont calculés, en parcourant les colonnes (ou lignes) du vecteur cible, et ce calcul est
+ * réparti par tranches disjointes d'indices sur un {@link ForkJoinPool}.
+ */
+public final class InteractionMatrix {
+
+    private final long[] userIds;
+    private final long[] gameIds;
+    private final Compressed byUser;
+    private final Compressed byGame;
+
+    private InteractionMatrix(long[] userIds, long[] gameIds, Compressed byUser, Compressed byGame) {
+        this.userIds = userIds;
+        this.gameIds = gameIds;
+        this.byUser = byUser;
+        this.byGame = byGame;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int gameCount() {
+        return gameIds.length;
+    }
+
+    public int nonZeros() {
+        return byUser.indices.length;
+    }
+
+    /**
+     * IDs des utilisateurs présents dans la matrice, triés par ordre croissant
+     */
+    public long[] userIds() {
+        return userIds.clone();
+    }
+
+    /**
+     * Jeux recommandés à un utilisateur : score = somme des interactions de ses {@code neighbours} plus
+     * proches voisins, pondérées par leur similarité. Les jeux déjà connus de l'utilisateur sont exclus ;
+     * liste vide pour un utilisateur absent de la matrice.
+     */
+    public List<Long> recommendForUser(long userId, int neighbours, int limit, ForkJoinPool pool) {
+        int user = Arrays.binarySearch(userIds, userId);
+        if (user < 0) {
+            return List.of();
+        }
+        int[] games = recommendedGames(user, neighbours, limit,
+                new float[userIds.length], new float[gameIds.length], pool);
+        return toIds(gameIds, games);
+    }
+
+    /**
+     * Recommandations de tous les utilisateurs, dans l'ordre de {@link #userIds()}. Les utilisateurs
+     * sont répartis récursivement entre les tâches du pool ; chaque tâche traite ses utilisateurs
+     * un par un, sans parallélisme interne, en réutilisant ses tableaux de travail.
+     */
+    public long[][] recommendForAllUsers(int neighbours, int limit, ForkJoinPool pool) {
+        long[][] recommendations = new long[userIds.length][];
+        pool.invoke(new AllUsersTask(0, userIds.length, neighbours, limit, recommendations));
+        return recommendations;
+    }
+
+    private final class AllUsersTask extends RecursiveAction {
+
+        private static final int USERS_PER_TASK = 64;
+
+        private final int from;
+        private final int to;
+        private final int neighbours;
+        private final int limit;
+        private final long[][] recommendations;
+
+        private AllUsersTask(int from, int to, int neighbours, int limit, long[][] recommendations) {
+            this.from = from;
+            this.to = to;
+            this.neighbours = neighbours;
+            this.limit = limit;
+            this.recommendations = recommendations;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > USERS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AllUsersTask(from, middle, neighbours, limit, recommendations),
+                        new AllUsersTask(middle, to, neighbours, limit, recommendations));
+                return;
+            }
+            float[] similarities = new float[userIds.length];
+            float[] scores = new float[gameIds.length];
+            for (int user = from; user < to; user++) {
+                int[] games = recommendedGames(user, neighbours, limit, similarities, scores, null);
+                long[] ids = new long[games.length];
+                for (int i = 0; i < games.length; i++) {
+                    ids[i] = gameIds[games[i]];
+                }
+                recommendations[user] = ids;
+            }
+        }
+    }
+
+    /**
+     * Positions des jeux recommandés à l'utilisateur d'indice {@code user}. Les tableaux de travail
+     * sont remis à zéro avant usage ; sans pool, la similarité est calculée dans le thread appelant.
+     */
+    private int[] recommendedGames(int user, int neighbours, int limit, float[] similarities, float[] scores,
+                                   ForkJoinPool pool) {
+        cosineSimilarities(byUser, byGame, user, similarities, pool);
+        int[] nearest = topIndices(similarities, neighbours, other -> other != user && similarities[other] > 0);
+
+        Arrays.fill(scores, 0);
+        for (int neighbour : nearest) {
+            for (int k = byUser.offsets[neighbour]; k < byUser.offsets[neighbour + 1]; k++) {
+                scores[byUser.indices[k]] += similarities[neighbour] * byUser.values[k];
+            }
+        }
+        for (int k = byUser.offsets[user]; k < byUser.offsets[user + 1]; k++) {
+            scores[byUser.indices[k]] = 0;
+        }
+        return topIndices(scores, limit, game -> scores[game] > 0);
+    }
+
+    /**
+     * Jeux les plus proches d'un jeu donné, par similarité cosinus entre colonnes
+     * (utilisateurs ayant interagi avec les deux jeux)
+     */
+    public List<Long> similarGames(long gameId, int limit, ForkJoinPool pool) {
+        int game = Arrays.binarySearch(gameIds, gameId);
+        if (game < 0) {
+            return List.of();
+        }
+        float[] similarities = cosineSimilarities(byGame, byUser, game, new float[gameIds.length], pool);
+        return toIds(gameIds, topIndices(similarities, limit, other -> other != game && similarities[other] > 0));
+    }
+
+    /**
+     * Similarité cosinus entre le vecteur {@code target} de {@code rows} et tous les autres vecteurs
+     * de même nature. Pour chaque entrée non nulle de la cible, on parcourt le vecteur correspondant
+     * de {@code columns} : chaque tâche ne traite que sa tranche d'indices et écrit donc dans
+     * une zone disjointe du tableau résultat {@code dots}, remis à zéro au préalable.
+     * Sans pool, tout le calcul se fait dans le thread appelant.
+     */
+    private static float[] cosineSimilarities(Compressed rows, Compressed columns, int target, float[] dots,
+                                              ForkJoinPool pool) {
+        int dimension = dots.length;
+        Arrays.fill(dots, 0);
+        if (pool == null) {
+            accumulateDots(rows, columns, target, 0, dimension, dots);
+        } else {
+            int tasks = Math.max(1, Math.min(pool.getParallelism(), dimension / 1024 + 1));
+            int sliceSize = (dimension + tasks - 1) / tasks;
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(task -> {
+                int from = task * sliceSize;
+                accumulateDots(rows, columns, target, from, Math.min(dimension, from + sliceSize), dots);
+            })).join();
+        }
+
+        float targetNorm = rows.norms[target];
+        for (int other = 0; other < dimension; other++) {
+            if (dots[other] != 0) {
+                dots[other] /= targetNorm * rows.norms[other];
+            }
+        }
+        return dots;
+    }
+
+    private static void accumulateDots(Compressed rows, Compressed columns, int target, int from, int to,
+                                       float[] dots) {
+        for (int k = rows.offsets[target]; k < rows.offsets[target + 1]; k++) {
+            int column = rows.indices[k];
+            float weight = rows.values[k];
+            int end = columns.offsets[column + 1];
+            for (int p = lowerBound(columns.indices, columns.offsets[column], end, from);
+                 p < end && columns.indices[p] < to; p++) {
+                dots[columns.indices[p]] += weight * columns.values[p];
+            }
+        }
+    }
+
+    /**
+     * Indices des {@code limit} plus grands scores éligibles, par score décroissant puis indice croissant
+     */
+    private static int[] topIndices(float[] scores, int limit, IntPredicate eligible) {
+        if (limit <= 0) {
+            return new int[0];
+        }
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> scores[a] != scores[b]
+                ? Float.compare(scores[a], scores[b])
+                : Integer.compare(b, a));
+        for (int i = 0; i < scores.length; i++) {
+            if (eligible.test(i)) {
+                heap.add(i);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        }
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private static int lowerBound(int[] sorted, int from, int to, int key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static List<Long> toIds(long[] ids, int[] positions) {
+        List<Long> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(ids[position]);
+        }
+        return result;
+    }
+
+    /**
+     * Vecteurs creux compressés : les entrées du vecteur i occupent [offsets[i], offsets[i + 1])
+     * dans indices (triés) et values ; norms[i] est la norme euclidienne du vecteur
+     */
+    private record Compressed(int[] offsets, int[] indices, float[] values, float[] norms) {
+    }
+
+    /**
+     * Accumule les interactions avant compression. Un couple (utilisateur, jeu) ne garde
+     * qu'une valeur : la plus forte des interactions implicites, sauf si une note explicite l'a fixée.
+     */
+    public static final class Builder {
+
+        private final Map<Long, Map<Long, float[]>> interactions = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Interaction implicite (achat, liste de souhaits) : conserve le poids le plus fort
+         */
+        public Builder add(long userId, long gameId, float weight) {
+            float[] cell = cell(userId, gameId);
+            if (cell[1] == 0) {
+                cell[0] = Math.max(cell[0], weight);
+            }
+            return this;
+        }
+
+        /**
+         * Note explicite : remplace les interactions implicites du couple
+         */
+        public Builder rate(long userId, long gameId, float rating) {
+            float[] cell = cell(userId, gameId);
+            cell[0] = rating;
+            cell[1] = 1;
+            return this;
+        }
+
+        // cell[0] = valeur, cell[1] = 1 si la valeur provient d'une note explicite
+        private float[] cell(long userId, long gameId) {
+            return interactions.computeIfAbsent(userId, id -> new HashMap<>())
+                    .computeIfAbsent(gameId, id -> new float[2]);
+        }
+
+        public InteractionMatrix build() {
+            long[] userIds = interactions.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            long[] gameIds = interactions.values().stream()
+                    .flatMap(row -> row.keySet().stream())
+                    .mapToLong(Long::longValue).distinct().sorted().toArray();
+
+            int[] rowOffsets = new int[userIds.length + 1];
+            for (int user = 0; user < userIds.length; user++) {
+                Map<Long, float[]> row = interactions.get(userIds[user]);
+                rowOffsets[user + 1] = rowOffsets[user] + row.size();
+            }
+            int nonZeros = rowOffsets[userIds.length];
+            int[] columns = new int[nonZeros];
+            float[] values = new float[nonZeros];
+            for (int user = 0; user < userIds.length; user++) {
+                Map<Long, float[]> row = interactions.get(userIds[user]);
+                int[] positions = row.keySet().stream()
+                        .mapToInt(gameId -> Arrays.binarySearch(gameIds, gameId)).sorted().toArray();
+                for (int k = 0; k < positions.length; k++) {
+                    columns[rowOffsets[user] + k] = positions[k];
+                    values[rowOffsets[user] + k] = row.get(gameIds[positions[k]])[0];
+                }
+            }
+            Compressed byUser = new Compressed(rowOffsets, columns, values, norms(rowOffsets, values));
+            return new InteractionMatrix(userIds, gameIds, byUser, transpose(byUser, gameIds.length));
+        }
+
+        // Les lignes étant parcourues dans l'ordre, les indices de chaque colonne sont triés
+        private static Compressed transpose(Compressed rows, int columnCount) {
+            int[] offsets = new int[columnCount + 1];
+            for (int column : rows.indices) {
+                offsets[column + 1]++;
+            }
+            for (int column = 0; column < columnCount; column++) {
+                offsets[column + 1] += offsets[column];
+            }
+            int[] next = Arrays.copyOf(offsets, columnCount);
+            int[] indices = new int[rows.indices.length];
+            float[] values = new float[rows.values.length];
+            for (int row = 0; row < rows.offsets.length - 1; row++) {
+                for (int k = rows.offsets[row]; k < rows.offsets[row + 1]; k++) {
+                    int slot = next[rows.indices[k]]++;
+                    indices[slot] = row;
+                    values[slot] = rows.values[k];
+                }
+            }
+            return new Compressed(offsets, indices, values, norms(offsets, values));
+        }
+
+        private static float[] norms(int[] offsets, float[] values) {
+            float[] norms = new float[offsets.length - 1];
+            for (int i = 0; i < norms.length; i++) {
+                double sum = 0;
+                for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                    sum += (double) values[k] * values[k];
+                }
+                norms[i] = (float) Math.sqrt(sum);
+            }
+            return norms;
+        }
+    }
+}
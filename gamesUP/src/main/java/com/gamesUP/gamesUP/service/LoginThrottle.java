@@ -0,0 +1,124 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limitation des tentatives de connexion, appliquée avant toute lecture en base ou tout hachage :
+ * par compte, le nombre d'échecs sur une fenêtre (un succès la remet à zéro) ; par adresse IP,
+ * le nombre de tentatives sur une fenêtre, quel que soit le compte visé. Chaque tentative est
+ * réservée comme un échec dès son acquisition, ce qui borne aussi les tentatives simultanées
+ * sur un même compte ; un succès ou une tentative sans verdict la libère. Les fenêtres sont
+ * fixes et commencent à la première tentative comptée ; les compteurs sont bornés en nombre.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Ticker ticker;
+    private final int maxAccountFailures;
+    private final long accountWindowNanos;
+    private final int maxIpAttempts;
+    private final long ipWindowNanos;
+    private final Cache<String, Window> accountFailures;
+    private final Cache<String, Window> ipAttempts;
+    private final Counter accountThrottled;
+    private final Counter ipThrottled;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${gamesup.auth.throttle.account.max-failures:5}") int maxAccountFailures,
+                         @Value("${gamesup.auth.throttle.account.window:15m}") Duration accountWindow,
+                         @Value("${gamesup.auth.throttle.ip.max-attempts:20}") int maxIpAttempts,
+                         @Value("${gamesup.auth.throttle.ip.window:1m}") Duration ipWindow,
+                         @Value("${gamesup.auth.throttle.maximum-size:100000}") long maximumSize) {
+        this(meterRegistry, maxAccountFailures, accountWindow, maxIpAttempts, ipWindow, maximumSize,
+                Ticker.systemTicker());
+    }
+
+    LoginThrottle(MeterRegistry meterRegistry, int maxAccountFailures, Duration accountWindow,
+                  int maxIpAttempts, Duration ipWindow, long maximumSize, Ticker ticker) {
+        this.ticker = ticker;
+        this.maxAccountFailures = maxAccountFailures;
+        this.accountWindowNanos = accountWindow.toNanos();
+        this.maxIpAttempts = maxIpAttempts;
+        this.ipWindowNanos = ipWindow.toNanos();
+        // L'entrée n'est écrite qu'à l'ouverture de la fenêtre : elle expire avec elle
+        this.accountFailures = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(accountWindow)
+                .ticker(ticker)
+                .build();
+        this.ipAttempts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ipWindow)
+                .ticker(ticker)
+                .build();
+        this.accountThrottled = throttledCounter(meterRegistry, "account");
+        this.ipThrottled = throttledCounter(meterRegistry, "ip");
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Tentatives de connexion refusées avant vérification du mot de passe")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compte une tentative pour l'adresse IP et en réserve une pour le compte ; refuse si l'un
+     * ou l'autre a atteint sa limite. La réservation vaut échec tant qu'elle n'est pas libérée.
+     */
+    public void acquire(String email, String clientIp) {
+        if (clientIp != null) {
+            Window attempts = ipAttempts.get(clientIp, ip -> new Window(new AtomicInteger(), ticker.read()));
+            if (attempts.count().incrementAndGet() > maxIpAttempts) {
+                ipThrottled.increment();
+                throw new TooManyRequestsException("Trop de tentatives de connexion depuis cette adresse",
+                        attempts.remaining(ticker.read(), ipWindowNanos));
+            }
+        }
+        Window failures = accountFailures.get(accountKey(email), key -> new Window(new AtomicInteger(), ticker.read()));
+        if (failures.count().incrementAndGet() > maxAccountFailures) {
+            failures.count().decrementAndGet();
+            accountThrottled.increment();
+            throw new TooManyRequestsException("Trop d'échecs de connexion pour ce compte",
+                    failures.remaining(ticker.read(), accountWindowNanos));
+        }
+    }
+
+    /**
+     * Libère la réservation d'une tentative qui n'a pas pu vérifier le mot de passe
+     */
+    public void release(String email) {
+        Window failures = accountFailures.getIfPresent(accountKey(email));
+        if (failures != null) {
+            failures.count().updateAndGet(count -> Math.max(count - 1, 0));
+        }
+    }
+
+    public void recordSuccess(String email) {
+        accountFailures.invalidate(accountKey(email));
+    }
+
+    private static String accountKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Window(AtomicInteger count, long startNanos) {
+
+        Duration remaining(long now, long windowNanos) {
+            return Duration.ofNanos(Math.max(0, startNanos + windowNanos - now));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.gamesUP.gamesUP.service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Classement immuable des jeux les plus populaires, global et par catégorie.
+ * Chaque liste est obtenue par un tas borné à {@code topN} éléments ; la lecture
+ * est un simple accès à une liste précalculée.
+ */
+public final class PopularityRanking {
+
+    public static final PopularityRanking EMPTY = new PopularityRanking(List.of(), Map.of(), Map.of());
+
+    /**
+     * Score d'un jeu ; categoryId peut être null
+     */
+    public record GameScore(long gameId, Long categoryId, double score) {
+    }
+
+    // Score décroissant, puis ID croissant à score égal
+    private static final Comparator<GameScore> BY_POPULARITY = Comparator
+            .comparingDouble(GameScore::score).reversed()
+            .thenComparingLong(GameScore::gameId);
+
+    private final List<Long> global;
+    private final Map<Long, List<Long>> byCategory;
+    private final Map<Long, Long> categoryByGame;
+
+    private PopularityRanking(List<Long> global, Map<Long, List<Long>> byCategory, Map<Long, Long> categoryByGame) {
+        this.global = global;
+        this.byCategory = byCategory;
+        this.categoryByGame = categoryByGame;
+    }
+
+    public static PopularityRanking rank(Collection<GameScore> scores, int topN) {
+        TopN global = new TopN(topN);
+        Map<Long, TopN> byCategory = new HashMap<>();
+        Map<Long, Long> categoryByGame = new HashMap<>();
+        for (GameScore score : scores) {
+            global.offer(score);
+            if (score.categoryId() != null) {
+                byCategory.computeIfAbsent(score.categoryId(), id -> new TopN(topN)).offer(score);
+                categoryByGame.put(score.gameId(), score.categoryId());
+            }
+        }
+        Map<Long, List<Long>> categoryLists = new HashMap<>();
+        byCategory.forEach((categoryId, top) -> categoryLists.put(categoryId, top.toIds()));
+        return new PopularityRanking(global.toIds(), categoryLists, categoryByGame);
+    }
+
+    public boolean isEmpty() {
+        return global.isEmpty();
+    }
+
+    /**
+     * Jeux les plus populaires, tous catalogues confondus
+     */
+    public List<Long> top(int limit) {
+        return global.subList(0, Math.min(limit, global.size()));
+    }
+
+    /**
+     * Jeux les plus populaires d'une catégorie
+     */
+    public List<Long> topInCategory(Long categoryId, int limit) {
+        List<Long> games = byCategory.getOrDefault(categoryId, List.of());
+        return games.subList(0, Math.min(limit, games.size()));
+    }
+
+    /**
+     * Catégorie connue d'un jeu, null si le jeu n'est pas classé ou n'a pas de catégorie
+     */
+    public Long categoryOf(Long gameId) {
+        return categoryByGame.get(gameId);
+    }
+
+    /**
+     * Tas minimum borné : la racine est le moins populaire des éléments retenus
+     */
+    private static final class TopN {
+
+        private final int capacity;
+        private final PriorityQueue<GameScore> heap;
+
+        private TopN(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity + 1, BY_POPULARITY.reversed());
+        }
+
+        private void offer(GameScore score) {
+            if (heap.size() < capacity) {
+                heap.add(score);
+            } else if (capacity > 0 && BY_POPULARITY.compare(score, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(score);
+            }
+        }
+
+        private List<Long> toIds() {
+            return heap.stream().sorted(BY_POPULARITY).map(GameScore::gameId).toList();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
+import com.gamesUP.gamesUP.model.GameRatingStats;
+import com.gamesUP.gamesUP.repository.GameRatingStatsRepository;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.repository.WishlistRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Popularité des jeux, utilisée comme fallback des recommandations. Le score combine
+ * les ventes avec décroissance exponentielle, la note moyenne bayésienne des avis approuvés
+ * et le nombre d'ajouts en liste de souhaits. Les agrégats sont tenus à jour jeu par jeu
+ * à chaque interaction ; le classement publié est lu sans calcul.
+ */
+@Component
+@Slf4j
+public class PopularityService {
+
+    // Moyenne a priori des notes : un jeu sans avis n'est ni favorisé ni pénalisé
+    private static final double RATING_PRIOR_MEAN = 3.0;
+    // Au-delà de 8 demi-vies, une vente pèse moins de 0,4 % et n'est plus chargée
+    private static final int SALES_WINDOW_HALF_LIVES = 8;
+
+    private final GameRepository gameRepository;
+    private final PurchaseRepository purchaseRepository;
+    private final WishlistRepository wishlistRepository;
+    private final GameRatingStatsRepository gameRatingStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int topN;
+    private final Duration halfLife;
+    private final double decayPerSecond;
+    private final double salesWeight;
+    private final double ratingWeight;
+    private final double wishlistWeight;
+    private final long ratingPriorCount;
+
+    // Agrégats par jeu, modifiés uniquement sous le verrou de l'instance
+    private final Map<Long, GamePopularity> games = new HashMap<>();
+    private LocalDateTime decayReference = LocalDateTime.now();
+
+    private final Set<Long> pendingGameIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "popularity-ranking");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile PopularityRanking ranking = PopularityRanking.EMPTY;
+
+    public PopularityService(GameRepository gameRepository, PurchaseRepository purchaseRepository,
+                             WishlistRepository wishlistRepository, GameRatingStatsRepository gameRatingStatsRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${gamesup.popularity.top-n:50}") int topN,
+                             @Value("${gamesup.popularity.sales-half-life:14d}") Duration halfLife,
+                             @Value("${gamesup.popularity.weights.sales:1.0}") double salesWeight,
+                             @Value("${gamesup.popularity.weights.rating:2.0}") double ratingWeight,
+                             @Value("${gamesup.popularity.weights.wishlist:0.5}") double wishlistWeight,
+                             @Value("${gamesup.popularity.rating-prior-count:5}") long ratingPriorCount) {
+        this.gameRepository = gameRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.wishlistRepository = wishlistRepository;
+        this.gameRatingStatsRepository = gameRatingStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.topN = topN;
+        this.halfLife = halfLife;
+        this.decayPerSecond = Math.log(2) / halfLife.toSeconds();
+        this.salesWeight = salesWeight;
+        this.ratingWeight = ratingWeight;
+        this.wishlistWeight = wishlistWeight;
+        this.ratingPriorCount = ratingPriorCount;
+    }
+
+    /**
+     * Jeux les plus populaires ; vide tant que le premier classement n'est pas calculé
+     */
+    public List<Long> topGames(int limit) {
+        return ranking.top(limit);
+    }
+
+    /**
+     * Jeux les plus populaires de la catégorie d'un jeu (hors ce jeu), à défaut du catalogue entier
+     */
+    public List<Long> topGamesLike(Long gameId, int limit) {
+        PopularityRanking current = ranking;
+        Long categoryId = current.categoryOf(gameId);
+        List<Long> candidates = categoryId != null
+                ? current.topInCategory(categoryId, limit + 1)
+                : current.top(limit + 1);
+        return candidates.stream().filter(id -> !id.equals(gameId)).limit(limit).toList();
+    }
+
+    /**
+     * Recharge tous les agrégats (au démarrage puis chaque nuit) ; la référence
+     * de décroissance des ventes est remise à la date courante
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${gamesup.popularity.rebuild-cron:0 15 4 * * *}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            games.clear();
+            decayReference = now;
+            for (Object[] row : gameRepository.findAllCategoryIds()) {
+                games.put((Long) row[0], new GamePopularity((Long) row[1]));
+            }
+            loadSales(games, purchaseRepository.findSaleLinesSince(salesWindowStart(now)));
+            loadRatings(games, gameRatingStatsRepository.findAll());
+            loadWishlists(games, wishlistRepository.countAllByGame());
+        });
+        publishRanking();
+        log.info("Classement de popularité calculé: {} jeux en {} ms",
+                games.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recharge les agrégats de quelques jeux puis republie le classement ;
+     * un jeu absent du catalogue (supprimé) sort du classement
+     */
+    public synchronized void refreshGames(Collection<Long> gameIds) {
+        Map<Long, GamePopularity> refreshed = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object[] row : gameRepository.findCategoryAndPublisherByGameIds(gameIds)) {
+                refreshed.put((Long) row[0], new GamePopularity((Long) row[1]));
+            }
+            loadSales(refreshed, purchaseRepository.findSaleLinesByGameIdsSince(gameIds,
+                    salesWindowStart(LocalDateTime.now())));
+            loadRatings(refreshed, gameRatingStatsRepository.findAllById(gameIds));
+            loadWishlists(refreshed, wishlistRepository.countByGameIds(gameIds));
+        });
+        games.keySet().removeAll(gameIds);
+        games.putAll(refreshed);
+        publishRanking();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserInteraction(UserInteractionEvent event) {
+        scheduleRefresh(event.gameIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(GameCatalogEvent event) {
+        switch (event.type()) {
+            case BULK_IMPORTED -> updateExecutor.execute(() -> runSafely(this::rebuild));
+            case STOCK_CHANGED, REFERENCE_CHANGED -> {
+                // Ni le stock ni les catégories, éditeurs et auteurs n'entrent dans le score
+            }
+            default -> scheduleRefresh(Set.of(event.gameId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updateExecutor.shutdownNow();
+    }
+
+    /**
+     * Les jeux modifiés en rafale sont regroupés en une seule mise à jour
+     */
+    private void scheduleRefresh(Collection<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return;
+        }
+        pendingGameIds.addAll(gameIds);
+        if (refreshPending.compareAndSet(false, true)) {
+            updateExecutor.execute(() -> {
+                refreshPending.set(false);
+                List<Long> batch = new ArrayList<>(pendingGameIds);
+                pendingGameIds.removeAll(batch);
+                if (!batch.isEmpty()) {
+                    runSafely(() -> refreshGames(batch));
+                }
+            });
+        }
+    }
+
+    private void runSafely(Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.error("Erreur lors de la mise à jour du classement de popularité: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime salesWindowStart(LocalDateTime now) {
+        return now.minus(halfLife.multipliedBy(SALES_WINDOW_HALF_LIVES));
+    }
+
+    /**
+     * Les ventes sont stockées relativement à la référence de décroissance : une vente à la date t
+     * vaut quantité × e^(λ(t − référence)). Tous les jeux partagent ainsi le même facteur
+     * e^(−λ(maintenant − référence)) au moment du classement.
+     */
+    private void loadSales(Map<Long, GamePopularity> target, List<Object[]> saleLines) {
+        for (Object[] row : saleLines) {
+            GamePopularity popularity = target.get((Long) row[0]);
+            if (popularity != null) {
+                double ageFromReference = Duration.between(decayReference, (LocalDateTime) row[1]).toSeconds();
+                popularity.scaledSales += ((Number) row[2]).doubleValue() * Math.exp(decayPerSecond * ageFromReference);
+            }
+        }
+    }
+
+    private static void loadRatings(Map<Long, GamePopularity> target, List<GameRatingStats> ratingStats) {
+        for (GameRatingStats stats : ratingStats) {
+            GamePopularity popularity = target.get(stats.getGameId());
+            if (popularity != null) {
+                popularity.ratingSum = stats.getRatingSum();
+                popularity.ratingCount = stats.getRatingCount();
+            }
+        }
+    }
+
+    private static void loadWishlists(Map<Long, GamePopularity> target, List<Object[]> wishlistCounts) {
+        for (Object[] row : wishlistCounts) {
+            GamePopularity popularity = target.get((Long) row[0]);
+            if (popularity != null) {
+                popularity.wishlistCount = ((Number) row[1]).longValue();
+            }
+        }
+    }
+
+    private void publishRanking() {
+        double decay = Math.exp(-decayPerSecond * Duration.between(decayReference, LocalDateTime.now()).toSeconds());
+        List<PopularityRanking.GameScore> scores = new ArrayList<>(games.size());
+        games.forEach((gameId, popularity) -> scores.add(
+                new PopularityRanking.GameScore(gameId, popularity.categoryId, score(popularity, decay))));
+        ranking = PopularityRanking.rank(scores, topN);
+    }
+
+    private double score(GamePopularity popularity, double decay) {
+        long weightedCount = ratingPriorCount + popularity.ratingCount;
+        double bayesianRating = weightedCount == 0 ? RATING_PRIOR_MEAN
+                : (RATING_PRIOR_MEAN * ratingPriorCount + popularity.ratingSum) / weightedCount;
+        return salesWeight * popularity.scaledSales * decay
+                + ratingWeight * (bayesianRating - RATING_PRIOR_MEAN)
+                + wishlistWeight * popularity.wishlistCount;
+    }
+
+    private static final class GamePopularity {
+
+        private final Long categoryId;
+        private double scaledSales;
+        private long ratingSum;
+        private long ratingCount;
+        private long wishlistCount;
+
+        private GamePopularity(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.gamesUP.gamesUP.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recommandations précalculées de tous les utilisateurs, dans un fichier projeté en mémoire.
+ * Les IDs utilisateur issus d'une séquence, la table est normalement indexée directement par
+ * {@code userId - premierUserId} : une lecture est un accès à deux entiers puis aux IDs des jeux.
+ * Si la plage d'IDs est trop creuse pour cet index dense, le fichier stocke à la place les IDs
+ * utilisateur triés, retrouvés par recherche dichotomique.
+ * <pre>
+ * en-tête : magic (int), version (int), disposition (int), premier ID utilisateur (long),
+ *           nombre de cases (int), nombre de jeux (int)
+ * IDs     : long[cases], uniquement en disposition creuse
+ * offsets : int[cases + 1], les jeux de la case i occupent [offsets[i], offsets[i + 1])
+ * jeux    : long[nombre de jeux]
+ * </pre>
+ */
+public final class PrecomputedRecommendations {
+
+    private static final int MAGIC = 0x47555052;
+    private static final int VERSION = 2;
+    private static final int DENSE = 0;
+    private static final int SPARSE = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 4 + 4;
+
+    private final ByteBuffer buffer;
+    private final boolean sparse;
+    private final long firstUserId;
+    private final int slotCount;
+    private final int offsetsPosition;
+    private final int gamesPosition;
+
+    private PrecomputedRecommendations(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Fichier de recommandations précalculées invalide");
+        }
+        this.buffer = buffer;
+        this.sparse = buffer.getInt(8) == SPARSE;
+        this.firstUserId = buffer.getLong(12);
+        this.slotCount = buffer.getInt(20);
+        this.offsetsPosition = HEADER_BYTES + (sparse ? slotCount * Long.BYTES : 0);
+        this.gamesPosition = offsetsPosition + (slotCount + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Écrit les recommandations dans un fichier temporaire voisin de {@code file}, le projette en mémoire
+     * puis le renomme atomiquement : les lecteurs de la version précédente ne sont pas affectés.
+     * L'index le plus compact est retenu : dense si les IDs sont peu espacés, creux sinon.
+     *
+     * @param userIds         IDs utilisateur triés par ordre croissant
+     * @param recommendations IDs des jeux recommandés, dans l'ordre de {@code userIds}
+     */
+    public static PrecomputedRecommendations write(Path file, long[] userIds, long[][] recommendations) {
+        long firstUserId = userIds.length == 0 ? 0 : userIds[0];
+        long denseSlots = userIds.length == 0 ? 0 : userIds[userIds.length - 1] - firstUserId + 1;
+        long denseIndexBytes = (denseSlots + 1) * Integer.BYTES;
+        long sparseIndexBytes = (long) userIds.length * Long.BYTES + (userIds.length + 1L) * Integer.BYTES;
+        boolean sparse = sparseIndexBytes < denseIndexBytes;
+        long entryCount = 0;
+        for (long[] games : recommendations) {
+            entryCount += games.length;
+        }
+        long size = HEADER_BYTES + Math.min(denseIndexBytes, sparseIndexBytes) + entryCount * Long.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Recommandations précalculées trop volumineuses: " + size + " octets");
+        }
+        int slotCount = sparse ? userIds.length : (int) denseSlots;
+
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            MappedByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            mapped.putInt(MAGIC).putInt(VERSION).putInt(sparse ? SPARSE : DENSE)
+                    .putLong(firstUserId).putInt(slotCount).putInt((int) entryCount);
+            if (sparse) {
+                writeSparse(mapped, userIds, recommendations);
+            } else {
+                writeDense(mapped, slotCount, firstUserId, userIds, recommendations);
+            }
+            mapped.force();
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new PrecomputedRecommendations(mapped.asReadOnlyBuffer());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture des recommandations précalculées impossible: " + file, e);
+        }
+    }
+
+    private static void writeDense(ByteBuffer mapped, int slotCount, long firstUserId,
+                                   long[] userIds, long[][] recommendations) {
+        int gamesPosition = HEADER_BYTES + (slotCount + 1) * Integer.BYTES;
+        int entry = 0;
+        int user = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            mapped.putInt(HEADER_BYTES + slot * Integer.BYTES, entry);
+            if (userIds[user] == firstUserId + slot) {
+                for (long gameId : recommendations[user]) {
+                    mapped.putLong(gamesPosition + entry * Long.BYTES, gameId);
+                    entry++;
+                }
+                user++;
+            }
+        }
+        mapped.putInt(HEADER_BYTES + slotCount * Integer.BYTES, entry);
+    }
+
+    private static void writeSparse(ByteBuffer mapped, long[] userIds, long[][] recommendations) {
+        int offsetsPosition = HEADER_BYTES + userIds.length * Long.BYTES;
+        int gamesPosition = offsetsPosition + (userIds.length + 1) * Integer.BYTES;
+        int entry = 0;
+        for (int user = 0; user < userIds.length; user++) {
+            mapped.putLong(HEADER_BYTES + user * Long.BYTES, userIds[user]);
+            mapped.putInt(offsetsPosition + user * Integer.BYTES, entry);
+            for (long gameId : recommendations[user]) {
+                mapped.putLong(gamesPosition + entry * Long.BYTES, gameId);
+                entry++;
+            }
+        }
+        mapped.putInt(offsetsPosition + userIds.length * Integer.BYTES, entry);
+    }
+
+    /**
+     * Jeux précalculés pour un utilisateur ; absent pour un ID hors de la plage calculée
+     * (utilisateur inscrit depuis), liste vide pour un utilisateur de la plage sans interaction.
+     */
+    public Optional<List<Long>> get(long userId) {
+        if (slotCount == 0 || userId < firstUserId) {
+            return Optional.empty();
+        }
+        int slot;
+        if (sparse) {
+            if (userId > buffer.getLong(HEADER_BYTES + (slotCount - 1) * Long.BYTES)) {
+                return Optional.empty();
+            }
+            slot = findSlot(userId);
+            if (slot < 0) {
+                return Optional.of(List.of());
+            }
+        } else {
+            if (userId - firstUserId >= slotCount) {
+                return Optional.empty();
+            }
+            slot = (int) (userId - firstUserId);
+        }
+        int offsetPosition = offsetsPosition + slot * Integer.BYTES;
+        int from = buffer.getInt(offsetPosition);
+        int to = buffer.getInt(offsetPosition + Integer.BYTES);
+        List<Long> games = new ArrayList<>(to - from);
+        for (int entry = from; entry < to; entry++) {
+            games.add(buffer.getLong(gamesPosition + entry * Long.BYTES));
+        }
+        return Optional.of(games);
+    }
+
+    /**
+     * Recherche dichotomique de l'ID dans l'index creux ; -1 s'il n'y figure pas
+     */
+    private int findSlot(long userId) {
+        int low = 0;
+        int high = slotCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long candidate = buffer.getLong(HEADER_BYTES + middle * Long.BYTES);
+            if (candidate < userId) {
+                low = middle + 1;
+            } else if (candidate > userId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    public int slotCount() {
+        return slotCount;
+    }
+
+    boolean isSparse() {
+        return sparse;
+    }
+}
@@ -1,9 +1,11 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
 import com.gamesUP.gamesUP.model.Publisher;
 import com.gamesUP.gamesUP.repository.PublisherRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +17,7 @@ import java.util.Optional;
 public class PublisherService {
 
     private final PublisherRepository publisherRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les éditeurs
@@ -49,7 +52,9 @@ public class PublisherService {
                 .map(existingPublisher -> {
                     existingPublisher.setName(publisher.getName());
                     existingPublisher.setDescription(publisher.getDescription());
-                    return publisherRepository.save(existingPublisher);
+                    Publisher saved = publisherRepository.save(existingPublisher);
+                    publishReferenceChanged();
+                    return saved;
                 });
     }
 
@@ -60,8 +65,16 @@ public class PublisherService {
         log.info("Suppression de l'éditeur avec l'ID: {}", id);
         if (publisherRepository.existsById(id)) {
             publisherRepository.deleteById(id);
+            publishReferenceChanged();
             return true;
         }
         return false;
     }
+
+    /**
+     * Le nom de l'éditeur est recopié dans les jeux qu'il publie
+     */
+    private void publishReferenceChanged() {
+        eventPublisher.publishEvent(new GameCatalogEvent(null, GameCatalogEvent.Type.REFERENCE_CHANGED));
+    }
 } 
\ No newline at end of file
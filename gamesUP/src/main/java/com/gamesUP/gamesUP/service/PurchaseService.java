@@ -1,13 +1,20 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
+import com.gamesUP.gamesUP.model.Game;
 import com.gamesUP.gamesUP.model.Purchase;
+import com.gamesUP.gamesUP.model.PurchaseLine;
 import com.gamesUP.gamesUP.repository.PurchaseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +22,7 @@ import java.util.Optional;
 public class PurchaseService {
 
     private final PurchaseRepository purchaseRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère toutes les commandes
@@ -43,14 +51,18 @@ public class PurchaseService {
     /**
      * Crée une nouvelle commande
      */
+    @Transactional
     public Purchase createPurchase(Purchase purchase) {
         log.info("Création d'une nouvelle commande pour l'utilisateur: {}", purchase.getUser().getId());
-        return purchaseRepository.save(purchase);
+        Purchase savedPurchase = purchaseRepository.save(purchase);
+        publishInteraction(savedPurchase);
+        return savedPurchase;
     }
 
     /**
      * Met à jour une commande
      */
+    @Transactional
     public Optional<Purchase> updatePurchase(Long id, Purchase purchase) {
         log.info("Mise à jour de la commande avec l'ID: {}", id);
         return purchaseRepository.findById(id)
@@ -58,19 +70,34 @@ public class PurchaseService {
                     existingPurchase.setDate(purchase.getDate());
                     existingPurchase.setTotalAmount(purchase.getTotalAmount());
                     existingPurchase.setStatus(purchase.getStatus());
-                    return purchaseRepository.save(existingPurchase);
+                    Purchase savedPurchase = purchaseRepository.save(existingPurchase);
+                    // Une commande annulée ne compte plus dans les recommandations
+                    publishInteraction(savedPurchase);
+                    return savedPurchase;
                 });
     }
 
     /**
      * Supprime une commande
      */
+    @Transactional
     public boolean deletePurchase(Long id) {
         log.info("Suppression de la commande avec l'ID: {}", id);
-        if (purchaseRepository.existsById(id)) {
-            purchaseRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return purchaseRepository.findById(id)
+                .map(existingPurchase -> {
+                    purchaseRepository.delete(existingPurchase);
+                    publishInteraction(existingPurchase);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private void publishInteraction(Purchase purchase) {
+        Set<Long> gameIds = purchase.getLines() == null ? Set.of() : purchase.getLines().stream()
+                .map(PurchaseLine::getGame)
+                .filter(game -> game != null && game.getId() != null)
+                .map(Game::getId)
+                .collect(Collectors.toSet());
+        eventPublisher.publishEvent(new UserInteractionEvent(purchase.getUser().getId(), gameIds));
     }
 } 
\ No newline at end of file
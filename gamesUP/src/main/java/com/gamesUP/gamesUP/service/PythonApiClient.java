@@ -0,0 +1,164 @@
+package com.gamesUP.gamesUP.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Client de l'API Python de recommandation. Chaque appel passe par un cloisonnement
+ * (nombre d'appels simultanés borné, refus immédiat au-delà) puis par un disjoncteur
+ * qui renvoie directement vers le fallback tant que l'API est jugée indisponible.
+ * Les délais de lecture dépendent du point d'accès : courts pour les recommandations
+ * et le statut, longs pour l'entraînement.
+ */
+@Component
+@Slf4j
+public class PythonApiClient {
+
+    private final String baseUrl;
+    private final RestTemplate interactiveTemplate;
+    private final RestTemplate trainingTemplate;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    public PythonApiClient(HttpClient httpClient, MeterRegistry meterRegistry,
+                           @Value("${python.api.url:http://localhost:8001}") String baseUrl,
+                           @Value("${gamesup.python-api.read-timeout.interactive:800ms}") Duration interactiveTimeout,
+                           @Value("${gamesup.python-api.read-timeout.training:30s}") Duration trainingTimeout,
+                           @Value("${gamesup.python-api.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls,
+                           @Value("${gamesup.python-api.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                           @Value("${gamesup.python-api.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        this.baseUrl = baseUrl;
+        this.interactiveTemplate = restTemplate(httpClient, interactiveTimeout);
+        this.trainingTemplate = restTemplate(httpClient, trainingTimeout);
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("python.api.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("État du disjoncteur de l'API Python (0 fermé, 1 ouvert, 2 semi-ouvert)")
+                .register(meterRegistry);
+        Gauge.builder("python.api.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Appels simultanés encore disponibles vers l'API Python")
+                .register(meterRegistry);
+    }
+
+    private static RestTemplate restTemplate(HttpClient httpClient, Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * IDs recommandés par l'API ; vide si l'appel échoue, dépasse son délai ou est refusé
+     */
+    public Optional<List<Long>> getRecommendedGameIds(String path) {
+        try {
+            Long[] ids = execute("recommendations",
+                    () -> interactiveTemplate.getForObject(baseUrl + path, Long[].class));
+            return Optional.ofNullable(ids).map(List::of);
+        } catch (RestClientException e) {
+            log.warn("Recommandations de l'API Python indisponibles: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public ResponseEntity<String> getHealth() {
+        return execute("health", () -> interactiveTemplate.getForEntity(baseUrl + "/health", String.class));
+    }
+
+    /**
+     * Appel d'entraînement ou de mise à jour du modèle (délai de lecture long)
+     */
+    public ResponseEntity<String> postTraining(String path) {
+        return execute(path.substring(1), () -> trainingTemplate.postForEntity(baseUrl + path, null, String.class));
+    }
+
+    /**
+     * Envoie un lot d'interactions au format NDJSON ; {@code reset} demande à l'API
+     * d'oublier les lots reçus précédemment (export complet). Hors réinitialisation,
+     * {@code storeId} est le magasin censé recevoir le lot : l'API répond 409 si elle
+     * ne le détient plus (redémarrage), et retourne dans tous les cas son magasin courant.
+     */
+    public ResponseEntity<String> postInteractions(byte[] ndjson, boolean reset, String storeId) {
+        String query = reset || storeId == null ? "?reset=" + reset : "?reset=false&store=" + storeId;
+        RequestEntity<byte[]> request = RequestEntity
+                .post(URI.create(baseUrl + "/train/interactions" + query))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjson);
+        return execute("train/interactions", () -> trainingTemplate.exchange(request, String.class));
+    }
+
+    /**
+     * Exécute un appel sous cloisonnement et disjoncteur. Un refus lève une
+     * {@link ResourceAccessException}, comme une API injoignable ; les erreurs 4xx
+     * ne comptent pas comme des pannes de l'API.
+     */
+    private <T> T execute(String endpoint, Supplier<T> call) {
+        if (!bulkhead.tryAcquire()) {
+            record(endpoint, "rejected", 0);
+            throw new ResourceAccessException("Trop d'appels simultanés vers l'API Python");
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                record(endpoint, "short_circuited", 0);
+                throw new ResourceAccessException("Disjoncteur de l'API Python ouvert");
+            }
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess();
+                record(endpoint, "success", System.nanoTime() - start);
+                return result;
+            } catch (HttpClientErrorException e) {
+                circuitBreaker.onSuccess();
+                record(endpoint, "client_error", System.nanoTime() - start);
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                record(endpoint, "error", System.nanoTime() - start);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void record(String endpoint, String outcome, long nanos) {
+        Timer.builder("python.api.requests")
+                .description("Appels à l'API Python de recommandation")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,145 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.repository.WishlistRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Moteur de recommandation KNN exécuté dans la JVM. La matrice des interactions est construite
+ * à partir des achats, des listes de souhaits et des avis, puis remplacée d'un bloc :
+ * les lectures ne prennent aucun verrou.
+ */
+@Component
+@Slf4j
+public class RecommendationEngine {
+
+    // Poids des interactions implicites, sur l'échelle des notes (1 à 5)
+    static final float PURCHASE_WEIGHT = 4f;
+    static final float WISHLIST_WEIGHT = 3f;
+
+    private final PurchaseRepository purchaseRepository;
+    private final WishlistRepository wishlistRepository;
+    private final AvisRepository avisRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool scoringPool;
+    private final int neighbours;
+
+    private volatile LoadedMatrix current;
+
+    /**
+     * Matrice et instant (System.nanoTime) où sa lecture a commencé : une interaction
+     * postérieure peut ne pas y figurer
+     */
+    public record LoadedMatrix(InteractionMatrix matrix, long readAt) {
+    }
+
+    public RecommendationEngine(PurchaseRepository purchaseRepository, WishlistRepository wishlistRepository,
+                                AvisRepository avisRepository, PlatformTransactionManager transactionManager,
+                                @Value("${gamesup.recommendations.neighbours:20}") int neighbours,
+                                @Value("${gamesup.recommendations.parallelism:0}") int parallelism) {
+        this.purchaseRepository = purchaseRepository;
+        this.wishlistRepository = wishlistRepository;
+        this.avisRepository = avisRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.neighbours = neighbours;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Matrice courante, absente tant que le premier chargement n'est pas terminé
+     */
+    public Optional<InteractionMatrix> current() {
+        return loaded().map(LoadedMatrix::matrix);
+    }
+
+    public Optional<LoadedMatrix> loaded() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Premier chargement, sauf si le précalcul des recommandations, lui aussi déclenché
+     * au démarrage, a déjà construit la matrice
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadAtStartup() {
+        if (current == null) {
+            reload();
+        }
+    }
+
+    /**
+     * Reconstruit la matrice des interactions (périodiquement)
+     */
+    @Scheduled(cron = "${gamesup.recommendations.rebuild-cron:0 */15 * * * *}")
+    public void rebuild() {
+        reload();
+    }
+
+    /**
+     * Reconstruit la matrice des interactions et la retourne avec l'instant de sa lecture
+     */
+    public LoadedMatrix reload() {
+        long start = System.nanoTime();
+        InteractionMatrix matrix = transactionTemplate.execute(status -> {
+            InteractionMatrix.Builder builder = InteractionMatrix.builder();
+            for (Object[] row : purchaseRepository.findPurchasedUserGamePairs()) {
+                builder.add((Long) row[0], (Long) row[1], PURCHASE_WEIGHT);
+            }
+            for (Object[] row : wishlistRepository.findAllUserGamePairs()) {
+                builder.add((Long) row[0], (Long) row[1], WISHLIST_WEIGHT);
+            }
+            for (Object[] row : avisRepository.findAllUserGameNotes()) {
+                builder.rate((Long) row[0], (Long) row[1], ((Number) row[2]).floatValue());
+            }
+            return builder.build();
+        });
+        LoadedMatrix loaded = new LoadedMatrix(matrix, start);
+        current = loaded;
+        log.info("Matrice de recommandation construite: {} utilisateurs, {} jeux, {} interactions en {} ms",
+                matrix.userCount(), matrix.gameCount(), matrix.nonZeros(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * IDs des jeux recommandés à un utilisateur ; vide si la matrice n'est pas prête
+     * ou si l'utilisateur n'a encore aucune interaction
+     */
+    public List<Long> recommendForUser(Long userId, int limit) {
+        LoadedMatrix loaded = current;
+        return loaded == null ? List.of() : loaded.matrix().recommendForUser(userId, neighbours, limit, scoringPool);
+    }
+
+    /**
+     * IDs des jeux les plus proches d'un jeu donné
+     */
+    public List<Long> recommendForGame(Long gameId, int limit) {
+        LoadedMatrix loaded = current;
+        return loaded == null ? List.of() : loaded.matrix().similarGames(gameId, limit, scoringPool);
+    }
+
+    /**
+     * Recommandations de tous les utilisateurs de la matrice, dans l'ordre de {@link InteractionMatrix#userIds()}
+     */
+    public long[][] recommendForAllUsers(InteractionMatrix matrix, int limit) {
+        return matrix.recommendForAllUsers(neighbours, limit, scoringPool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringPool.shutdownNow();
+    }
+}
@@ -0,0 +1,128 @@
+package com.gamesUP.gamesUP.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Précalcul nocturne des recommandations de tous les utilisateurs ayant des interactions.
+ * Le calcul repart d'une matrice reconstruite (au démarrage, de celle que le moteur vient de charger),
+ * est réparti sur le pool du moteur KNN et publie
+ * un fichier projeté en mémoire ; les utilisateurs inscrits ou actifs depuis restent calculés à la demande.
+ * Chaque instance écrit son propre fichier dans le répertoire configuré : plusieurs instances
+ * partageant un hôte ou un volume ne se remplacent pas leurs fichiers.
+ */
+@Component
+@Slf4j
+public class RecommendationPrecomputeService {
+
+    private final RecommendationEngine recommendationEngine;
+    private final Path file;
+    private final boolean enabled;
+    private final int limit;
+
+    // Dernière interaction (System.nanoTime) des utilisateurs actifs depuis la lecture de la matrice précalculée
+    private final Map<Long, Long> interactionTimes = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    public RecommendationPrecomputeService(RecommendationEngine recommendationEngine,
+                                           @Value("${gamesup.recommendations.precompute.directory:${java.io.tmpdir}/gamesup}") Path directory,
+                                           @Value("${gamesup.recommendations.precompute.enabled:true}") boolean enabled,
+                                           @Value("${gamesup.recommendations.backend:local}") String backend,
+                                           @Value("${gamesup.recommendations.limit:10}") int limit) {
+        this.recommendationEngine = recommendationEngine;
+        this.file = directory.resolve("recommendations-" + UUID.randomUUID() + ".bin");
+        // Avec l'API Python, le moteur local ne sert pas les recommandations
+        this.enabled = enabled && !"python".equalsIgnoreCase(backend);
+        this.limit = limit;
+    }
+
+    /**
+     * Premier précalcul : la matrice chargée au démarrage par le moteur est réutilisée,
+     * elle n'est construite ici que si le moteur ne l'a pas encore fait
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void precomputeAtStartup() {
+        if (!enabled) {
+            return;
+        }
+        precompute(recommendationEngine.loaded().orElseGet(recommendationEngine::reload));
+    }
+
+    /**
+     * Recalcule les recommandations de tous les utilisateurs sur une matrice reconstruite (chaque nuit)
+     */
+    @Scheduled(cron = "${gamesup.recommendations.precompute.cron:0 30 3 * * *}")
+    public synchronized void precompute() {
+        if (!enabled) {
+            return;
+        }
+        precompute(recommendationEngine.reload());
+    }
+
+    private void precompute(RecommendationEngine.LoadedMatrix loaded) {
+        long start = System.nanoTime();
+        InteractionMatrix matrix = loaded.matrix();
+        long[][] recommendations = recommendationEngine.recommendForAllUsers(matrix, limit);
+        snapshot = new Snapshot(PrecomputedRecommendations.write(file, matrix.userIds(), recommendations), loaded.readAt());
+        // Les interactions antérieures à la lecture de la matrice sont prises en compte
+        interactionTimes.values().removeIf(time -> time - loaded.readAt() < 0);
+        log.info("Recommandations précalculées pour {} utilisateurs en {} ms",
+                matrix.userCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recommandations précalculées d'un utilisateur ; absentes avant le premier calcul,
+     * pour un utilisateur inscrit depuis ou ayant interagi depuis la lecture de la matrice
+     */
+    public Optional<List<Long>> lookup(Long userId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Long interactionTime = interactionTimes.get(userId);
+        if (interactionTime != null && interactionTime - current.matrixReadAt() >= 0) {
+            return Optional.empty();
+        }
+        return current.recommendations().get(userId);
+    }
+
+    /**
+     * Signale une interaction : l'utilisateur est calculé à la demande jusqu'au prochain précalcul
+     */
+    public void markInteraction(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        interactionTimes.put(userId, System.nanoTime());
+    }
+
+    @PreDestroy
+    public void deleteFile() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Suppression du fichier de recommandations précalculées impossible: {}", e.getMessage());
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    private record Snapshot(PrecomputedRecommendations recommendations, long matrixReadAt) {
+    }
+}
@@ -1,75 +1,230 @@
 package com.gamesUP.gamesUP.service;
 
 import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.UserRecommendationsDTO;
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
 import com.gamesUP.gamesUP.model.Game;
 import com.gamesUP.gamesUP.repository.GameRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RecommendationService {
 
     private final GameRepository gameRepository;
-    private final RestTemplate restTemplate;
+    private final GameService gameService;
+    private final PythonApiClient pythonApiClient;
+    private final RecommendationEngine recommendationEngine;
+    private final PopularityService popularityService;
+    private final RecommendationPrecomputeService precomputeService;
+    private final GameSimilarityService gameSimilarityService;
+    private final TrainingDataExportService trainingDataExportService;
 
-    @Value("${python.api.url:http://localhost:8001}")
-    private String pythonApiUrl;
+    // "local" : moteur KNN dans la JVM ; "python" : API Python externe
+    private final String backend;
+    private final int limit;
+    private final int batchMaxUsers;
+    private final int batchWindowSize;
+
+    // IDs recommandés par utilisateur et par jeu ; rafraîchis en arrière-plan peu avant leur expiration
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "recommendation-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LoadingCache<Long, List<Long>> userRecommendations;
+    private final LoadingCache<Long, List<Long>> gameRecommendations;
+
+    // Calcul des recommandations groupées : au plus une fenêtre d'utilisateurs en cours à la fois
+    private final ExecutorService batchExecutor;
+
+    public RecommendationService(GameRepository gameRepository, GameService gameService,
+                                 PythonApiClient pythonApiClient, RecommendationEngine recommendationEngine,
+                                 PopularityService popularityService, RecommendationPrecomputeService precomputeService,
+                                 GameSimilarityService gameSimilarityService,
+                                 TrainingDataExportService trainingDataExportService, MeterRegistry meterRegistry,
+                                 @Value("${gamesup.recommendations.backend:local}") String backend,
+                                 @Value("${gamesup.recommendations.limit:10}") int limit,
+                                 @Value("${gamesup.recommendations.cache.maximum-size:50000}") long cacheMaximumSize,
+                                 @Value("${gamesup.recommendations.cache.ttl:10m}") Duration cacheTtl,
+                                 @Value("${gamesup.recommendations.cache.refresh-before-expiry:1m}") Duration refreshBeforeExpiry,
+                                 @Value("${gamesup.recommendations.batch.max-users:50000}") int batchMaxUsers,
+                                 @Value("${gamesup.recommendations.batch.window-size:500}") int batchWindowSize,
+                                 @Value("${gamesup.recommendations.batch.parallelism:8}") int batchParallelism) {
+        this.gameRepository = gameRepository;
+        this.gameService = gameService;
+        this.pythonApiClient = pythonApiClient;
+        this.recommendationEngine = recommendationEngine;
+        this.popularityService = popularityService;
+        this.precomputeService = precomputeService;
+        this.gameSimilarityService = gameSimilarityService;
+        this.trainingDataExportService = trainingDataExportService;
+        this.backend = backend;
+        this.limit = limit;
+        this.batchMaxUsers = batchMaxUsers;
+        this.batchWindowSize = batchWindowSize;
+        this.batchExecutor = Executors.newFixedThreadPool(batchParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Duration refreshAfter = cacheTtl.minus(refreshBeforeExpiry);
+        this.userRecommendations = recommendationCache(cacheMaximumSize, cacheTtl, refreshAfter, this::computeForUser);
+        this.gameRecommendations = recommendationCache(cacheMaximumSize, cacheTtl, refreshAfter, this::computeForGame);
+        CaffeineCacheMetrics.monitor(meterRegistry, userRecommendations, "recommendations.users");
+        CaffeineCacheMetrics.monitor(meterRegistry, gameRecommendations, "recommendations.games");
+    }
+
+    private LoadingCache<Long, List<Long>> recommendationCache(long maximumSize, Duration ttl, Duration refreshAfter,
+                                                               CacheLoader<Long, List<Long>> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(loader);
+    }
 
     /**
      * Récupère les recommandations pour un utilisateur
      */
+    @Coalesced("recommendations.user")
     public List<GameDTO> getRecommendationsForUser(Long userId) {
         log.info("Récupération des recommandations pour l'utilisateur: {}", userId);
         
-        try {
-            // Appel à l'API Python pour obtenir les recommandations
-            String url = pythonApiUrl + "/recommendations/user/" + userId;
-            ResponseEntity<Long[]> response = restTemplate.getForEntity(url, Long[].class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Long> recommendedGameIds = List.of(response.getBody());
-                return getGamesByIds(recommendedGameIds);
-            } else {
-                log.warn("L'API Python n'a pas retourné de recommandations valides");
-                return getFallbackRecommendations();
-            }
-        } catch (Exception e) {
-            log.error("Erreur lors de l'appel à l'API Python: {}", e.getMessage());
-            return getFallbackRecommendations();
-        }
+        return toRecommendations(userRecommendations.get(userId), () -> popularityService.topGames(limit));
     }
 
     /**
-     * Récupère les recommandations basées sur un jeu
+     * Récupère les recommandations basées sur un jeu ; avec le moteur local, les voisins
+     * précalculés sont lus directement, sans passer par le cache
      */
+    @Coalesced("recommendations.game")
     public List<GameDTO> getRecommendationsForGame(Long gameId) {
         log.info("Récupération des recommandations basées sur le jeu: {}", gameId);
         
+        List<Long> similarGameIds = isPythonBackend() ? gameRecommendations.get(gameId) : computeForGame(gameId);
+        return toRecommendations(similarGameIds, () -> popularityService.topGamesLike(gameId, limit));
+    }
+
+    /**
+     * Vérifie la taille d'une demande de recommandations groupées avant le début de la réponse
+     */
+    public void checkBatchSize(List<Long> userIds) {
+        if (userIds.isEmpty() || userIds.size() > batchMaxUsers) {
+            throw new IllegalArgumentException("La liste doit contenir entre 1 et " + batchMaxUsers + " utilisateurs");
+        }
+    }
+
+    /**
+     * Recommandations pour une liste d'utilisateurs, transmises au consommateur dès qu'elles sont prêtes.
+     * Au plus une fenêtre d'utilisateurs est calculée en parallèle ; chaque calcul terminé libère une
+     * place pour le suivant. Les résultats terminés au même moment sont regroupés : les jeux qui n'ont
+     * pas encore été chargés pendant cette demande sont hydratés en une seule lecture, puis le groupe
+     * est transmis, dans l'ordre d'achèvement des calculs. Les résultats ne sont pas mis en cache,
+     * pour ne pas évincer ceux des utilisateurs actifs.
+     */
+    public void forEachUserRecommendations(List<Long> userIds, Consumer<List<UserRecommendationsDTO>> consumer) {
+        log.info("Calcul des recommandations groupées pour {} utilisateurs", userIds.size());
+        Iterator<Long> remaining = userIds.stream().distinct().iterator();
+        CompletionService<RecommendedIds> completionService = new ExecutorCompletionService<>(batchExecutor);
+        Set<Future<RecommendedIds>> pending = new HashSet<>();
+        Map<Long, GameDTO> hydrated = new HashMap<>();
+        List<Long> fallbackGameIds = null;
         try {
-            // Appel à l'API Python pour obtenir les recommandations
-            String url = pythonApiUrl + "/recommendations/game/" + gameId;
-            ResponseEntity<Long[]> response = restTemplate.getForEntity(url, Long[].class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Long> recommendedGameIds = List.of(response.getBody());
-                return getGamesByIds(recommendedGameIds);
-            } else {
-                log.warn("L'API Python n'a pas retourné de recommandations valides");
-                return getFallbackRecommendations();
+            submitUpTo(batchWindowSize, remaining, completionService, pending);
+            while (!pending.isEmpty()) {
+                List<RecommendedIds> ready = new ArrayList<>();
+                Future<RecommendedIds> completed = completionService.take();
+                do {
+                    pending.remove(completed);
+                    ready.add(resultOf(completed));
+                    completed = completionService.poll();
+                } while (completed != null);
+                submitUpTo(batchWindowSize - pending.size(), remaining, completionService, pending);
+
+                for (int i = 0; i < ready.size(); i++) {
+                    RecommendedIds recommended = ready.get(i);
+                    if (recommended.gameIds() == null || recommended.gameIds().isEmpty()) {
+                        if (fallbackGameIds == null) {
+                            fallbackGameIds = fallbackGameIds();
+                        }
+                        ready.set(i, new RecommendedIds(recommended.userId(), fallbackGameIds));
+                    }
+                }
+                List<Long> missing = ready.stream()
+                        .flatMap(recommended -> recommended.gameIds().stream())
+                        .filter(gameId -> !hydrated.containsKey(gameId))
+                        .distinct()
+                        .toList();
+                if (!missing.isEmpty()) {
+                    gameService.getGamesByIds(missing).forEach(game -> hydrated.put(game.getId(), game));
+                }
+                consumer.accept(ready.stream()
+                        .map(recommended -> new UserRecommendationsDTO(recommended.userId(),
+                                recommended.gameIds().stream().map(hydrated::get).filter(Objects::nonNull).toList()))
+                        .toList());
             }
-        } catch (Exception e) {
-            log.error("Erreur lors de l'appel à l'API Python: {}", e.getMessage());
-            return getFallbackRecommendations();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Calcul des recommandations groupées interrompu", e);
+        } finally {
+            // Client déconnecté ou erreur : les calculs restants sont abandonnés
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private record RecommendedIds(Long userId, List<Long> gameIds) {
+    }
+
+    private void submitUpTo(int count, Iterator<Long> remaining, CompletionService<RecommendedIds> completionService,
+                            Set<Future<RecommendedIds>> pending) {
+        for (int i = 0; i < count && remaining.hasNext(); i++) {
+            Long userId = remaining.next();
+            pending.add(completionService.submit(() -> new RecommendedIds(userId, recommendedIdsForBatch(userId))));
+        }
+    }
+
+    private static RecommendedIds resultOf(Future<RecommendedIds> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
         }
     }
 
@@ -79,11 +234,19 @@ public class RecommendationService {
     public String updateRecommendationModel() {
         log.info("Mise à jour du modèle de recommandation");
         
+        if (!isPythonBackend()) {
+            recommendationEngine.rebuild();
+            invalidateAll();
+            InteractionMatrix matrix = recommendationEngine.current().orElseThrow();
+            return "Modèle local reconstruit: " + matrix.userCount() + " utilisateurs, "
+                    + matrix.gameCount() + " jeux, " + matrix.nonZeros() + " interactions";
+        }
+        
         try {
-            String url = pythonApiUrl + "/update-model";
-            ResponseEntity<String> response = restTemplate.postForEntity(url, null, String.class);
+            ResponseEntity<String> response = pythonApiClient.postTraining("/update-model");
             
             if (response.getStatusCode().is2xxSuccessful()) {
+                invalidateAll();
                 return "Modèle mis à jour avec succès: " + response.getBody();
             } else {
                 return "Erreur lors de la mise à jour du modèle - Mode fallback activé";
@@ -98,26 +261,27 @@ public class RecommendationService {
     }
 
     /**
-     * Envoie les données utilisateur à l'API Python pour l'entraînement
+     * Envoie les données utilisateur à l'API Python pour l'entraînement : uniquement les interactions
+     * nouvelles depuis le dernier envoi réussi, ou toutes si {@code full}
      */
-    public String sendUserDataToPythonAPI() {
-        log.info("Envoi des données utilisateur à l'API Python");
+    public String sendUserDataToPythonAPI(boolean full) {
+        log.info("Envoi des données utilisateur à l'API Python (export complet: {})", full);
         
         try {
-            // Récupération des données utilisateur (achats, avis, etc.)
-            // TODO: Implémenter la récupération des données utilisateur
-            
-            String url = pythonApiUrl + "/train";
-            ResponseEntity<String> response = restTemplate.postForEntity(url, null, String.class);
+            TrainingDataExportService.ExportReport report = trainingDataExportService.exportInteractions(full);
+            ResponseEntity<String> response = pythonApiClient.postTraining("/train");
             
             if (response.getStatusCode().is2xxSuccessful()) {
-                return "Données envoyées avec succès: " + response.getBody();
+                return "Données envoyées avec succès: " + report.total() + " interactions en "
+                        + report.batches() + " lots. " + response.getBody();
             } else {
                 return "Erreur lors de l'envoi des données - Mode fallback activé";
             }
         } catch (ResourceAccessException e) {
             log.error("Erreur de connexion à l'API Python: {}", e.getMessage());
             return "API Python non accessible - Mode fallback activé";
+        } catch (IllegalStateException e) {
+            return e.getMessage();
         } catch (Exception e) {
             log.error("Erreur lors de l'envoi des données: {}", e.getMessage());
             return "Erreur lors de l'envoi des données - Mode fallback activé";
@@ -128,11 +292,10 @@ public class RecommendationService {
      * Récupère le statut de l'API Python
      */
     public String getPythonAPIStatus() {
-        log.info("Vérification du statut de l'API Python sur: {}", pythonApiUrl);
+        log.info("Vérification du statut de l'API Python sur: {}", pythonApiClient.getBaseUrl());
         
         try {
-            String url = pythonApiUrl + "/health";
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+            ResponseEntity<String> response = pythonApiClient.getHealth();
             
             if (response.getStatusCode().is2xxSuccessful()) {
                 return "API Python opérationnelle: " + response.getBody();
@@ -148,43 +311,97 @@ public class RecommendationService {
         }
     }
 
+    private boolean isPythonBackend() {
+        return "python".equalsIgnoreCase(backend);
+    }
+
     /**
-     * Récupère les jeux par leurs IDs
+     * Invalide immédiatement les recommandations de l'utilisateur et des jeux concernés. Avec le
+     * moteur local, la matrice n'est pas reconstruite pour autant : l'interaction y entre à la
+     * prochaine reconstruction périodique.
      */
-    private List<GameDTO> getGamesByIds(List<Long> gameIds) {
-        List<Game> games = gameRepository.findAllById(gameIds);
-        return games.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserInteraction(UserInteractionEvent event) {
+        precomputeService.markInteraction(event.userId());
+        userRecommendations.invalidate(event.userId());
+        gameRecommendations.invalidateAll(event.gameIds());
+    }
+
+    private void invalidateAll() {
+        userRecommendations.invalidateAll();
+        gameRecommendations.invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+        batchExecutor.shutdownNow();
     }
 
     /**
-     * Recommandations de fallback (jeux populaires)
+     * Calcul des IDs recommandés à un utilisateur ; null (non mis en cache) si l'API Python échoue.
+     * Avec le moteur local, le résultat précalculé est servi s'il existe.
      */
-    private List<GameDTO> getFallbackRecommendations() {
-        log.info("Utilisation des recommandations de fallback");
-        List<Game> popularGames = gameRepository.findAll().stream()
-                .limit(10)
-                .collect(Collectors.toList());
-        
-        return popularGames.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    private List<Long> computeForUser(Long userId) {
+        if (isPythonBackend()) {
+            return pythonApiClient.getRecommendedGameIds("/recommendations/user/" + userId).orElse(null);
+        }
+        return precomputeService.lookup(userId)
+                .orElseGet(() -> recommendationEngine.recommendForUser(userId, limit));
+    }
+
+    /**
+     * IDs recommandés lors d'un calcul groupé : valeur en cache si présente, sinon calcul direct
+     */
+    private List<Long> recommendedIdsForBatch(Long userId) {
+        List<Long> cached = userRecommendations.getIfPresent(userId);
+        return cached != null ? cached : computeForUser(userId);
+    }
+
+    private List<Long> computeForGame(Long gameId) {
+        if (isPythonBackend()) {
+            return pythonApiClient.getRecommendedGameIds("/recommendations/game/" + gameId).orElse(null);
+        }
+        return gameSimilarityService.similarGames(gameId, limit)
+                .orElseGet(() -> recommendationEngine.recommendForGame(gameId, limit));
+    }
+
+    /**
+     * Hydrate les IDs recommandés ; fallback si aucun résultat n'est disponible
+     * (API en échec, utilisateur ou jeu sans interaction)
+     */
+    private List<GameDTO> toRecommendations(List<Long> recommendedGameIds, Supplier<List<Long>> popularGameIds) {
+        if (recommendedGameIds == null || recommendedGameIds.isEmpty()) {
+            return getFallbackRecommendations(popularGameIds.get());
+        }
+        return getGamesByIds(recommendedGameIds);
+    }
+
+    /**
+     * Récupère les jeux par leurs IDs
+     */
+    private List<GameDTO> getGamesByIds(List<Long> gameIds) {
+        return gameService.getGamesByIds(gameIds);
     }
 
     /**
-     * Conversion d'une entité Game vers GameDTO
+     * Recommandations de fallback : lecture du classement de popularité précalculé,
+     * ou premiers jeux du catalogue tant que ce classement n'est pas disponible
      */
-    private GameDTO convertToDTO(Game game) {
-        return GameDTO.builder()
-                .id(game.getId())
-                .nom(game.getNom())
-                .description(game.getDescription())
-                .prix(game.getPrix())
-                .ageMinimum(game.getAgeMinimum())
-                .nombreJoueursMin(game.getNombreJoueursMin())
-                .nombreJoueursMax(game.getNombreJoueursMax())
-                .dureePartieMinutes(game.getDureePartieMinutes())
-                .build();
-    }
-} 
\ No newline at end of file
+    private List<Long> fallbackGameIds() {
+        List<Long> popularGameIds = popularityService.topGames(limit);
+        if (!popularGameIds.isEmpty()) {
+            return popularGameIds;
+        }
+        return gameRepository.findAll(PageRequest.of(0, limit, Sort.by("id"))).map(Game::getId).getContent();
+    }
+
+    private List<GameDTO> getFallbackRecommendations(List<Long> popularGameIds) {
+        log.info("Utilisation des recommandations de fallback");
+        if (!popularGameIds.isEmpty()) {
+            return getGamesByIds(popularGameIds);
+        }
+        List<Game> firstGames = gameRepository.findAll(PageRequest.of(0, limit, Sort.by("id"))).getContent();
+        return gameService.convertToDTOs(firstGames);
+    }
+}
@@ -0,0 +1,94 @@
+package com.gamesUP.gamesUP.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions fermées par une déconnexion, en mémoire. Les tokens étant autoportants, une session
+ * ouverte n'a rien à stocker : seules les fermées sont retenues, par ID de token, jusqu'à l'expiration
+ * du token (au-delà, sa signature suffit à le refuser). La table est concurrente (verrouillage par
+ * segment) et bornée ; une session évincée faute de place redevient utilisable jusqu'à l'expiration
+ * de son token, d'où le compteur dédié. Le balayage périodique est déclenché par {@link TokenService#sweep()}.
+ */
+@Component
+public class SessionStore {
+
+    // ID de token → expiration du token
+    private final Cache<String, Instant> closed;
+
+    @Autowired
+    public SessionStore(MeterRegistry meterRegistry,
+                        @Value("${gamesup.auth.token.revocation.maximum-size:100000}") long maximumSize) {
+        this(meterRegistry, maximumSize, Clock.systemUTC());
+    }
+
+    SessionStore(MeterRegistry meterRegistry, long maximumSize, Clock clock) {
+        this.closed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Instant>() {
+                    @Override
+                    public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+                        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(expiresAt.toEpochMilli()) - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(tokenId, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // Même horloge que l'expiration des tokens : l'entrée disparaît quand le token est refusé
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .executor(Runnable::run)
+                .removalListener((String tokenId, Instant expiresAt, RemovalCause cause) -> removed(meterRegistry, cause))
+                .build();
+
+        Gauge.builder("auth.tokens.revoked", closed, Cache::estimatedSize)
+                .description("Tokens révoqués non encore expirés")
+                .register(meterRegistry);
+    }
+
+    private static void removed(MeterRegistry meterRegistry, RemovalCause cause) {
+        if (cause == RemovalCause.EXPIRED || cause == RemovalCause.SIZE) {
+            Counter.builder("auth.sessions.removed")
+                    .description("Sessions fermées retirées de la mémoire, par cause")
+                    .tag("cause", cause == RemovalCause.SIZE ? "evicted" : "expired")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Retient la fermeture de la session du token jusqu'à l'expiration de celui-ci
+     */
+    public void close(String tokenId, Instant expiresAt) {
+        closed.put(tokenId, expiresAt);
+    }
+
+    public boolean isClosed(String tokenId) {
+        return closed.getIfPresent(tokenId) != null;
+    }
+
+    /**
+     * Récupère les entrées dont le token a expiré depuis
+     */
+    public void sweep() {
+        closed.cleanUp();
+    }
+}
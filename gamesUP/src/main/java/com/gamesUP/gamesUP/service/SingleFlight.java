@@ -0,0 +1,86 @@
+package com.gamesUP.gamesUP.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Regroupement des appels identiques simultanés : le premier appelant d'une clé exécute le calcul,
+ * ceux qui arrivent pendant son exécution attendent et reçoivent le même résultat (ou la même exception).
+ * Rien n'est conservé une fois le calcul terminé : un appel ultérieur recalcule.
+ */
+public final class SingleFlight {
+
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws Throwable;
+    }
+
+    private final Map<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("singleflight.calls")
+                .description("Appels regroupés par clé : exécutés ou ayant partagé un calcul en cours")
+                .tag("name", name)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.calls")
+                .description("Appels regroupés par clé : exécutés ou ayant partagé un calcul en cours")
+                .tag("name", name)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in-flight", inFlight, Map::size)
+                .description("Calculs en cours pouvant être partagés")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exécute {@code call} ou attend le calcul en cours pour la même clé. Un appel réentrant
+     * (même clé, même thread) est exécuté directement pour ne pas s'attendre lui-même.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Call<V> call) throws Throwable {
+        Flight created = new Flight(Thread.currentThread());
+        Flight existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            if (existing.leader == Thread.currentThread()) {
+                return call.call();
+            }
+            coalesced.increment();
+            try {
+                return (V) existing.result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        executed.increment();
+        try {
+            V value = call.call();
+            created.result.complete(value);
+            return value;
+        } catch (Throwable t) {
+            created.result.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private static final class Flight {
+
+        private final Thread leader;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Flight(Thread leader) {
+            this.leader = leader;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.model.RevokedToken;
+import com.gamesUP.gamesUP.model.User;
+import com.gamesUP.gamesUP.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tokens d'accès autoportants : {@code idClé.revendications.signature}, où les revendications
+ * (ID du token, utilisateur, rôle, expiration) sont signées par HMAC-SHA256. Un token émis par
+ * n'importe quel nœud se vérifie sans état partagé : comparaison à temps constant de la signature,
+ * puis contrôle de l'expiration. La première clé configurée signe ; les suivantes ne servent
+ * qu'à vérifier, ce qui permet une rotation sans déconnecter les utilisateurs. Les tokens
+ * fermés par une déconnexion sont enregistrés en base jusqu'à leur expiration ; chaque nœud
+ * en garde une copie dans son {@link SessionStore}, rafraîchie périodiquement : la vérification ne lit pas la base,
+ * et un token révoqué sur un nœud est refusé partout au plus un intervalle de relecture plus tard.
+ */
+@Component
+@Slf4j
+public class TokenService {
+
+    /**
+     * Revendications d'un token vérifié
+     */
+    public record TokenClaims(String tokenId, long userId, User.UserRole role, Instant expiresAt) {
+    }
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MINIMUM_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // Recouvrement entre deux relectures : absorbe les écarts d'horloge entre nœuds
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final Map<String, ThreadLocal<Mac>> keys = new LinkedHashMap<>();
+    private final String signingKeyId;
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+    private final SessionStore sessionStore;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private volatile Instant lastRefresh = Instant.EPOCH;
+    private final MeterRegistry meterRegistry;
+    private final Counter issued;
+
+    @Autowired
+    public TokenService(RevokedTokenRepository revokedTokenRepository, SessionStore sessionStore,
+                        MeterRegistry meterRegistry,
+                        @Value("${gamesup.auth.token.keys}") List<String> keys,
+                        @Value("${gamesup.auth.token.ttl:2h}") Duration ttl) {
+        this(revokedTokenRepository, sessionStore, meterRegistry, keys, ttl, Clock.systemUTC());
+    }
+
+    TokenService(RevokedTokenRepository revokedTokenRepository, SessionStore sessionStore,
+                 MeterRegistry meterRegistry, List<String> keys, Duration ttl, Clock clock) {
+        for (String entry : keys) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Clé de signature invalide, format attendu id:secretBase64");
+            }
+            String keyId = entry.substring(0, separator).trim();
+            byte[] secret = Base64.getDecoder().decode(entry.substring(separator + 1).trim());
+            if (secret.length < MINIMUM_KEY_BYTES) {
+                throw new IllegalArgumentException("Clé de signature " + keyId + " trop courte (32 octets minimum)");
+            }
+            SecretKeySpec spec = new SecretKeySpec(secret, ALGORITHM);
+            // Mac n'est pas thread-safe : une instance par thread et par clé
+            this.keys.put(keyId, ThreadLocal.withInitial(() -> newMac(spec)));
+        }
+        if (this.keys.isEmpty()) {
+            throw new IllegalArgumentException("Au moins une clé de signature doit être configurée");
+        }
+        this.signingKeyId = this.keys.keySet().iterator().next();
+        this.ttl = ttl;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.sessionStore = sessionStore;
+        this.issued = Counter.builder("auth.tokens.issued")
+                .description("Tokens d'accès émis")
+                .register(meterRegistry);
+    }
+
+    private static Mac newMac(SecretKeySpec spec) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(spec);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+
+    /**
+     * Émet un token signé par la clé active
+     */
+    public String issue(long userId, User.UserRole role) {
+        byte[] tokenId = new byte[16];
+        random.nextBytes(tokenId);
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        String claims = ENCODER.encodeToString(tokenId) + ":" + userId + ":" + role.name() + ":" + expiresAt;
+        String signedPart = signingKeyId + "." + ENCODER.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        issued.increment();
+        return signedPart + "." + ENCODER.encodeToString(sign(signingKeyId, signedPart));
+    }
+
+    /**
+     * Revendications d'un token dont la signature, l'expiration et la non-révocation sont vérifiées
+     */
+    public Optional<TokenClaims> verify(String token) {
+        Optional<TokenClaims> claims = verifySignatureAndExpiry(token);
+        if (claims.isPresent() && sessionStore.isClosed(claims.get().tokenId())) {
+            record("revoked");
+            return Optional.empty();
+        }
+        return claims;
+    }
+
+    /**
+     * Révoque un token valide jusqu'à son expiration, sur ce nœud immédiatement et sur les autres
+     * à leur prochaine relecture ; sans effet sur un token invalide ou expiré
+     */
+    public void revoke(String token) {
+        verifySignatureAndExpiry(token).ifPresent(claims -> {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(claims.tokenId())
+                    .expiresAt(claims.expiresAt())
+                    .revokedAt(clock.instant())
+                    .build());
+            sessionStore.close(claims.tokenId(), claims.expiresAt());
+        });
+    }
+
+    /**
+     * Relit les révocations enregistrées par tous les nœuds depuis la relecture précédente
+     */
+    @Scheduled(fixedDelayString = "${gamesup.auth.token.revocation.refresh-interval:PT10S}")
+    public void refreshRevocations() {
+        Instant now = clock.instant();
+        try {
+            for (RevokedToken revokedToken : revokedTokenRepository.findActiveRevokedSince(
+                    lastRefresh.minus(REFRESH_OVERLAP), now)) {
+                sessionStore.close(revokedToken.getTokenId(), revokedToken.getExpiresAt());
+            }
+            lastRefresh = now;
+        } catch (RuntimeException e) {
+            // La relecture suivante reprend depuis la dernière réussie
+            log.error("Erreur lors de la relecture des tokens révoqués: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retire de la liste de révocation, en mémoire et en base, les tokens arrivés à expiration
+     */
+    @Scheduled(fixedDelayString = "${gamesup.auth.token.revocation.sweep-interval:PT1M}")
+    public void sweep() {
+        sessionStore.sweep();
+        revokedTokenRepository.deleteExpired(clock.instant());
+    }
+
+    private Optional<TokenClaims> verifySignatureAndExpiry(String token) {
+        int first = token == null ? -1 : token.indexOf('.');
+        int last = token == null ? -1 : token.lastIndexOf('.');
+        if (first <= 0 || last == first) {
+            return reject("malformed");
+        }
+        String keyId = token.substring(0, first);
+        if (!keys.containsKey(keyId)) {
+            return reject("unknown_key");
+        }
+        String signedPart = token.substring(0, last);
+        try {
+            byte[] signature = DECODER.decode(token.substring(last + 1));
+            if (!MessageDigest.isEqual(signature, sign(keyId, signedPart))) {
+                return reject("signature");
+            }
+            String[] claims = new String(DECODER.decode(token.substring(first + 1, last)), StandardCharsets.UTF_8)
+                    .split(":");
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(claims[3]));
+            if (!clock.instant().isBefore(expiresAt)) {
+                return reject("expired");
+            }
+            record("valid");
+            return Optional.of(new TokenClaims(claims[0], Long.parseLong(claims[1]),
+                    User.UserRole.valueOf(claims[2]), expiresAt));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return reject("malformed");
+        }
+    }
+
+    private byte[] sign(String keyId, String signedPart) {
+        return keys.get(keyId).get().doFinal(signedPart.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Optional<TokenClaims> reject(String reason) {
+        record(reason);
+        return Optional.empty();
+    }
+
+    private void record(String outcome) {
+        Counter.builder("auth.tokens.verifications")
+                .description("Vérifications de tokens d'accès, par résultat")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,355 @@
+package com.gamesUP.gamesUP.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamesUP.gamesUP.model.InteractionChange;
+import com.gamesUP.gamesUP.model.TrainingExportCursor;
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.InteractionChangeRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.repository.TrainingExportCursorRepository;
+import com.gamesUP.gamesUP.repository.WishlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Export des interactions utilisateur × jeu vers l'API Python, par lots NDJSON de taille bornée.
+ * L'export complet lit chaque source par pagination sur l'ID et demande à l'API d'oublier les lots
+ * précédents. L'export incrémental lit le journal des interactions modifiées par pagination sur
+ * (date, ID), en s'arrêtant à un retrait de sécurité de l'instant courant pour ne pas dépasser une
+ * transaction encore en cours ; pour chaque couple modifié, il envoie une suppression suivie de
+ * l'état courant du couple, ce qui couvre modifications, annulations et suppressions. Si l'API
+ * a perdu son magasin d'interactions (redémarrage), l'export incrémental devient complet.
+ */
+@Service
+@Slf4j
+public class TrainingDataExportService {
+
+    public enum Source {
+        PURCHASE_LINES,
+        REVIEWS,
+        WISHLIST
+    }
+
+    /**
+     * Bilan d'un export : lignes envoyées par source, couples supprimés puis renvoyés
+     * (export incrémental) et nombre de lots
+     */
+    public record ExportReport(Map<Source, Long> exported, long replayedPairs, int batches) {
+
+        public long total() {
+            return exported.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    static final String CURSOR_KEY = "interaction_changes";
+
+    private final PurchaseRepository purchaseRepository;
+    private final AvisRepository avisRepository;
+    private final WishlistRepository wishlistRepository;
+    private final InteractionChangeRepository changeRepository;
+    private final TrainingExportCursorRepository cursorRepository;
+    private final PythonApiClient pythonApiClient;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTemplate;
+    private final int batchSize;
+    private final Duration safetyLag;
+    private final Clock clock;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public TrainingDataExportService(PurchaseRepository purchaseRepository, AvisRepository avisRepository,
+                                     WishlistRepository wishlistRepository,
+                                     InteractionChangeRepository changeRepository,
+                                     TrainingExportCursorRepository cursorRepository,
+                                     PythonApiClient pythonApiClient, ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${gamesup.training-export.batch-size:5000}") int batchSize,
+                                     @Value("${gamesup.training-export.safety-lag:1m}") Duration safetyLag) {
+        this(purchaseRepository, avisRepository, wishlistRepository, changeRepository, cursorRepository,
+                pythonApiClient, objectMapper, transactionManager, batchSize, safetyLag, Clock.systemDefaultZone());
+    }
+
+    TrainingDataExportService(PurchaseRepository purchaseRepository, AvisRepository avisRepository,
+                              WishlistRepository wishlistRepository, InteractionChangeRepository changeRepository,
+                              TrainingExportCursorRepository cursorRepository, PythonApiClient pythonApiClient,
+                              ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                              int batchSize, Duration safetyLag, Clock clock) {
+        this.purchaseRepository = purchaseRepository;
+        this.avisRepository = avisRepository;
+        this.wishlistRepository = wishlistRepository;
+        this.changeRepository = changeRepository;
+        this.cursorRepository = cursorRepository;
+        this.pythonApiClient = pythonApiClient;
+        this.objectMapper = objectMapper;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.safetyLag = safetyLag;
+        this.clock = clock;
+    }
+
+    /**
+     * Envoie les interactions modifiées depuis le dernier export réussi, ou toutes
+     * les interactions si {@code full} ou si aucun export complet n'a encore abouti.
+     * Un lot refusé interrompt l'export ; le suivant reprendra à ce lot.
+     */
+    public ExportReport exportInteractions(boolean full) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Un export des données d'entraînement est déjà en cours");
+        }
+        try {
+            TrainingExportCursor cursor = full ? null : cursorRepository.findById(CURSOR_KEY)
+                    .filter(existing -> existing.getStoreId() != null && existing.getLastChangedAt() != null)
+                    .orElse(null);
+            ExportReport report;
+            if (cursor == null) {
+                report = exportAll();
+            } else {
+                try {
+                    report = exportChanges(cursor);
+                } catch (HttpClientErrorException.Conflict e) {
+                    log.warn("L'API Python ne détient plus les interactions exportées, export complet");
+                    report = exportAll();
+                }
+            }
+            log.info("Export des données d'entraînement terminé: {} interactions, {} couples renvoyés, {} lots",
+                    report.total(), report.replayedPairs(), report.batches());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ExportReport exportAll() {
+        // Les modifications postérieures à cette borne seront rejouées par l'export incrémental suivant
+        LocalDateTime replayFrom = LocalDateTime.now(clock).minus(safetyLag);
+        // Tant que l'export complet n'a pas abouti, l'API n'a qu'une partie des interactions
+        saveCursor(replayFrom, 0L, null);
+
+        Map<Source, Long> exported = new EnumMap<>(Source.class);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        String storeId = null;
+        boolean reset = true;
+        int batches = 0;
+        for (Source source : Source.values()) {
+            long afterId = 0;
+            long count = 0;
+            List<Object[]> rows;
+            do {
+                long from = afterId;
+                rows = readTemplate.execute(status -> fetchAfter(source, from));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                storeId = post(toNdjson(source, rows, buffer), reset, null);
+                reset = false;
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+                count += rows.size();
+                batches++;
+            } while (rows.size() == batchSize);
+            exported.put(source, count);
+        }
+        if (reset) {
+            // Export complet sans aucune donnée : l'API doit tout de même oublier les lots précédents
+            storeId = post(new byte[0], true, null);
+        }
+        saveCursor(replayFrom, 0L, storeId);
+        changeRepository.deleteChangedBefore(replayFrom);
+        return new ExportReport(exported, 0, batches);
+    }
+
+    private ExportReport exportChanges(TrainingExportCursor cursor) {
+        LocalDateTime until = LocalDateTime.now(clock).minus(safetyLag);
+        LocalDateTime afterTime = cursor.getLastChangedAt();
+        long afterId = cursor.getLastExportedId();
+        String storeId = cursor.getStoreId();
+
+        Map<Source, Long> exported = new EnumMap<>(Source.class);
+        for (Source source : Source.values()) {
+            exported.put(source, 0L);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        long replayedPairs = 0;
+        int batches = 0;
+        List<InteractionChange> changes;
+        do {
+            LocalDateTime fromTime = afterTime;
+            long fromId = afterId;
+            changes = readTemplate.execute(status ->
+                    changeRepository.findChangesAfter(fromTime, fromId, until, Limit.of(batchSize)));
+            if (changes.isEmpty()) {
+                break;
+            }
+            Set<Pair> pairs = changes.stream()
+                    .map(change -> new Pair(change.getUserId(), change.getGameId()))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            // Une seule transaction de lecture : l'état envoyé pour un couple est cohérent entre sources
+            Map<Source, List<Object[]>> rows = readTemplate.execute(status -> fetchPairs(pairs));
+            storeId = post(toNdjson(pairs, rows, buffer), false, storeId);
+
+            InteractionChange last = changes.get(changes.size() - 1);
+            afterTime = last.getChangedAt();
+            afterId = last.getId();
+            saveCursor(afterTime, afterId, storeId);
+            rows.forEach((source, sourceRows) -> exported.merge(source, (long) sourceRows.size(), Long::sum));
+            replayedPairs += pairs.size();
+            batches++;
+        } while (changes.size() == batchSize);
+        if (batches == 0) {
+            // Aucun changement : un lot vide vérifie tout de même que l'API détient toujours le magasin
+            post(new byte[0], false, storeId);
+        }
+        changeRepository.deleteChangedBefore(afterTime);
+        return new ExportReport(exported, replayedPairs, batches);
+    }
+
+    /**
+     * Envoie un lot et retourne le magasin d'interactions de l'API qui l'a reçu
+     */
+    private String post(byte[] ndjson, boolean reset, String storeId) {
+        ResponseEntity<String> response = pythonApiClient.postInteractions(ndjson, reset, storeId);
+        if (response == null || response.getBody() == null) {
+            return storeId;
+        }
+        try {
+            String received = objectMapper.readTree(response.getBody()).path("store_id").asText(null);
+            return received != null ? received : storeId;
+        } catch (IOException e) {
+            return storeId;
+        }
+    }
+
+    private List<Object[]> fetchAfter(Source source, long afterId) {
+        Limit limit = Limit.of(batchSize);
+        return switch (source) {
+            case PURCHASE_LINES -> purchaseRepository.findSaleLinesAfter(afterId, limit);
+            case REVIEWS -> avisRepository.findApprovedNotesAfter(afterId, limit);
+            case WISHLIST -> wishlistRepository.findEntriesAfter(afterId, limit);
+        };
+    }
+
+    /**
+     * État courant des couples : les requêtes portent sur le produit des utilisateurs et des jeux,
+     * les lignes hors des couples demandés sont écartées
+     */
+    private Map<Source, List<Object[]>> fetchPairs(Set<Pair> pairs) {
+        Set<Long> userIds = pairs.stream().map(Pair::userId).collect(Collectors.toSet());
+        Set<Long> gameIds = pairs.stream().map(Pair::gameId).collect(Collectors.toSet());
+        Map<Source, List<Object[]>> rows = new EnumMap<>(Source.class);
+        for (Source source : Source.values()) {
+            List<Object[]> sourceRows = switch (source) {
+                case PURCHASE_LINES -> purchaseRepository.findSaleLinesOf(userIds, gameIds);
+                case REVIEWS -> avisRepository.findApprovedNotesOf(userIds, gameIds);
+                case WISHLIST -> wishlistRepository.findEntriesOf(userIds, gameIds);
+            };
+            rows.put(source, sourceRows.stream()
+                    .filter(row -> pairs.contains(new Pair((Long) row[1], (Long) row[2])))
+                    .toList());
+        }
+        return rows;
+    }
+
+    private void saveCursor(LocalDateTime lastChangedAt, long lastExportedId, String storeId) {
+        cursorRepository.save(TrainingExportCursor.builder()
+                .source(CURSOR_KEY)
+                .lastChangedAt(lastChangedAt)
+                .lastExportedId(lastExportedId)
+                .storeId(storeId)
+                .lastSyncAt(LocalDateTime.now(clock))
+                .build());
+    }
+
+    /**
+     * Une ligne JSON par interaction : (id, utilisateur, jeu, valeur, date) selon la source.
+     * Le tampon est réutilisé d'un lot à l'autre.
+     */
+    byte[] toNdjson(Source source, List<Object[]> rows, ByteArrayOutputStream buffer) {
+        return toNdjson(Set.of(), Map.of(source, rows), buffer);
+    }
+
+    /**
+     * Suppressions des couples d'abord, puis leur état courant : l'API reconstruit chaque couple
+     */
+    byte[] toNdjson(Set<Pair> deleted, Map<Source, List<Object[]>> rows, ByteArrayOutputStream buffer) {
+        buffer.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            // Pas d'espace entre objets racine : seul le saut de ligne les sépare
+            generator.setRootValueSeparator(null);
+            for (Pair pair : deleted) {
+                generator.writeStartObject();
+                generator.writeStringField("kind", "delete");
+                generator.writeNumberField("user_id", pair.userId());
+                generator.writeNumberField("game_id", pair.gameId());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            for (Source source : Source.values()) {
+                for (Object[] row : rows.getOrDefault(source, List.of())) {
+                    writeRow(generator, source, row);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void writeRow(JsonGenerator generator, Source source, Object[] row) throws IOException {
+        generator.writeStartObject();
+        switch (source) {
+            case PURCHASE_LINES -> {
+                generator.writeStringField("kind", "purchase");
+                writeIds(generator, row);
+                generator.writeNumberField("quantity", ((Number) row[3]).intValue());
+            }
+            case REVIEWS -> {
+                generator.writeStringField("kind", "review");
+                writeIds(generator, row);
+                generator.writeNumberField("note", ((Number) row[3]).intValue());
+            }
+            case WISHLIST -> {
+                generator.writeStringField("kind", "wishlist");
+                writeIds(generator, row);
+                if (row[3] != null) {
+                    generator.writeNumberField("priority", ((Number) row[3]).intValue());
+                }
+            }
+        }
+        if (row[4] != null) {
+            generator.writeStringField("at", row[4].toString());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeIds(JsonGenerator generator, Object[] row) throws IOException {
+        generator.writeNumberField("user_id", (Long) row[1]);
+        generator.writeNumberField("game_id", (Long) row[2]);
+    }
+
+    record Pair(long userId, long gameId) {
+    }
+}
@@ -4,13 +4,20 @@ import com.gamesUP.gamesUP.dto.UserDTO;
 import com.gamesUP.gamesUP.model.User;
 import com.gamesUP.gamesUP.repository.UserRepository;
 import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,15 +27,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final UserRepository userRepository;
     private final PurchaseRepository purchaseRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
     
-    public List<UserDTO> getAllUsers() {
-        log.info("Récupération de tous les utilisateurs");
-        return userRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public Page<UserDTO> getAllUsers(int page, int size) {
+        log.info("Récupération de tous les utilisateurs (page {})", page);
+        return convertPage(userRepository.findAll(pageRequest(page, size)));
     }
     
     public Optional<UserDTO> getUserById(Long id) {
@@ -41,25 +49,19 @@ public class UserService {
         return userRepository.findByEmail(email).map(this::convertToDTO);
     }
     
-    public List<UserDTO> getUsersByRole(User.UserRole role) {
-        log.info("Récupération des utilisateurs avec le rôle: {}", role);
-        return userRepository.findByRole(role).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public Page<UserDTO> getUsersByRole(User.UserRole role, int page, int size) {
+        log.info("Récupération des utilisateurs avec le rôle: {} (page {})", role, page);
+        return convertPage(userRepository.findByRole(role, pageRequest(page, size)));
     }
     
     public List<UserDTO> getActiveUsers() {
         log.info("Récupération des utilisateurs actifs");
-        return userRepository.findByActive(true).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(userRepository.findByActive(true));
     }
     
     public List<UserDTO> searchUsers(String keyword) {
         log.info("Recherche d'utilisateurs avec le mot-clé: {}", keyword);
-        return userRepository.findByKeyword(keyword).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(userRepository.findByKeyword(keyword));
     }
     
     public UserDTO createUser(UserDTO userDTO) {
@@ -72,7 +74,7 @@ public class UserService {
         
         User user = convertToEntity(userDTO);
         // Encoder le mot de passe
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPassword(passwordHashingService.encode(userDTO.getPassword()));
         
         User savedUser = userRepository.save(user);
         return convertToDTO(savedUser);
@@ -92,10 +94,11 @@ public class UserService {
             
             // Encoder le mot de passe seulement s'il a changé
             if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
-                existingUser.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+                existingUser.setPassword(passwordHashingService.encode(userDTO.getPassword()));
             }
             
             User updatedUser = userRepository.save(existingUser);
+            principalCache.invalidate(id);
             return convertToDTO(updatedUser);
         });
     }
@@ -105,6 +108,7 @@ public class UserService {
         
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            principalCache.invalidate(id);
             return true;
         }
         return false;
@@ -116,6 +120,7 @@ public class UserService {
         return userRepository.findById(id).map(user -> {
             user.setActive(false);
             userRepository.save(user);
+            principalCache.invalidate(id);
             return true;
         }).orElse(false);
     }
@@ -126,6 +131,7 @@ public class UserService {
         return userRepository.findById(id).map(user -> {
             user.setActive(true);
             userRepository.save(user);
+            principalCache.invalidate(id);
             return true;
         }).orElse(false);
     }
@@ -136,6 +142,7 @@ public class UserService {
         return userRepository.findById(id).map(user -> {
             user.setRole(newRole);
             userRepository.save(user);
+            principalCache.invalidate(id);
             return true;
         }).orElse(false);
     }
@@ -144,39 +151,59 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
     
-    public List<UserDTO> getActiveClients() {
-        log.info("Récupération des clients actifs");
-        return userRepository.findActiveClients().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public Page<UserDTO> getActiveClients(int page, int size) {
+        log.info("Récupération des clients actifs (page {})", page);
+        return convertPage(userRepository.findActiveClients(pageRequest(page, size)));
+    }
+    
+    public Page<UserDTO> getActiveAdmins(int page, int size) {
+        log.info("Récupération des administrateurs actifs (page {})", page);
+        return convertPage(userRepository.findActiveAdmins(pageRequest(page, size)));
     }
     
-    public List<UserDTO> getActiveAdmins() {
-        log.info("Récupération des administrateurs actifs");
-        return userRepository.findActiveAdmins().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    private static Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), Sort.by("id"));
     }
     
     // Méthodes de conversion
     private UserDTO convertToDTO(User user) {
-        UserDTO dto = UserDTO.builder()
-                .id(user.getId())
-                .nom(user.getNom())
-                .prenom(user.getPrenom())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .active(user.isActive())
-                .build();
-        
-        // Ajout des statistiques
-        Long numberOfPurchases = purchaseRepository.countByUserId(user.getId());
-        Double totalSpent = purchaseRepository.getTotalSpentByUser(user.getId());
-        
-        dto.setNumberOfPurchases(numberOfPurchases);
-        dto.setTotalSpent(totalSpent != null ? totalSpent : 0.0);
+        return convertToDTOs(List.of(user)).get(0);
+    }
+    
+    private Page<UserDTO> convertPage(Page<User> users) {
+        return new PageImpl<>(convertToDTOs(users.getContent()), users.getPageable(), users.getTotalElements());
+    }
+    
+    /**
+     * Conversion d'une liste d'utilisateurs ; leurs statistiques d'achat sont lues en une seule requête groupée
+     */
+    private List<UserDTO> convertToDTOs(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Object[]> statsByUser = new HashMap<>();
+        for (Object[] row : purchaseRepository.findPurchaseStatsByUserIds(
+                users.stream().map(User::getId).collect(Collectors.toList()))) {
+            statsByUser.put((Long) row[0], row);
+        }
         
-        return dto;
+        return users.stream().map(user -> {
+            UserDTO dto = UserDTO.builder()
+                    .id(user.getId())
+                    .nom(user.getNom())
+                    .prenom(user.getPrenom())
+                    .email(user.getEmail())
+                    .role(user.getRole())
+                    .active(user.isActive())
+                    .build();
+            
+            // Ajout des statistiques (aucune commande : pas de ligne)
+            Object[] stats = statsByUser.get(user.getId());
+            dto.setNumberOfPurchases(stats != null ? ((Number) stats[1]).longValue() : 0L);
+            dto.setTotalSpent(stats != null && stats[2] != null ? ((Number) stats[2]).doubleValue() : 0.0);
+            
+            return dto;
+        }).collect(Collectors.toList());
     }
     
     private User convertToEntity(UserDTO dto) {
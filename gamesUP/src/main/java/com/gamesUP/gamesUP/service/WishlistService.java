@@ -1,10 +1,13 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
 import com.gamesUP.gamesUP.model.Wishlist;
 import com.gamesUP.gamesUP.repository.WishlistRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +18,7 @@ import java.util.Optional;
 public class WishlistService {
 
     private final WishlistRepository wishlistRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Récupère tous les éléments de wishlist
@@ -43,33 +47,44 @@ public class WishlistService {
     /**
      * Crée un nouvel élément de wishlist
      */
+    @Transactional
     public Wishlist createWishlist(Wishlist wishlist) {
         log.info("Création d'un nouvel élément de wishlist pour l'utilisateur: {}", wishlist.getUser().getId());
-        return wishlistRepository.save(wishlist);
+        Wishlist savedWishlist = wishlistRepository.save(wishlist);
+        eventPublisher.publishEvent(UserInteractionEvent.of(savedWishlist.getUser().getId(), savedWishlist.getGame().getId()));
+        return savedWishlist;
     }
 
     /**
      * Met à jour un élément de wishlist
      */
+    @Transactional
     public Optional<Wishlist> updateWishlist(Long id, Wishlist wishlist) {
         log.info("Mise à jour de l'élément de wishlist avec l'ID: {}", id);
         return wishlistRepository.findById(id)
                 .map(existingWishlist -> {
                     existingWishlist.setDateAjout(wishlist.getDateAjout());
                     existingWishlist.setPriorite(wishlist.getPriorite());
-                    return wishlistRepository.save(existingWishlist);
+                    Wishlist savedWishlist = wishlistRepository.save(existingWishlist);
+                    eventPublisher.publishEvent(UserInteractionEvent.of(
+                            savedWishlist.getUser().getId(), savedWishlist.getGame().getId()));
+                    return savedWishlist;
                 });
     }
 
     /**
      * Supprime un élément de wishlist
      */
+    @Transactional
     public boolean deleteWishlist(Long id) {
         log.info("Suppression de l'élément de wishlist avec l'ID: {}", id);
-        if (wishlistRepository.existsById(id)) {
-            wishlistRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return wishlistRepository.findById(id)
+                .map(existingWishlist -> {
+                    wishlistRepository.delete(existingWishlist);
+                    eventPublisher.publishEvent(UserInteractionEvent.of(
+                            existingWishlist.getUser().getId(), existingWishlist.getGame().getId()));
+                    return true;
+                })
+                .orElse(false);
     }
 } 
\ No newline at end of file
@@ -42,6 +42,10 @@ INSERT INTO inventory (id, game_id, stock, stock_minimum, disponible) VALUES
 (3, 3, 5, 2, true),
 (4, 4, 3, 1, true);
 
+-- Les IDs explicites ci-dessus ne consomment pas les séquences : on les repositionne au-delà
+ALTER SEQUENCE games_seq RESTART WITH 1000;
+ALTER SEQUENCE inventory_seq RESTART WITH 1000;
+
 -- Insertion des utilisateurs
 INSERT INTO users (id, nom, prenom, email, password, role, active) VALUES 
 (1, 'Admin', 'Admin', 'admin@gamesup.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDa', 'ADMIN', true),
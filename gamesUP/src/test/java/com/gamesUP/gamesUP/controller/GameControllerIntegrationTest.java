@@ -2,37 +2,52 @@ package com.gamesUP.gamesUP.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.GameImportResultDTO;
 import com.gamesUP.gamesUP.dto.GameSearchDTO;
 import com.gamesUP.gamesUP.model.Category;
 import com.gamesUP.gamesUP.model.Publisher;
 import com.gamesUP.gamesUP.repository.CategoryRepository;
 import com.gamesUP.gamesUP.repository.PublisherRepository;
 import com.gamesUP.gamesUP.config.SecurityConfig;
+import com.gamesUP.gamesUP.config.WebConfig;
+import com.gamesUP.gamesUP.security.PrincipalCache;
+import com.gamesUP.gamesUP.service.GameImportService;
 import com.gamesUP.gamesUP.service.GameService;
+import com.gamesUP.gamesUP.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.util.function.Consumer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(GameController.class)
 @ActiveProfiles("test")
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, WebConfig.class, SimpleMeterRegistry.class})
 class GameControllerIntegrationTest {
 
     @Autowired
@@ -41,12 +56,21 @@ class GameControllerIntegrationTest {
     @MockBean
     private GameService gameService;
 
+    @MockBean
+    private GameImportService gameImportService;
+
     @MockBean
     private CategoryRepository categoryRepository;
 
     @MockBean
     private PublisherRepository publisherRepository;
 
+    @MockBean
+    private TokenService tokenService;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -131,7 +155,7 @@ class GameControllerIntegrationTest {
                 .keyword("Catan")
                 .build();
         List<GameDTO> games = Arrays.asList(testGameDTO);
-        when(gameService.searchGames(any(GameSearchDTO.class))).thenReturn(games);
+        when(gameService.searchGames(any(GameSearchDTO.class))).thenReturn(new PageImpl<>(games));
 
         // When & Then
         mockMvc.perform(post("/api/games/search")
@@ -139,21 +163,128 @@ class GameControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(searchDTO)))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].nom").value("Catan"));
+                .andExpect(jsonPath("$.content[0].nom").value("Catan"))
+                .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    void searchGames_WithIncludeFacets_ShouldReturnFacetCounts() throws Exception {
+        // Given
+        when(gameService.searchGames(any(GameSearchDTO.class))).thenReturn(new PageImpl<>(List.of(testGameDTO)));
+        when(gameService.getSearchFacets(any(GameSearchDTO.class)))
+                .thenReturn(Map.of("category", Map.of("1", 1L)));
+
+        // When & Then
+        mockMvc.perform(post("/api/games/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryId\": 1, \"includeFacets\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nom").value("Catan"))
+                .andExpect(jsonPath("$.page.totalElements").value(1))
+                .andExpect(jsonPath("$.facets.category.1").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importGames_WithNdjson_ShouldPassEachLineToTheImport() throws Exception {
+        // Given
+        List<String> importedNames = new ArrayList<>();
+        when(gameImportService.importGames(any())).thenAnswer(invocation -> {
+            Iterator<GameDTO> games = invocation.getArgument(0);
+            games.forEachRemaining(game -> importedNames.add(game.getNom()));
+            return GameImportResultDTO.builder().total(importedNames.size()).imported(importedNames.size()).build();
+        });
+
+        // When & Then
+        mockMvc.perform(post("/api/games/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"nom\":\"Azul\",\"prix\":39.90}\n{\"nom\":\"Dixit\",\"prix\":29.90}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+        assertEquals(List.of("Azul", "Dixit"), importedNames);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importGames_WithJsonArray_ShouldIterateArrayElements() throws Exception {
+        // Given
+        when(gameImportService.importGames(any())).thenAnswer(invocation -> {
+            Iterator<GameDTO> games = invocation.getArgument(0);
+            int count = 0;
+            while (games.hasNext()) {
+                games.next();
+                count++;
+            }
+            return GameImportResultDTO.builder().total(count).imported(count).build();
+        });
+
+        // When & Then
+        mockMvc.perform(post("/api/games/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nom\":\"Azul\",\"prix\":39.90},{\"nom\":\"Dixit\",\"prix\":29.90}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    void streamGames_ShouldWriteOneJsonDocumentPerLine() throws Exception {
+        // Given
+        GameDTO otherGame = GameDTO.builder().id(2L).nom("Pandemic").prix(new BigDecimal("39.99")).build();
+        doAnswer(invocation -> {
+            Consumer<GameDTO> consumer = invocation.getArgument(0);
+            consumer.accept(testGameDTO);
+            consumer.accept(otherGame);
+            return null;
+        }).when(gameService).forEachGame(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/games/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Catan", objectMapper.readValue(lines[0], GameDTO.class).getNom());
+        assertEquals("Pandemic", objectMapper.readValue(lines[1], GameDTO.class).getNom());
     }
 
     @Test
     void searchGamesByKeyword_ShouldReturnFilteredGames() throws Exception {
         // Given
         List<GameDTO> games = Arrays.asList(testGameDTO);
-        when(gameService.searchGames(any(GameSearchDTO.class))).thenReturn(games);
+        when(gameService.searchGamesByText("Catan", 0, 20)).thenReturn(new PageImpl<>(games));
 
         // When & Then
         mockMvc.perform(get("/api/games/search")
                         .param("keyword", "Catan"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].nom").value("Catan"));
+                .andExpect(jsonPath("$.content[0].nom").value("Catan"));
+    }
+
+    @Test
+    void searchGamesByKeyword_ShouldSerializePageThroughStableDto() throws Exception {
+        // Given
+        when(gameService.searchGamesByText("Catan", 1, 1))
+                .thenReturn(new PageImpl<>(List.of(testGameDTO), PageRequest.of(1, 1), 3));
+
+        // When & Then : contenu et métadonnées sous "page", sans les champs internes de PageImpl
+        mockMvc.perform(get("/api/games/search")
+                        .param("keyword", "Catan")
+                        .param("page", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nom").value("Catan"))
+                .andExpect(jsonPath("$.page.size").value(1))
+                .andExpect(jsonPath("$.page.number").value(1))
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.page.totalPages").value(3))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
     }
 
     @Test
@@ -4,12 +4,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ActiveProfiles;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 class RecommendationControllerIntegrationTest {
 
@@ -21,4 +26,13 @@ class RecommendationControllerIntegrationTest {
         mockMvc.perform(get("/api/recommendations/1"))
                 .andExpect(status().isInternalServerError());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getRecommendationsForUsers_ListeVide_Retourne400() throws Exception {
+        mockMvc.perform(post("/api/recommendations/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -8,11 +8,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.ActiveProfiles;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
 class UserControllerIntegrationTest {
 
@@ -28,6 +31,15 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getClientsPagineAvecStatistiques() throws Exception {
+        mockMvc.perform(get("/api/users/clients").param("page", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].numberOfPurchases").exists())
+                .andExpect(jsonPath("$.content[0].totalSpent").exists());
+    }
+
     @Test
     void getAdminsAccessibleSansAuth() throws Exception {
         mockMvc.perform(get("/api/users/admins"))
@@ -0,0 +1,61 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.model.GameRatingStats;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class GameRatingStatsRepositoryTest {
+
+    @Autowired
+    private GameRatingStatsRepository gameRatingStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void applyDelta_ShouldCreateStatsThenIncrementThem() {
+        gameRatingStatsRepository.applyDelta(1L, 5, 1);
+        gameRatingStatsRepository.applyDelta(1L, 3, 1);
+        entityManager.clear();
+
+        GameRatingStats stats = gameRatingStatsRepository.findById(1L).orElseThrow();
+        assertEquals(8, stats.getRatingSum());
+        assertEquals(2, stats.getRatingCount());
+    }
+
+    @Test
+    void replaceIfUnchanged_ShouldLeaveStatsModifiedSinceRead() {
+        gameRatingStatsRepository.applyDelta(1L, 5, 1);
+        gameRatingStatsRepository.applyDelta(1L, 4, 1);
+
+        assertEquals(0, gameRatingStatsRepository.replaceIfUnchanged(1L, 5, 1, 7, 2));
+        assertEquals(1, gameRatingStatsRepository.replaceIfUnchanged(1L, 9, 2, 7, 2));
+        entityManager.clear();
+
+        assertEquals(7, gameRatingStatsRepository.findById(1L).orElseThrow().getRatingSum());
+    }
+
+    @Test
+    void findTopRated_ShouldRankByAverageAndSkipGamesBelowMinimum() {
+        gameRatingStatsRepository.applyDelta(1L, 9, 2);
+        gameRatingStatsRepository.applyDelta(2L, 5, 1);
+        gameRatingStatsRepository.applyDelta(3L, 12, 3);
+        gameRatingStatsRepository.applyDelta(4L, 0, 0);
+
+        List<Long> ids = gameRatingStatsRepository.findTopRated(1, PageRequest.of(0, 10)).stream()
+                .map(GameRatingStats::getGameId)
+                .toList();
+
+        assertEquals(List.of(2L, 1L, 3L), ids);
+    }
+}
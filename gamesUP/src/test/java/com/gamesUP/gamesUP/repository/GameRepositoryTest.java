@@ -0,0 +1,34 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.model.Game;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class GameRepositoryTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Test
+    void keysetPages_ShouldWalkTheWholeCatalogInNameOrder() {
+        List<String> names = new ArrayList<>();
+        List<Game> page = gameRepository.findFirstPageOrderByNomAndId(Limit.of(3));
+        while (!page.isEmpty()) {
+            page.forEach(game -> names.add(game.getNom()));
+            Game last = page.get(page.size() - 1);
+            page = gameRepository.findPageAfterOrderByNomAndId(last.getNom(), last.getId(), Limit.of(3));
+        }
+
+        assertEquals(List.of("Agricola", "Catan", "Pandemic", "Ticket to Ride"), names);
+    }
+}
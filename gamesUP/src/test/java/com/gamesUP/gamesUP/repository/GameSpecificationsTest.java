@@ -0,0 +1,92 @@
+package com.gamesUP.gamesUP.repository;
+
+import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import com.gamesUP.gamesUP.model.Game;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class GameSpecificationsTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private List<String> search(GameSearchDTO searchDTO) {
+        return gameRepository.findAll(GameSpecifications.fromSearch(searchDTO), Sort.by("nom")).stream()
+                .map(Game::getNom)
+                .toList();
+    }
+
+    @Test
+    void fromSearch_WithoutCriteria_ShouldMatchAllGames() {
+        assertEquals(List.of("Agricola", "Catan", "Pandemic", "Ticket to Ride"), search(new GameSearchDTO()));
+    }
+
+    @Test
+    void fromSearch_WithCategoryAndMaxPrice_ShouldCombinePredicates() {
+        GameSearchDTO searchDTO = GameSearchDTO.builder()
+                .categoryId(1L)
+                .maxPrice(new BigDecimal("45.00"))
+                .build();
+
+        assertEquals(List.of("Catan", "Pandemic"), search(searchDTO));
+    }
+
+    @Test
+    void fromSearch_WithAuthorName_ShouldMatchThroughAuthors() {
+        GameSearchDTO searchDTO = GameSearchDTO.builder()
+                .authorName("Knizia")
+                .build();
+
+        assertEquals(List.of("Pandemic"), search(searchDTO));
+    }
+
+    @Test
+    void fromSearch_WithPlayersAndDuration_ShouldFilterNumericFields() {
+        GameSearchDTO searchDTO = GameSearchDTO.builder()
+                .minPlayers(2)
+                .maxPlayers(5)
+                .maxDuration(60)
+                .build();
+
+        assertEquals(List.of("Ticket to Ride"), search(searchDTO));
+    }
+
+    @Test
+    void fromSearch_WithSinglePlayerBound_ShouldApplyItAlone() {
+        // Chaque borne est un critère indépendant : le jeu doit accepter ce nombre de joueurs
+        assertEquals(List.of("Agricola", "Pandemic", "Ticket to Ride"),
+                search(GameSearchDTO.builder().minPlayers(2).build()));
+        assertEquals(List.of("Ticket to Ride"), search(GameSearchDTO.builder().maxPlayers(5).build()));
+    }
+
+    @Test
+    void fromSearch_WithMaxAge_ShouldExcludeGamesForOlderPlayers() {
+        assertEquals(List.of("Pandemic", "Ticket to Ride"), search(GameSearchDTO.builder().maxAge(8).build()));
+    }
+
+    @Test
+    void fromSearch_WithKeywordAndStock_ShouldPaginateInDatabase() {
+        GameSearchDTO searchDTO = GameSearchDTO.builder()
+                .keyword("Jeu")
+                .enStock(true)
+                .build();
+
+        Page<Game> page = gameRepository.findAll(GameSpecifications.fromSearch(searchDTO),
+                PageRequest.of(0, 2, Sort.by("prix")));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(List.of("Ticket to Ride", "Pandemic"), page.getContent().stream().map(Game::getNom).toList());
+    }
+}
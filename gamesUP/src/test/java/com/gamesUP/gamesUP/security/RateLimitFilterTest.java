@@ -0,0 +1,110 @@
+package com.gamesUP.gamesUP.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gamesUP.gamesUP.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong now = new AtomicLong();
+
+    // Recherche : 2 requêtes d'affilée puis 1 par seconde
+    private final RateLimitFilter filter = new RateLimitFilter(meterRegistry,
+            new ObjectMapper().registerModule(new JavaTimeModule()), true,
+            List.of("search:/api/games/search:2:1", "similar-games:/api/recommendations/game/**:20:5",
+                    "recommendations:/api/recommendations/**:5:1"),
+            Duration.ofMinutes(10), 1000, now::get);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse perform(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private double requests(String group, String outcome) {
+        return meterRegistry.get("http.rate-limit.requests").tag("group", group).tag("outcome", outcome)
+                .counter().count();
+    }
+
+    @Test
+    void doFilter_ShouldRejectBeyondBurstWithRetryAfter() throws Exception {
+        assertEquals(200, perform("/api/games/search", "10.0.0.1").getStatus());
+        assertEquals(200, perform("/api/games/search", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = perform("/api/games/search", "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Trop de requêtes"));
+        assertEquals(2, requests("search", "allowed"));
+        assertEquals(1, requests("search", "throttled"));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(200, perform("/api/games/search", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldKeepSeparateBucketsPerClientAndRouteGroup() throws Exception {
+        perform("/api/games/search", "10.0.0.1");
+        perform("/api/games/search", "10.0.0.1");
+
+        assertEquals(200, perform("/api/games/search", "10.0.0.2").getStatus());
+        assertEquals(200, perform("/api/recommendations/user/1", "10.0.0.1").getStatus());
+        // Routes non déclarées : jamais limitées
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, perform("/api/games", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void doFilter_ShouldKeyAuthenticatedRequestsByUser() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(1L, "jean@email.com", User.UserRole.CLIENT, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.authorities()));
+
+        perform("/api/games/search", "10.0.0.1");
+        perform("/api/games/search", "10.0.0.2");
+
+        // Même utilisateur depuis une autre adresse : même seau
+        assertEquals(429, perform("/api/games/search", "10.0.0.3").getStatus());
+        SecurityContextHolder.clearContext();
+        assertEquals(200, perform("/api/games/search", "10.0.0.3").getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldApplyFirstMatchingGroupToSimilarGames() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            perform("/api/recommendations/user/1", "10.0.0.1");
+        }
+
+        assertEquals(429, perform("/api/recommendations/user/1", "10.0.0.1").getStatus());
+        // Fiches de jeu : seau distinct et plus large
+        for (int i = 0; i < 20; i++) {
+            assertEquals(200, perform("/api/recommendations/game/" + i, "10.0.0.1").getStatus());
+        }
+        assertEquals(20, requests("similar-games", "allowed"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.gamesUP.gamesUP.security;
 
+import com.gamesUP.gamesUP.model.User;
+import com.gamesUP.gamesUP.service.TokenService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -8,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -20,6 +23,9 @@ class SecurityConfigTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private TokenService tokenService;
+
     @Test
     void publicEndpoints_ShouldBeAccessibleWithoutAuthentication() throws Exception {
         // Test des endpoints publics - ces endpoints devraient être accessibles sans authentification
@@ -106,12 +112,104 @@ class SecurityConfigTest {
     }
 
     @Test
+    @Transactional
     void csrfProtection_ShouldBeDisabled() throws Exception {
         // CSRF devrait être désactivé pour l'API REST
         // Test avec un endpoint qui nécessite une authentification
         mockMvc.perform(post("/api/games")
+                        .header("Authorization", "Bearer " + tokenService.issue(2L, User.UserRole.CLIENT))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"nom\":\"Test Game\",\"prix\":29.99,\"description\":\"Test\",\"ageMinimum\":8,\"dureePartieMinutes\":60,\"nombreJoueursMin\":2,\"nombreJoueursMax\":4,\"categoryId\":1,\"publisherId\":1}"))
-                .andExpect(status().isBadRequest()); // 400 car validation échoue, pas 403 (CSRF)
+                .andExpect(status().isCreated()); // 201, pas 403 (CSRF)
+    }
+
+    @Test
+    void gameWritesAndBulkRoutes_ShouldNotBePublic() throws Exception {
+        mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/games/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/games/1"))
+                .andExpect(status().isForbidden());
+
+        // Import en masse : administrateurs uniquement
+        mockMvc.perform(post("/api/games/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/games/bulk")
+                        .header("Authorization", "Bearer " + tokenService.issue(2L, User.UserRole.CLIENT))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+
+        // Lecture du catalogue : publique
+        mockMvc.perform(get("/api/games/1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/games/top-rated"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/games/scroll"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/games/stream"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void batchRecommendations_ShouldRequireAdminRole() throws Exception {
+        mockMvc.perform(post("/api/recommendations/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/recommendations/users")
+                        .header("Authorization", "Bearer " + tokenService.issue(2L, User.UserRole.CLIENT))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void modelTrainingRoutes_ShouldRequireAdminRole() throws Exception {
+        for (String route : new String[]{"/api/recommendations/send-data", "/api/recommendations/update-model"}) {
+            mockMvc.perform(post(route))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(post(route)
+                            .header("Authorization", "Bearer " + tokenService.issue(2L, User.UserRole.CLIENT)))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void bearerToken_ShouldAuthenticateWithRoleOfUser() throws Exception {
+        // Utilisateurs 1 (ADMIN) et 2 (CLIENT) des données de test
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + tokenService.issue(1L, User.UserRole.ADMIN)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + tokenService.issue(2L, User.UserRole.CLIENT)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void invalidOrRevokedBearerToken_ShouldNotAuthenticate() throws Exception {
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer token-invalide"))
+                .andExpect(status().isForbidden());
+
+        String token = tokenService.issue(1L, User.UserRole.ADMIN);
+        tokenService.revoke(token);
+        mockMvc.perform(get("/api/users")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        // Un token invalide n'empêche pas l'accès aux endpoints publics
+        mockMvc.perform(get("/api/games")
+                        .header("Authorization", "Bearer token-invalide"))
+                .andExpect(status().isOk());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.LoginRequestDTO;
+import com.gamesUP.gamesUP.exception.TooManyRequestsException;
+import com.gamesUP.gamesUP.model.User;
+import com.gamesUP.gamesUP.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private User user;
+    private LoginRequestDTO loginRequest;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("jean@email.com");
+        user.setPassword("$2a$04$ancienHash");
+        user.setRole(User.UserRole.CLIENT);
+        user.setActive(true);
+
+        loginRequest = new LoginRequestDTO();
+        loginRequest.setEmail("jean@email.com");
+        loginRequest.setPassword("password123");
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldRejectBeforeLookupAndHashing() {
+        doThrow(new TooManyRequestsException("Trop d'échecs", Duration.ofMinutes(1)))
+                .when(loginThrottle).acquire("jean@email.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(loginRequest, "10.0.0.1"));
+
+        verifyNoInteractions(userRepository, passwordHashingService, tokenService);
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldKeepReservedFailure() {
+        when(userRepository.findByEmail("jean@email.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> authService.login(loginRequest, "10.0.0.1"));
+
+        verify(loginThrottle).acquire("jean@email.com", "10.0.0.1");
+        verify(loginThrottle, never()).release(any());
+        verify(loginThrottle, never()).recordSuccess(any());
+    }
+
+    @Test
+    void login_WhenHashingIsRejected_ShouldReleaseReservedAttempt() {
+        when(userRepository.findByEmail("jean@email.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword()))
+                .thenThrow(new TooManyRequestsException("Pool de hachage saturé", Duration.ofSeconds(1)));
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(loginRequest, "10.0.0.1"));
+
+        verify(loginThrottle).release("jean@email.com");
+        verify(loginThrottle, never()).recordSuccess(any());
+    }
+
+    @Test
+    void login_WithHashBelowConfiguredCost_ShouldRehashPassword() {
+        when(userRepository.findByEmail("jean@email.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", "$2a$04$ancienHash")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("$2a$04$ancienHash")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("$2a$10$nouveauHash");
+        when(tokenService.issue(1L, User.UserRole.CLIENT)).thenReturn("token");
+
+        assertEquals("token", authService.login(loginRequest, "10.0.0.1").getToken());
+
+        assertEquals("$2a$10$nouveauHash", user.getPassword());
+        verify(userRepository).save(user);
+        verify(loginThrottle).recordSuccess("jean@email.com");
+    }
+
+    @Test
+    void login_WithCurrentHash_ShouldNotRehash() {
+        when(userRepository.findByEmail("jean@email.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding(user.getPassword())).thenReturn(false);
+        when(tokenService.issue(1L, User.UserRole.CLIENT)).thenReturn("token");
+
+        authService.login(loginRequest, "10.0.0.1");
+
+        verify(passwordHashingService, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+}
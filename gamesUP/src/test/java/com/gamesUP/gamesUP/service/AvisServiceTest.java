@@ -0,0 +1,103 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.model.Avis;
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
+import com.gamesUP.gamesUP.model.Game;
+import com.gamesUP.gamesUP.model.User;
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvisServiceTest {
+
+    @Mock
+    private AvisRepository avisRepository;
+
+    @Mock
+    private GameRatingStatsService gameRatingStatsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AvisService avisService;
+
+    private Avis approvedAvis;
+
+    @BeforeEach
+    void setUp() {
+        approvedAvis = Avis.builder()
+                .id(1L)
+                .user(User.builder().id(3L).build())
+                .game(Game.builder().id(7L).build())
+                .note(4)
+                .approuve(true)
+                .build();
+    }
+
+    @Test
+    void createAvis_WhenApproved_ShouldIncrementStats() {
+        when(avisRepository.save(approvedAvis)).thenReturn(approvedAvis);
+
+        avisService.createAvis(approvedAvis);
+
+        verify(gameRatingStatsService).applyDelta(7L, 4, 1);
+        verify(eventPublisher).publishEvent(UserInteractionEvent.of(3L, 7L));
+    }
+
+    @Test
+    void createAvis_WhenNotApproved_ShouldLeaveStatsUntouched() {
+        approvedAvis.setApprouve(false);
+        when(avisRepository.save(approvedAvis)).thenReturn(approvedAvis);
+
+        avisService.createAvis(approvedAvis);
+
+        verify(gameRatingStatsService, never()).applyDelta(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void updateAvis_ShouldApplyNoteDifference() {
+        when(avisRepository.findById(1L)).thenReturn(Optional.of(approvedAvis));
+        when(avisRepository.save(approvedAvis)).thenReturn(approvedAvis);
+
+        avisService.updateAvis(1L, Avis.builder().note(2).build());
+
+        verify(gameRatingStatsService).applyDelta(7L, -2, 0);
+        assertEquals(2, approvedAvis.getNote());
+    }
+
+    @Test
+    void deleteAvis_ShouldDecrementStats() {
+        when(avisRepository.findById(1L)).thenReturn(Optional.of(approvedAvis));
+
+        assertTrue(avisService.deleteAvis(1L));
+
+        verify(gameRatingStatsService).applyDelta(7L, -4, -1);
+        verify(avisRepository).delete(approvedAvis);
+    }
+
+    @Test
+    void setApproval_ShouldOnlyApplyDeltaWhenStateChanges() {
+        when(avisRepository.findById(1L)).thenReturn(Optional.of(approvedAvis));
+        when(avisRepository.save(approvedAvis)).thenReturn(approvedAvis);
+
+        avisService.setApproval(1L, true);
+        avisService.setApproval(1L, false);
+
+        verify(gameRatingStatsService, times(1)).applyDelta(anyLong(), anyLong(), anyLong());
+        verify(gameRatingStatsService).applyDelta(7L, -4, -1);
+        assertFalse(approvedAvis.isApprouve());
+    }
+}
@@ -0,0 +1,178 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import com.gamesUP.gamesUP.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Clock clock;
+
+    // Tâches planifiées, exécutées à la demande par le test
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private CatalogSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new CatalogSnapshotService(gameRepository, inventoryRepository, transactionManager,
+                scheduled::add, clock, Duration.ofSeconds(1), Duration.ofSeconds(3));
+        when(gameRepository.findAllSnapshotRows()).thenReturn(List.of(
+                new Object[]{1L, "Catan", new BigDecimal("45.00"), 10, 3, 4, 90, true, 1L, 1L},
+                new Object[]{2L, "Pandemic", new BigDecimal("40.00"), 8, 2, 4, 45, true, 2L, 2L}));
+        when(gameRepository.findAllIdsOrderByNom()).thenReturn(List.of(1L, 2L));
+        when(gameRepository.findAllIdsOrderByNomDesc()).thenReturn(List.of(2L, 1L));
+        when(inventoryRepository.findGameIdsInStock()).thenReturn(List.of(1L));
+        when(gameRepository.findAllAuthorNames()).thenReturn(List.of());
+        snapshotService.rebuild();
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private List<Long> idsByNom(GameSearchDTO search) {
+        CatalogSnapshot snapshot = snapshotService.current().orElseThrow();
+        return snapshot.page(snapshot.filter(search), PageRequest.of(0, 20, Sort.by("nom")));
+    }
+
+    private int inStockCount() {
+        CatalogSnapshot snapshot = snapshotService.current().orElseThrow();
+        return snapshot.filter(GameSearchDTO.builder().enStock(true).build()).cardinality();
+    }
+
+    @Test
+    void onCatalogChange_WithStockChanges_ShouldPatchStockWithoutRebuilding() {
+        when(inventoryRepository.findGameIdsInStockAmong(Set.of(1L, 2L))).thenReturn(List.of(2L));
+
+        snapshotService.onCatalogChange(new GameCatalogEvent(1L, GameCatalogEvent.Type.STOCK_CHANGED));
+        snapshotService.onCatalogChange(new GameCatalogEvent(2L, GameCatalogEvent.Type.STOCK_CHANGED));
+
+        // Modifications regroupées en une seule tâche ; l'instantané n'est pas proposé d'ici là
+        assertEquals(1, scheduled.size());
+        assertTrue(snapshotService.current().isEmpty());
+        runScheduled();
+
+        assertEquals(1, inStockCount());
+        assertTrue(snapshotService.current().orElseThrow().filter(GameSearchDTO.builder().enStock(true).build()).get(1));
+        verify(gameRepository, times(1)).findAllSnapshotRows();
+    }
+
+    @Test
+    void onCatalogChange_WithGameUpdate_ShouldPatchRowWithoutRebuilding() {
+        when(gameRepository.findSnapshotRowsByIds(Set.of(2L))).thenReturn(List.<Object[]>of(
+                new Object[]{2L, "Azul", new BigDecimal("30.00"), 8, 2, 4, 45, true, 3L, 2L}));
+        when(gameRepository.findAuthorNamesByGameIds(Set.of(2L))).thenReturn(List.<Object[]>of(new Object[]{2L, "Michael Kiesling"}));
+        when(inventoryRepository.findGameIdsInStockAmong(Set.of(2L))).thenReturn(List.of());
+
+        snapshotService.onCatalogChange(new GameCatalogEvent(2L, GameCatalogEvent.Type.UPDATED));
+
+        assertTrue(snapshotService.current().isEmpty());
+        runScheduled();
+
+        assertEquals(List.of(2L, 1L), idsByNom(new GameSearchDTO()));
+        assertEquals(List.of(2L), idsByNom(GameSearchDTO.builder().categoryId(3L).authorName("kiesling").build()));
+        assertEquals(List.of(), idsByNom(GameSearchDTO.builder().categoryId(2L).build()));
+        verify(gameRepository, times(1)).findAllSnapshotRows();
+    }
+
+    @Test
+    void onCatalogChange_WithCreatedAndDeletedGames_ShouldPatchSnapshot() {
+        when(gameRepository.findSnapshotRowsByIds(Set.of(1L, 3L))).thenReturn(List.<Object[]>of(
+                new Object[]{3L, "Dixit", new BigDecimal("30.00"), 8, 3, 6, 30, true, 1L, 1L}));
+        when(gameRepository.findAuthorNamesByGameIds(Set.of(1L, 3L))).thenReturn(List.of());
+        when(inventoryRepository.findGameIdsInStockAmong(Set.of(1L, 3L))).thenReturn(List.of(3L));
+
+        snapshotService.onCatalogChange(new GameCatalogEvent(1L, GameCatalogEvent.Type.DELETED));
+        snapshotService.onCatalogChange(new GameCatalogEvent(3L, GameCatalogEvent.Type.CREATED));
+        runScheduled();
+
+        assertEquals(List.of(3L, 2L), idsByNom(new GameSearchDTO()));
+        assertEquals(List.of(3L), idsByNom(GameSearchDTO.builder().enStock(true).build()));
+        verify(gameRepository, times(1)).findAllSnapshotRows();
+    }
+
+    @Test
+    void onCatalogChange_WithReferenceChange_ShouldRebuild() {
+        snapshotService.onCatalogChange(new GameCatalogEvent(null, GameCatalogEvent.Type.REFERENCE_CHANGED));
+        runScheduled();
+
+        assertTrue(snapshotService.current().isPresent());
+        verify(gameRepository, times(2)).findAllSnapshotRows();
+        verify(gameRepository, never()).findSnapshotRowsByIds(any());
+    }
+
+    @Test
+    void onCatalogChange_WithRatingChange_ShouldKeepSnapshot() {
+        snapshotService.onCatalogChange(new GameCatalogEvent(1L, GameCatalogEvent.Type.RATING_CHANGED));
+
+        assertTrue(scheduled.isEmpty());
+        assertEquals(1, inStockCount());
+    }
+
+    @Test
+    void onCatalogChange_WhenUpdateFails_ShouldRetryRebuildWithBackoff() {
+        Instant failedAt = Instant.parse("2026-01-01T10:00:00Z");
+        when(clock.instant()).thenReturn(failedAt);
+        when(inventoryRepository.findGameIdsInStockAmong(Set.of(1L))).thenThrow(new IllegalStateException("base indisponible"));
+
+        snapshotService.onCatalogChange(new GameCatalogEvent(1L, GameCatalogEvent.Type.STOCK_CHANGED));
+        runScheduled();
+        assertTrue(snapshotService.current().isEmpty());
+
+        // Avant le délai, rien n'est tenté ; la reconstruction échoue encore et le délai double
+        when(gameRepository.findAllSnapshotRows()).thenThrow(new IllegalStateException("base indisponible"));
+        snapshotService.retryAfterFailure();
+        assertTrue(scheduled.isEmpty());
+        when(clock.instant()).thenReturn(failedAt.plusSeconds(1));
+        snapshotService.retryAfterFailure();
+        runScheduled();
+        assertTrue(snapshotService.current().isEmpty());
+
+        doReturn(List.<Object[]>of(new Object[]{1L, "Catan", new BigDecimal("45.00"), 10, 3, 4, 90, true, 1L, 1L}))
+                .when(gameRepository).findAllSnapshotRows();
+        when(clock.instant()).thenReturn(failedAt.plusSeconds(2));
+        snapshotService.retryAfterFailure();
+        assertTrue(scheduled.isEmpty());
+        when(clock.instant()).thenReturn(failedAt.plusSeconds(3));
+        snapshotService.retryAfterFailure();
+        runScheduled();
+
+        assertEquals(1, snapshotService.current().orElseThrow().size());
+        snapshotService.retryAfterFailure();
+        assertTrue(scheduled.isEmpty());
+    }
+}
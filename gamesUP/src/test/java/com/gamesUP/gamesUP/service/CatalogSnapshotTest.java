@@ -0,0 +1,176 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        // (id, nom, prix, ageMinimum, joueursMin, joueursMax, durée, disponible, catégorie, éditeur)
+        List<Object[]> games = List.of(
+                new Object[]{1L, "Catan", new BigDecimal("45.00"), 10, 3, 4, 90, true, 1L, 1L},
+                new Object[]{2L, "Ticket to Ride", new BigDecimal("35.00"), 8, 2, 5, 60, true, 2L, 2L},
+                new Object[]{3L, "Pandemic", new BigDecimal("40.00"), 8, 2, 4, 45, true, 3L, 3L},
+                new Object[]{4L, "Agricola", new BigDecimal("55.00"), 12, 1, 5, 120, false, 1L, 1L});
+        List<Object[]> authors = List.of(
+                new Object[]{1L, "Klaus Teuber"},
+                new Object[]{3L, "Matt Leacock"},
+                new Object[]{4L, "Uwe Rosenberg"});
+        snapshot = CatalogSnapshot.build(games, List.of(4L, 1L, 3L, 2L), List.of(2L, 3L, 1L, 4L), List.of(1L, 2L), authors);
+    }
+
+    private List<Long> search(GameSearchDTO search, Pageable pageable) {
+        BitSet matches = snapshot.filter(search);
+        return snapshot.page(matches, pageable);
+    }
+
+    private List<Long> search(GameSearchDTO search) {
+        return search(search, PageRequest.of(0, 20, Sort.by("nom").and(Sort.by("id"))));
+    }
+
+    @Test
+    void filter_WithoutCriteria_ShouldMatchAllGamesSortedByName() {
+        assertEquals(List.of(4L, 1L, 3L, 2L), search(new GameSearchDTO()));
+    }
+
+    @Test
+    void filter_ShouldIntersectCategoryAndPriceRange() {
+        GameSearchDTO search = GameSearchDTO.builder()
+                .categoryId(1L)
+                .maxPrice(new BigDecimal("45.00"))
+                .build();
+
+        assertEquals(List.of(1L), search(search));
+    }
+
+    @Test
+    void filter_ShouldApplyPlayerDurationAndAgeBounds() {
+        GameSearchDTO search = GameSearchDTO.builder()
+                .minPlayers(2)
+                .maxPlayers(5)
+                .maxDuration(90)
+                .maxAge(10)
+                .build();
+
+        assertEquals(List.of(2L), search(search));
+    }
+
+    @Test
+    void filter_ShouldMatchAuthorNamesIgnoringCase() {
+        assertEquals(List.of(3L), search(GameSearchDTO.builder().authorName("leacock").build()));
+    }
+
+    @Test
+    void filter_ShouldHandleNegatedFlagsAndUnknownIds() {
+        assertEquals(List.of(4L, 3L), search(GameSearchDTO.builder().enStock(false).build()));
+        assertEquals(List.of(4L), search(GameSearchDTO.builder().disponible(false).build()));
+        assertTrue(search(GameSearchDTO.builder().publisherId(99L).build()).isEmpty());
+    }
+
+    @Test
+    void withStock_ShouldOnlyChangeStockOfGivenGames() {
+        CatalogSnapshot updated = snapshot.withStock(List.of(1L, 3L, 99L), List.of(3L));
+
+        assertEquals(List.of(3L, 2L), updated.page(updated.filter(GameSearchDTO.builder().enStock(true).build()),
+                PageRequest.of(0, 10, Sort.by("nom"))));
+        // L'instantané d'origine reste inchangé
+        assertEquals(List.of(1L, 2L), search(GameSearchDTO.builder().enStock(true).build(),
+                PageRequest.of(0, 10, Sort.by("id"))));
+    }
+
+    @Test
+    void withGame_ShouldMoveUpdatedGameInIndexesAndOrders() {
+        CatalogSnapshot updated = snapshot.withGame(4L,
+                new Object[]{4L, "Zoo", new BigDecimal("20.00"), 6, 2, 4, 30, true, 2L, 2L}, List.of("Reiner Knizia"));
+
+        Pageable byPrix = PageRequest.of(0, 10, Sort.by("prix"));
+        assertEquals(List.of(4L, 2L, 3L, 1L), updated.page(updated.filter(new GameSearchDTO()), byPrix));
+        assertEquals(List.of(1L, 3L, 2L, 4L), updated.page(updated.filter(new GameSearchDTO()), PageRequest.of(0, 10, Sort.by("nom"))));
+        assertEquals(List.of(4L, 2L), updated.page(updated.filter(GameSearchDTO.builder().categoryId(2L).maxAge(8).build()), byPrix));
+        assertEquals(List.of(4L), updated.page(updated.filter(GameSearchDTO.builder().authorName("knizia").build()), byPrix));
+        assertTrue(updated.page(updated.filter(GameSearchDTO.builder().authorName("rosenberg").build()), byPrix).isEmpty());
+        // L'instantané d'origine reste inchangé
+        assertEquals(List.of(4L), search(GameSearchDTO.builder().authorName("rosenberg").build()));
+        assertEquals(List.of(1L, 4L), search(GameSearchDTO.builder().categoryId(1L).build(), PageRequest.of(0, 10, Sort.by("id"))));
+    }
+
+    @Test
+    void withGame_ShouldAppendNewGamesAndHideDeletedOnes() {
+        CatalogSnapshot updated = snapshot
+                .withGame(5L, new Object[]{5L, "Azul", new BigDecimal("30.00"), 8, 2, 4, 45, true, 1L, 1L}, List.of())
+                .withGame(1L, null, List.of());
+
+        assertEquals(List.of(4L, 5L), updated.page(updated.filter(GameSearchDTO.builder().categoryId(1L).build()),
+                PageRequest.of(0, 10, Sort.by("nom"))));
+        assertEquals(Map.of("1", 2L, "2", 1L, "3", 1L), updated.facets(updated.filter(new GameSearchDTO())).get("category"));
+        assertTrue(updated.positionsOf(List.of(1L)).isEmpty());
+        // Un ID antérieur au dernier ne peut pas être ajouté en fin : reconstruction nécessaire
+        assertNull(updated.withGame(3L, null, List.of()).withGame(0L,
+                new Object[]{0L, "Go", new BigDecimal("10.00"), 8, 2, 2, 60, true, 1L, 1L}, List.of()));
+    }
+
+    @Test
+    void build_WithCaseInsensitiveDatabaseOrder_ShouldKeepItAndRebuildOnRename() {
+        // Collation insensible à la casse : "azul" avant "Catan", contrairement à String.compareTo
+        List<Object[]> games = List.of(
+                new Object[]{1L, "Catan", new BigDecimal("45.00"), 10, 3, 4, 90, true, 1L, 1L},
+                new Object[]{2L, "azul", new BigDecimal("30.00"), 8, 2, 4, 45, true, 1L, 1L});
+        CatalogSnapshot caseInsensitive = CatalogSnapshot.build(games, List.of(2L, 1L), List.of(1L, 2L), List.of(), List.of());
+
+        assertFalse(caseInsensitive.nomOrderMatchesDatabase());
+        assertEquals(List.of(2L, 1L), caseInsensitive.page(caseInsensitive.filter(new GameSearchDTO()),
+                PageRequest.of(0, 10, Sort.by("nom"))));
+        // Le prix se met à jour sur place, un nom ne peut être replacé que par la base
+        assertNotNull(caseInsensitive.withGame(1L,
+                new Object[]{1L, "Catan", new BigDecimal("40.00"), 10, 3, 4, 90, true, 1L, 1L}, List.of()));
+        assertNull(caseInsensitive.withGame(1L,
+                new Object[]{1L, "Carcassonne", new BigDecimal("45.00"), 10, 3, 4, 90, true, 1L, 1L}, List.of()));
+        assertNull(caseInsensitive.withGame(3L,
+                new Object[]{3L, "Zoo", new BigDecimal("20.00"), 6, 2, 4, 30, true, 1L, 1L}, List.of()));
+        assertTrue(snapshot.nomOrderMatchesDatabase());
+    }
+
+    @Test
+    void page_ShouldSortByPriceDescendingAndSkipOffset() {
+        Pageable secondPage = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "prix").and(Sort.by("id")));
+
+        assertEquals(List.of(3L, 2L), search(new GameSearchDTO(), secondPage));
+    }
+
+    @Test
+    void facets_ShouldCountMatchingGamesPerValue() {
+        BitSet matches = snapshot.filter(GameSearchDTO.builder().disponible(true).build());
+
+        Map<String, Map<String, Long>> facets = snapshot.facets(matches);
+
+        assertEquals(Map.of("1", 1L, "2", 1L, "3", 1L), facets.get("category"));
+        assertEquals(List.of(0L, 2L, 1L, 0L), List.copyOf(facets.get("price").values()));
+        assertEquals(List.of(0L, 2L, 3L, 3L, 1L, 0L), List.copyOf(facets.get("players").values()));
+        assertEquals(List.of(0L, 2L, 1L, 0L), List.copyOf(facets.get("duration").values()));
+    }
+
+    @Test
+    void positionsOf_ShouldIgnoreUnknownIds() {
+        assertEquals(List.of(3L), snapshot.page(snapshot.positionsOf(List.of(3L, 42L)), PageRequest.of(0, 20, Sort.by("id"))));
+    }
+
+    @Test
+    void supports_ShouldDelegateKeywordSearchesToTheDatabase() {
+        assertFalse(snapshot.supports(GameSearchDTO.builder().keyword("catan").build()));
+        assertTrue(snapshot.supports(GameSearchDTO.builder().categoryId(1L).build()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.model.Publisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GameCacheIntegrationTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameCacheInvalidator gameCacheInvalidator;
+
+    @Autowired
+    private PublisherService publisherService;
+
+    @Test
+    void getGameById_ShouldBeServedFromCacheUntilInvalidated() {
+        GameDTO first = gameService.getGameById(1L).orElseThrow();
+        GameDTO second = gameService.getGameById(1L).orElseThrow();
+        assertSame(first, second);
+
+        gameCacheInvalidator.onCatalogChange(new GameCatalogEvent(1L, GameCatalogEvent.Type.STOCK_CHANGED));
+
+        GameDTO reloaded = gameService.getGameById(1L).orElseThrow();
+        assertNotSame(first, reloaded);
+        assertEquals(first.getNom(), reloaded.getNom());
+    }
+
+    @Test
+    void listings_ShouldBeClearedByAnyCatalogChange() {
+        List<GameDTO> first = gameService.getGamesByCategory(1L);
+        assertSame(first, gameService.getGamesByCategory(1L));
+        assertNotSame(first, gameService.getGamesByPublisher(1L));
+
+        gameCacheInvalidator.onCatalogChange(new GameCatalogEvent(2L, GameCatalogEvent.Type.RATING_CHANGED));
+
+        assertNotSame(first, gameService.getGamesByCategory(1L));
+    }
+
+    @Test
+    void publisherRename_ShouldEvictCachedGamesAndListings() {
+        Publisher original = publisherService.getPublisherById(1L).orElseThrow();
+        String originalName = original.getName();
+        String originalDescription = original.getDescription();
+        assertEquals(originalName, gameService.getGameById(1L).orElseThrow().getPublisherName());
+        gameService.getGamesByPublisher(1L);
+
+        try {
+            publisherService.updatePublisher(1L, Publisher.builder().name("Asmodee Éditions").description(originalDescription).build());
+
+            assertEquals("Asmodee Éditions", gameService.getGameById(1L).orElseThrow().getPublisherName());
+            assertTrue(gameService.getGamesByPublisher(1L).stream()
+                    .allMatch(game -> "Asmodee Éditions".equals(game.getPublisherName())));
+        } finally {
+            publisherService.updatePublisher(1L, Publisher.builder().name(originalName).description(originalDescription).build());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.GameImportResultDTO;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.model.Author;
+import com.gamesUP.gamesUP.model.Category;
+import com.gamesUP.gamesUP.model.Game;
+import com.gamesUP.gamesUP.model.Inventory;
+import com.gamesUP.gamesUP.model.Publisher;
+import com.gamesUP.gamesUP.repository.AuthorRepository;
+import com.gamesUP.gamesUP.repository.CategoryRepository;
+import com.gamesUP.gamesUP.repository.PublisherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameImportServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameImportService gameImportService;
+
+    @BeforeEach
+    void setUp() {
+        gameImportService = new GameImportService(categoryRepository, publisherRepository, authorRepository,
+                entityManager, Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, transactionManager);
+        when(categoryRepository.findAllById(anyIterable())).thenReturn(List.of(Category.builder().id(1L).build()));
+        when(publisherRepository.findAllById(anyIterable())).thenReturn(List.of(Publisher.builder().id(1L).build()));
+        when(authorRepository.findAllById(anyIterable())).thenReturn(List.of(Author.builder().id(1L).build()));
+    }
+
+    private GameDTO game(String nom, Long categoryId) {
+        return GameDTO.builder()
+                .nom(nom)
+                .prix(new BigDecimal("29.90"))
+                .categoryId(categoryId)
+                .publisherId(1L)
+                .authorIds(Set.of(1L))
+                .build();
+    }
+
+    @Test
+    void importGames_ShouldPersistValidRowsAndReportInvalidOnes() {
+        List<GameDTO> games = List.of(game("Azul", 1L), game("", 1L), game("Dixit", 42L), game("Splendor", 1L));
+
+        GameImportResultDTO result = gameImportService.importGames(games.iterator());
+
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(2, 3), result.getErrors().stream().map(GameImportResultDTO.RowError::getRow).toList());
+        assertEquals("Catégorie introuvable: 42", result.getErrors().get(1).getMessage());
+        verify(entityManager, times(2)).persist(any(Game.class));
+        verify(entityManager, times(2)).persist(any(Inventory.class));
+        verify(entityManager).flush();
+        // Une seule requête par type de référence pour toute la tranche
+        verify(categoryRepository, times(1)).findAllById(anyIterable());
+        verify(eventPublisher).publishEvent(new GameCatalogEvent(null, GameCatalogEvent.Type.BULK_IMPORTED));
+    }
+
+    @Test
+    void importGames_WhenFlushFails_ShouldReportPersistedRowsOfTheChunk() {
+        doThrow(new PersistenceException("contrainte violée")).when(entityManager).flush();
+
+        GameImportResultDTO result = gameImportService.importGames(List.of(game("Azul", 1L)).iterator());
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().get(0).getMessage().contains("contrainte violée"));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void importGames_WhenOneRowFailsInDatabase_ShouldRetryAndRejectOnlyThatRow() {
+        // La base refuse toute transaction contenant Dixit
+        List<Game> pending = new ArrayList<>();
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) instanceof Game game) {
+                pending.add(game);
+            }
+            return null;
+        }).when(entityManager).persist(any());
+        doAnswer(invocation -> {
+            boolean rejected = pending.stream().anyMatch(game -> "Dixit".equals(game.getNom()));
+            pending.clear();
+            if (rejected) {
+                throw new PersistenceException("valeur trop longue");
+            }
+            return null;
+        }).when(entityManager).flush();
+        List<GameDTO> games = List.of(game("Azul", 1L), game("", 1L), game("Dixit", 1L), game("Splendor", 1L));
+
+        GameImportResultDTO result = gameImportService.importGames(games.iterator());
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(2, 3), result.getErrors().stream().map(GameImportResultDTO.RowError::getRow).toList());
+        assertEquals("Rejeté par la base: valeur trop longue", result.getErrors().get(1).getMessage());
+        verify(eventPublisher).publishEvent(new GameCatalogEvent(null, GameCatalogEvent.Type.BULK_IMPORTED));
+    }
+}
@@ -0,0 +1,73 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.model.GameRatingStats;
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.GameRatingStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameRatingStatsServiceTest {
+
+    @Mock
+    private GameRatingStatsRepository gameRatingStatsRepository;
+
+    @Mock
+    private AvisRepository avisRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private GameRatingStatsService gameRatingStatsService;
+
+    @Test
+    void applyDelta_ShouldUpsertStatsAndPublishEvent() {
+        gameRatingStatsService.applyDelta(7L, 4, 1);
+
+        verify(gameRatingStatsRepository).applyDelta(7L, 4, 1);
+        verify(eventPublisher).publishEvent(new GameCatalogEvent(7L, GameCatalogEvent.Type.RATING_CHANGED));
+    }
+
+    @Test
+    void applyDelta_WithoutChange_ShouldDoNothing() {
+        gameRatingStatsService.applyDelta(7L, 0, 0);
+
+        verifyNoInteractions(gameRatingStatsRepository, eventPublisher);
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftOnlyWhereStatsAreUnchangedSinceRead() {
+        when(gameRatingStatsRepository.findAll()).thenReturn(List.of(
+                new GameRatingStats(1L, 9L, 2L),
+                new GameRatingStats(2L, 4L, 1L),
+                new GameRatingStats(3L, 5L, 1L)));
+        when(avisRepository.getRatingTotalsByGame()).thenReturn(List.of(
+                new Object[]{1L, 9L, 2L},
+                new Object[]{2L, 8L, 2L},
+                new Object[]{4L, 3L, 1L}));
+        // Le jeu 2 a reçu un avis entre la lecture et la correction
+        when(gameRatingStatsRepository.replaceIfUnchanged(2L, 4L, 1L, 8L, 2L)).thenReturn(0);
+        when(gameRatingStatsRepository.replaceIfUnchanged(4L, 0L, 0L, 3L, 1L)).thenReturn(1);
+        when(gameRatingStatsRepository.replaceIfUnchanged(3L, 5L, 1L, 0L, 0L)).thenReturn(1);
+
+        gameRatingStatsService.reconcile();
+
+        verify(gameRatingStatsRepository).applyDelta(4L, 0, 0);
+        verify(gameRatingStatsRepository, never()).replaceIfUnchanged(eq(1L), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(gameRatingStatsRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new GameCatalogEvent(4L, GameCatalogEvent.Type.RATING_CHANGED));
+        verify(eventPublisher).publishEvent(new GameCatalogEvent(3L, GameCatalogEvent.Type.RATING_CHANGED));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+}
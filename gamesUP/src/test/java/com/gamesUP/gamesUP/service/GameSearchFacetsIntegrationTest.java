@@ -0,0 +1,78 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GameSearchFacetsIntegrationTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @SpyBean
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Test
+    void getSearchFacets_WithoutSnapshot_ShouldCountInDatabaseLikeTheSnapshot() {
+        List<GameSearchDTO> searches = List.of(
+                new GameSearchDTO(),
+                GameSearchDTO.builder().categoryId(1L).build(),
+                GameSearchDTO.builder().maxPrice(new BigDecimal("40.00")).minPlayers(2).build(),
+                GameSearchDTO.builder().keyword("jeu").build());
+
+        for (GameSearchDTO search : searches) {
+            assertTrue(catalogSnapshotService.current().isPresent());
+            Map<String, Map<String, Long>> fromSnapshot = gameService.getSearchFacets(search);
+            doReturn(Optional.empty()).when(catalogSnapshotService).current();
+
+            Map<String, Map<String, Long>> fromDatabase = gameService.getSearchFacets(search);
+
+            reset(catalogSnapshotService);
+            assertFalse(fromDatabase.isEmpty());
+            assertEquals(fromSnapshot, fromDatabase, "Facettes différentes pour " + search);
+        }
+    }
+
+    @Test
+    void getSearchFacets_WithoutSnapshot_ShouldCountBucketsAndPlayers() {
+        doReturn(Optional.empty()).when(catalogSnapshotService).current();
+
+        Map<String, Map<String, Long>> facets = gameService.getSearchFacets(GameSearchDTO.builder().categoryId(1L).build());
+
+        // Catan (45 €, 3-4 joueurs, 90 min), Pandemic (40 €, 2-4, 45 min), Agricola (50 €, 1-4, 120 min)
+        assertEquals(Map.of("1", 3L), facets.get("category"));
+        assertEquals(List.of(0L, 1L, 2L, 0L), List.copyOf(facets.get("price").values()));
+        assertEquals(List.of(1L, 2L, 3L, 3L, 0L, 0L), List.copyOf(facets.get("players").values()));
+        assertEquals(List.of(0L, 1L, 2L, 0L), List.copyOf(facets.get("duration").values()));
+    }
+
+    @Test
+    void searchGames_SortedByNom_ShouldPageLikeTheDatabase() {
+        for (String direction : List.of("ASC", "DESC")) {
+            GameSearchDTO search = GameSearchDTO.builder().sortBy("nom").sortDirection(direction).size(100).build();
+            assertTrue(catalogSnapshotService.current().isPresent());
+            List<Long> fromSnapshot = gameService.searchGames(search).map(GameDTO::getId).getContent();
+            doReturn(Optional.empty()).when(catalogSnapshotService).current();
+
+            List<Long> fromDatabase = gameService.searchGames(search).map(GameDTO::getId).getContent();
+
+            reset(catalogSnapshotService);
+            assertFalse(fromDatabase.isEmpty());
+            assertEquals(fromDatabase, fromSnapshot, "Ordre différent pour " + direction);
+        }
+    }
+}
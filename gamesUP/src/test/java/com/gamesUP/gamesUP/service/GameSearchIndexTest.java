@@ -0,0 +1,146 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameSearchIndexTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private GameSearchIndex gameSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        gameSearchIndex = new GameSearchIndex(gameRepository, scheduled::add);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Catan", "Jeu de stratégie et de commerce sur une île"});
+        rows.add(new Object[]{2L, "Ticket to Ride", "Construisez des lignes de chemin de fer à travers l'Europe"});
+        rows.add(new Object[]{3L, "Pandemic", "Coopérez pour sauver le monde des épidémies"});
+        rows.add(new Object[]{4L, "Stratégies de guerre", "Des batailles historiques"});
+        when(gameRepository.findAllIndexableTexts()).thenReturn(rows);
+        gameSearchIndex.rebuild();
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsAndPlurals() {
+        GameSearchIndex.SearchResult result = gameSearchIndex.search("STRATEGIE", 0, 20);
+
+        assertEquals(2, result.totalHits());
+        // Une occurrence dans le nom pèse plus qu'une occurrence dans la description
+        assertEquals(List.of(4L, 1L), result.gameIds());
+    }
+
+    @Test
+    void search_ShouldRequireAllTermsAndMatchPrefixes() {
+        assertEquals(List.of(1L), gameSearchIndex.search("stratégie commer", 0, 20).gameIds());
+        assertEquals(List.of(3L), gameSearchIndex.search("épidémie", 0, 20).gameIds());
+        assertTrue(gameSearchIndex.search("le de la", 0, 20).gameIds().isEmpty());
+    }
+
+    @Test
+    void search_ShouldPaginateRankedResults() {
+        GameSearchIndex.SearchResult result = gameSearchIndex.search("strategie", 1, 1);
+
+        assertEquals(2, result.totalHits());
+        assertEquals(List.of(1L), result.gameIds());
+    }
+
+    @Test
+    void search_BeyondLastPage_ShouldReturnEmptyPageWithTotalHits() {
+        GameSearchIndex.SearchResult pastEnd = gameSearchIndex.search("strategie", 2, 1);
+        // page * size dépasse Integer.MAX_VALUE
+        GameSearchIndex.SearchResult overflow = gameSearchIndex.search("strategie", Integer.MAX_VALUE, 100);
+
+        assertTrue(pastEnd.gameIds().isEmpty());
+        assertEquals(2, pastEnd.totalHits());
+        assertTrue(overflow.gameIds().isEmpty());
+        assertEquals(2, overflow.totalHits());
+    }
+
+    @Test
+    void onCatalogChange_ShouldReindexUpdatedGamesAndDropDeletedOnes() {
+        List<Object[]> updated = new ArrayList<>();
+        updated.add(new Object[]{3L, "Pandemic Legacy", "Campagne coopérative"});
+        when(gameRepository.findIndexableTextById(3L)).thenReturn(updated);
+
+        gameSearchIndex.onCatalogChange(new GameCatalogEvent(3L, GameCatalogEvent.Type.UPDATED));
+        gameSearchIndex.onCatalogChange(new GameCatalogEvent(4L, GameCatalogEvent.Type.DELETED));
+
+        assertTrue(gameSearchIndex.search("épidémies", 0, 20).gameIds().isEmpty());
+        assertEquals(List.of(3L), gameSearchIndex.search("legacy", 0, 20).gameIds());
+        assertEquals(List.of(1L), gameSearchIndex.search("stratégie", 0, 20).gameIds());
+        verify(gameRepository, never()).findIndexableTextById(4L);
+    }
+
+    @Test
+    void search_ShouldRankPagesLikeAFullSort() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            // Scores en partie égaux : l'ID départage
+            rows.add(new Object[]{id, "Jeu " + id, "stratégie ".repeat((int) (id % 4) + 1)});
+        }
+        when(gameRepository.findAllIndexableTexts()).thenReturn(rows);
+        gameSearchIndex.rebuild();
+
+        List<Long> all = gameSearchIndex.search("stratégie", 0, 30).gameIds();
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            paged.addAll(gameSearchIndex.search("stratégie", page, 8).gameIds());
+        }
+
+        assertEquals(30, all.size());
+        assertEquals(all, paged);
+        assertEquals(3L, all.get(0));
+    }
+
+    @Test
+    void onCatalogChange_AfterBulkImport_ShouldRebuildInBackground() {
+        List<Object[]> imported = new ArrayList<>();
+        imported.add(new Object[]{5L, "Azul", "Jeu de stratégie abstrait"});
+        when(gameRepository.findAllIndexableTexts()).thenReturn(imported);
+
+        gameSearchIndex.onCatalogChange(new GameCatalogEvent(null, GameCatalogEvent.Type.BULK_IMPORTED));
+        gameSearchIndex.onCatalogChange(new GameCatalogEvent(null, GameCatalogEvent.Type.BULK_IMPORTED));
+
+        // L'ancien index sert les recherches tant que la reconstruction n'a pas tourné
+        assertEquals(1, scheduled.size());
+        assertEquals(List.of(4L, 1L), gameSearchIndex.search("stratégie", 0, 20).gameIds());
+        scheduled.remove(0).run();
+        assertEquals(List.of(5L), gameSearchIndex.search("stratégie", 0, 20).gameIds());
+    }
+
+    @Test
+    void rebuild_ShouldRereadGamesChangedWhileReadingTheCatalog() {
+        List<Object[]> stale = new ArrayList<>();
+        stale.add(new Object[]{1L, "Catan", "Jeu de stratégie et de commerce sur une île"});
+        List<Object[]> updated = new ArrayList<>();
+        updated.add(new Object[]{1L, "Catan", "Colonisation d'une île"});
+        when(gameRepository.findIndexableTextById(1L)).thenReturn(updated);
+        when(gameRepository.findAllIndexableTexts()).thenAnswer(invocation -> {
+            // Modification validée pendant la lecture du catalogue, appliquée à l'ancien index
+            gameSearchIndex.onCatalogChange(new GameCatalogEvent(1L, GameCatalogEvent.Type.UPDATED));
+            return stale;
+        });
+
+        gameSearchIndex.rebuild();
+
+        assertTrue(gameSearchIndex.search("commerce", 0, 20).gameIds().isEmpty());
+        assertEquals(List.of(1L), gameSearchIndex.search("colonisation", 0, 20).gameIds());
+        verify(gameRepository, times(2)).findIndexableTextById(1L);
+    }
+}
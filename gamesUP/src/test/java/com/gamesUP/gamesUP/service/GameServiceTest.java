@@ -1,23 +1,30 @@
 package com.gamesUP.gamesUP.service;
 
+import com.gamesUP.gamesUP.dto.GameCursorPageDTO;
 import com.gamesUP.gamesUP.dto.GameDTO;
 import com.gamesUP.gamesUP.dto.GameSearchDTO;
+import com.gamesUP.gamesUP.event.GameCatalogEvent;
 import com.gamesUP.gamesUP.model.*;
 import com.gamesUP.gamesUP.repository.*;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,10 +46,22 @@ class GameServiceTest {
     private AuthorRepository authorRepository;
     
     @Mock
-    private AvisRepository avisRepository;
+    private GameRatingStatsRepository gameRatingStatsRepository;
     
     @Mock
     private InventoryRepository inventoryRepository;
+    
+    @Mock
+    private GameSearchIndex gameSearchIndex;
+    
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private GameService gameService;
@@ -106,14 +125,21 @@ class GameServiceTest {
                 .build();
     }
 
+    private void stubHydration() {
+        when(gameRepository.findCategoryAndPublisherByGameIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 1L, "Stratégie", 1L, "Asmodee"}));
+        when(gameRepository.findAuthorsByGameIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 1L, "Klaus Teuber"}));
+        when(gameRatingStatsRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(new GameRatingStats(1L, 45L, 10L)));
+    }
+
     @Test
     void getAllGames_ShouldReturnAllGames() {
         // Given
         List<Game> games = Arrays.asList(testGame);
         when(gameRepository.findAll()).thenReturn(games);
-        when(avisRepository.getAverageRatingByGameId(anyLong())).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(anyLong())).thenReturn(10L);
-        when(inventoryRepository.findByGameId(anyLong())).thenReturn(Optional.empty());
+        stubHydration();
 
         // When
         List<GameDTO> result = gameService.getAllGames();
@@ -122,7 +148,11 @@ class GameServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Catan", result.get(0).getNom());
+        assertEquals(4.5, result.get(0).getAverageRating());
+        assertEquals(10L, result.get(0).getNumberOfReviews());
+        assertEquals(Set.of("Klaus Teuber"), result.get(0).getAuthorNames());
         verify(gameRepository).findAll();
+        verify(gameRatingStatsRepository).findAllById(List.of(1L));
     }
 
     @Test
@@ -131,9 +161,7 @@ class GameServiceTest {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("nom"));
         Page<Game> gamePage = new PageImpl<>(Arrays.asList(testGame));
         when(gameRepository.findAll(pageable)).thenReturn(gamePage);
-        when(avisRepository.getAverageRatingByGameId(anyLong())).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(anyLong())).thenReturn(10L);
-        when(inventoryRepository.findByGameId(anyLong())).thenReturn(Optional.empty());
+        stubHydration();
 
         // When
         Page<GameDTO> result = gameService.getAllGamesPageable(0, 10);
@@ -149,9 +177,7 @@ class GameServiceTest {
     void getGameById_WhenGameExists_ShouldReturnGame() {
         // Given
         when(gameRepository.findById(1L)).thenReturn(Optional.of(testGame));
-        when(avisRepository.getAverageRatingByGameId(1L)).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(1L)).thenReturn(10L);
-        when(inventoryRepository.findByGameId(1L)).thenReturn(Optional.empty());
+        stubHydration();
 
         // When
         Optional<GameDTO> result = gameService.getGameById(1L);
@@ -175,14 +201,32 @@ class GameServiceTest {
         verify(gameRepository).findById(999L);
     }
 
+    @Test
+    void getGamesByIds_ShouldKeepRequestedOrder() {
+        // Given
+        Game otherGame = Game.builder()
+                .id(2L)
+                .nom("Pandemic")
+                .prix(new BigDecimal("40.00"))
+                .build();
+        when(gameRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(testGame, otherGame));
+
+        // When
+        List<GameDTO> result = gameService.getGamesByIds(List.of(2L, 1L));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("Pandemic", result.get(0).getNom());
+        assertEquals("Catan", result.get(1).getNom());
+        verify(gameRepository).findCategoryAndPublisherByGameIds(List.of(1L, 2L));
+    }
+
     @Test
     void getAvailableGames_ShouldReturnOnlyAvailableGames() {
         // Given
         List<Game> availableGames = Arrays.asList(testGame);
         when(gameRepository.findByDisponible(true)).thenReturn(availableGames);
-        when(avisRepository.getAverageRatingByGameId(anyLong())).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(anyLong())).thenReturn(10L);
-        when(inventoryRepository.findByGameId(anyLong())).thenReturn(Optional.empty());
+        stubHydration();
 
         // When
         List<GameDTO> result = gameService.getAvailableGames();
@@ -258,6 +302,7 @@ class GameServiceTest {
         assertTrue(result);
         verify(gameRepository).existsById(1L);
         verify(gameRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new GameCatalogEvent(1L, GameCatalogEvent.Type.DELETED));
     }
 
     @Test
@@ -274,51 +319,161 @@ class GameServiceTest {
         verify(gameRepository, never()).deleteById(anyLong());
     }
 
+    @Test
+    void forEachGame_ShouldHydrateAndDetachStreamedGames() {
+        // Given
+        when(gameRepository.streamAllOrderById()).thenReturn(Stream.of(testGame));
+        stubHydration();
+        List<GameDTO> exported = new ArrayList<>();
+
+        // When
+        gameService.forEachGame(exported::add);
+
+        // Then
+        assertEquals(1, exported.size());
+        assertEquals("Stratégie", exported.get(0).getCategoryType());
+        verify(entityManager).detach(testGame);
+    }
+
+    @Test
+    void getGamesAfterCursor_ShouldReturnNextCursorUsableForTheFollowingPage() {
+        // Given
+        Game nextGame = Game.builder().id(2L).nom("Pandemic").prix(new BigDecimal("39.99")).build();
+        when(gameRepository.findFirstPageOrderByNomAndId(Limit.of(2))).thenReturn(Arrays.asList(testGame, nextGame));
+        when(gameRepository.findPageAfterOrderByNomAndId("Catan", 1L, Limit.of(2))).thenReturn(List.of(nextGame));
+
+        // When
+        GameCursorPageDTO firstPage = gameService.getGamesAfterCursor(null, 1);
+        GameCursorPageDTO secondPage = gameService.getGamesAfterCursor(firstPage.getNextCursor(), 1);
+
+        // Then
+        assertTrue(firstPage.isHasNext());
+        assertEquals("Catan", firstPage.getContent().get(0).getNom());
+        assertFalse(secondPage.isHasNext());
+        assertNull(secondPage.getNextCursor());
+        assertEquals("Pandemic", secondPage.getContent().get(0).getNom());
+        verify(gameRepository, never()).count();
+    }
+
+    @Test
+    void getGamesAfterCursor_WithMalformedCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGamesAfterCursor("not a cursor", 20));
+    }
+
+    @Test
+    void getTopRatedGames_ShouldReadPrecomputedStats() {
+        // Given
+        when(gameRatingStatsRepository.findTopRated(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(new GameRatingStats(1L, 45L, 10L)));
+        when(gameRepository.findAllById(List.of(1L))).thenReturn(List.of(testGame));
+        stubHydration();
+
+        // When
+        List<GameDTO> result = gameService.getTopRatedGames(5, 2L);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(4.5, result.get(0).getAverageRating());
+        verify(gameRatingStatsRepository).findTopRated(2L, PageRequest.of(0, 5));
+    }
+
+    @Test
+    void getTopRatedGames_WithoutMinimumReviews_ShouldStillExcludeUnratedGames() {
+        // When
+        gameService.getTopRatedGames(5, 0L);
+
+        // Then
+        verify(gameRatingStatsRepository).findTopRated(1L, PageRequest.of(0, 5));
+    }
+
+    @Test
+    void searchGamesByText_WhenIndexReady_ShouldReturnRankedPage() {
+        // Given
+        Game otherGame = Game.builder().id(2L).nom("Pandemic").prix(new BigDecimal("39.99")).build();
+        when(gameSearchIndex.isReady()).thenReturn(true);
+        when(gameSearchIndex.search("stratégie", 0, 20))
+                .thenReturn(new GameSearchIndex.SearchResult(List.of(2L, 1L), 2));
+        when(gameRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(testGame, otherGame));
+        stubHydration();
+
+        // When
+        Page<GameDTO> result = gameService.searchGamesByText("stratégie", 0, 20);
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(1L, result.getContent().get(1).getId());
+        verify(gameRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchGames_WithSnapshot_ShouldFilterInMemory() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.build(
+                List.<Object[]>of(new Object[]{1L, "Catan", new BigDecimal("45.00"), 10, 3, 4, 90, true, 1L, 1L}),
+                List.of(1L),
+                List.of(1L),
+                List.of(1L),
+                List.of());
+        when(catalogSnapshotService.current()).thenReturn(Optional.of(snapshot));
+        when(gameRepository.findAllById(List.of(1L))).thenReturn(List.of(testGame));
+        stubHydration();
+
+        // When
+        Page<GameDTO> result = gameService.searchGames(GameSearchDTO.builder().categoryId(1L).enStock(true).build());
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Catan", result.getContent().get(0).getNom());
+        verify(gameRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void searchGames_WithKeyword_ShouldReturnFilteredGames() {
         // Given
-        List<Game> games = Arrays.asList(testGame);
-        when(gameRepository.findByKeyword("Catan")).thenReturn(games);
-        when(avisRepository.getAverageRatingByGameId(anyLong())).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(anyLong())).thenReturn(10L);
-        when(inventoryRepository.findByGameId(anyLong())).thenReturn(Optional.empty());
+        Page<Game> games = new PageImpl<>(Arrays.asList(testGame));
+        when(gameRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(games);
+        stubHydration();
 
         GameSearchDTO searchDTO = GameSearchDTO.builder()
                 .keyword("Catan")
                 .build();
 
         // When
-        List<GameDTO> result = gameService.searchGames(searchDTO);
+        Page<GameDTO> result = gameService.searchGames(searchDTO);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Catan", result.get(0).getNom());
-        verify(gameRepository).findByKeyword("Catan");
+        assertEquals(1, result.getContent().size());
+        assertEquals("Catan", result.getContent().get(0).getNom());
+        verify(gameRepository).findAll(any(Specification.class), eq(PageRequest.of(0, 20, Sort.by("nom").and(Sort.by("id")))));
+        verify(gameRepository, never()).findByKeyword(anyString());
     }
 
     @Test
     void searchGames_WithPriceRange_ShouldReturnFilteredGames() {
         // Given
-        List<Game> games = Arrays.asList(testGame);
-        when(gameRepository.findByKeyword(anyString())).thenReturn(games);
-        when(avisRepository.getAverageRatingByGameId(anyLong())).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(anyLong())).thenReturn(10L);
-        when(inventoryRepository.findByGameId(anyLong())).thenReturn(Optional.empty());
+        Page<Game> games = new PageImpl<>(Arrays.asList(testGame));
+        when(gameRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(games);
+        stubHydration();
 
         GameSearchDTO searchDTO = GameSearchDTO.builder()
-                .keyword("Catan") // Ajout d'un mot-clé pour que la recherche fonctionne
                 .minPrice(new BigDecimal("40.00"))
                 .maxPrice(new BigDecimal("50.00"))
+                .sortBy("prix")
+                .sortDirection("DESC")
+                .page(2)
+                .size(5)
                 .build();
 
         // When
-        List<GameDTO> result = gameService.searchGames(searchDTO);
+        Page<GameDTO> result = gameService.searchGames(searchDTO);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(gameRepository).findByKeyword("Catan");
+        assertEquals(1, result.getContent().size());
+        verify(gameRepository).findAll(any(Specification.class),
+                eq(PageRequest.of(2, 5, Sort.by(Sort.Direction.DESC, "prix").and(Sort.by("id")))));
     }
 
     @Test
@@ -326,9 +481,7 @@ class GameServiceTest {
         // Given
         List<Game> games = Arrays.asList(testGame);
         when(gameRepository.findByCategoryId(1L)).thenReturn(games);
-        when(avisRepository.getAverageRatingByGameId(anyLong())).thenReturn(4.5);
-        when(avisRepository.countApprovedByGameId(anyLong())).thenReturn(10L);
-        when(inventoryRepository.findByGameId(anyLong())).thenReturn(Optional.empty());
+        stubHydration();
 
         // When
         List<GameDTO> result = gameService.getGamesByCategory(1L);
@@ -0,0 +1,85 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameSimilarityServiceTest {
+
+    @Mock
+    private PurchaseRepository purchaseRepository;
+
+    @Mock
+    private AvisRepository avisRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameSimilarityService similarityService;
+
+    @BeforeEach
+    void setUp() {
+        similarityService = new GameSimilarityService(purchaseRepository, avisRepository, transactionManager, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        similarityService.shutdown();
+    }
+
+    private void rebuild() {
+        // Utilisateur 1 : jeux 10, 20 ; utilisateur 2 : jeux 10, 20, 30 (30 noté) ; utilisateur 3 : jeux 10, 40
+        when(purchaseRepository.findPurchasedUserGamePairs()).thenReturn(List.of(
+                new Object[]{1L, 10L}, new Object[]{1L, 20L},
+                new Object[]{2L, 10L}, new Object[]{2L, 20L},
+                new Object[]{3L, 10L}, new Object[]{3L, 40L}));
+        when(avisRepository.findAllUserGameNotes()).thenReturn(List.<Object[]>of(new Object[]{2L, 30L, 5}));
+        similarityService.rebuild();
+    }
+
+    @Test
+    void similarGames_BeforeFirstRebuild_ShouldBeAbsent() {
+        assertTrue(similarityService.similarGames(10L, 5).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldRankGamesByCosineOfCoOccurrences() {
+        rebuild();
+
+        // 10 : 20 → 2/√(3×2) ≈ 0,82 ; 30 et 40 → 1/√3 ≈ 0,58, départagés par l'ID ; K = 2
+        assertEquals(Optional.of(List.of(20L, 30L)), similarityService.similarGames(10L, 5));
+        assertEquals(Optional.of(List.of(20L)), similarityService.similarGames(10L, 1));
+        // 30 : 20 → 1/√2 ≈ 0,71 ; 10 → 0,58
+        assertEquals(Optional.of(List.of(20L, 10L)), similarityService.similarGames(30L, 5));
+        assertEquals(Optional.of(List.of()), similarityService.similarGames(99L, 5));
+    }
+
+    @Test
+    void refreshUsers_ShouldApplyOnlyTheUsersChanges() {
+        rebuild();
+        // L'utilisateur 3 achète le jeu 30 et annule sa commande du jeu 10
+        when(purchaseRepository.findPurchasedGameIdsByUserId(3L)).thenReturn(List.of(40L, 30L));
+        when(avisRepository.findRatedGameIdsByUserId(3L)).thenReturn(List.of());
+
+        similarityService.refreshUsers(List.of(3L));
+
+        // 30 : 40 → 1/√2 ≈ 0,71 ; 10 et 20 → 1/√(2×2) = 0,5
+        assertEquals(Optional.of(List.of(40L, 10L)), similarityService.similarGames(30L, 5));
+        assertEquals(Optional.of(List.of(30L)), similarityService.similarGames(40L, 5));
+        // 10 : 20 → 2/√(2×2) = 1 ; 30 → 1/√(2×2) = 0,5 ; 40 ne co-occurre plus
+        assertEquals(Optional.of(List.of(20L, 30L)), similarityService.similarGames(10L, 5));
+    }
+}
@@ -0,0 +1,102 @@
+package com.gamesUP.gamesUP.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InteractionMatrixTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private InteractionMatrix matrix;
+
+    @BeforeEach
+    void setUp() {
+        matrix = InteractionMatrix.builder()
+                .rate(1L, 10L, 5).add(1L, 20L, 4)
+                .rate(2L, 10L, 5).add(2L, 20L, 4).rate(2L, 30L, 5)
+                .rate(3L, 40L, 5).rate(3L, 50L, 5)
+                .rate(4L, 10L, 1).add(4L, 40L, 4)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void build_ShouldCompressOneEntryPerUserGamePair() {
+        assertEquals(4, matrix.userCount());
+        assertEquals(5, matrix.gameCount());
+        assertEquals(9, matrix.nonZeros());
+    }
+
+    @Test
+    void recommendForUser_ShouldRankUnseenGamesOfSimilarUsers() {
+        // L'utilisateur 2 est très proche (mêmes jeux, mêmes notes), l'utilisateur 4 ne partage qu'un jeu mal noté
+        assertEquals(List.of(30L, 40L), matrix.recommendForUser(1L, 10, 10, pool));
+    }
+
+    @Test
+    void recommendForUser_ShouldOnlyUseNearestNeighbours() {
+        assertEquals(List.of(30L), matrix.recommendForUser(1L, 1, 10, pool));
+    }
+
+    @Test
+    void recommendForUser_WithUnknownUser_ShouldReturnEmptyList() {
+        assertTrue(matrix.recommendForUser(99L, 10, 10, pool).isEmpty());
+    }
+
+    @Test
+    void recommendForAllUsers_ShouldMatchPerUserRecommendations() {
+        long[] userIds = matrix.userIds();
+        long[][] all = matrix.recommendForAllUsers(10, 10, pool);
+
+        assertArrayEquals(new long[]{1L, 2L, 3L, 4L}, userIds);
+        for (int user = 0; user < userIds.length; user++) {
+            List<Long> expected = matrix.recommendForUser(userIds[user], 10, 10, pool);
+            assertEquals(expected, Arrays.stream(all[user]).boxed().toList());
+        }
+    }
+
+    @Test
+    void similarGames_ShouldRankByCosineBetweenColumns() {
+        assertEquals(List.of(20L, 30L), matrix.similarGames(10L, 2, pool));
+        assertTrue(matrix.similarGames(99L, 2, pool).isEmpty());
+    }
+
+    @Test
+    void rate_ShouldOverrideImplicitInteractions() {
+        InteractionMatrix rated = InteractionMatrix.builder()
+                .add(1L, 10L, 4).rate(1L, 10L, 1).add(1L, 10L, 5).add(1L, 20L, 4)
+                .rate(2L, 10L, 1).add(2L, 20L, 4).rate(2L, 30L, 5)
+                .rate(3L, 10L, 5).add(3L, 20L, 1).rate(3L, 40L, 5)
+                .build();
+
+        // Avec la note 1 conservée sur le jeu 10, l'utilisateur 1 ressemble à l'utilisateur 2
+        assertEquals(List.of(30L), rated.recommendForUser(1L, 1, 10, pool));
+    }
+
+    @Test
+    void recommendForUser_ShouldGiveSameResultWhateverTheParallelism() {
+        InteractionMatrix.Builder builder = InteractionMatrix.builder();
+        for (long user = 1; user <= 5000; user++) {
+            builder.add(user, user % 7, 4).rate(user, 100 + user % 13, (float) (1 + user % 5));
+        }
+        InteractionMatrix large = builder.build();
+        ForkJoinPool sequential = new ForkJoinPool(1);
+        try {
+            assertEquals(large.recommendForUser(42L, 20, 5, sequential), large.recommendForUser(42L, 20, 5, pool));
+            assertEquals(large.similarGames(3L, 5, sequential), large.similarGames(3L, 5, pool));
+        } finally {
+            sequential.shutdownNow();
+        }
+    }
+}
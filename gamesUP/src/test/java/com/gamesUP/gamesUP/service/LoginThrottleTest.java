@@ -0,0 +1,83 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(meterRegistry, 3, Duration.ofMinutes(15),
+            5, Duration.ofMinutes(1), 1000, now::get);
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private double throttled(String scope) {
+        return meterRegistry.get("auth.login.throttled").tag("scope", scope).counter().count();
+    }
+
+    @Test
+    void acquire_ShouldRejectAccountAfterMaxFailuresUntilWindowEnds() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire(i == 0 ? "Jean@Email.com " : "jean@email.com", null);
+        }
+        advance(Duration.ofMinutes(10));
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.acquire("jean@email.com", null));
+        assertEquals(Duration.ofMinutes(5), exception.getRetryAfter());
+        assertEquals(1, throttled("account"));
+        // Les autres comptes ne sont pas concernés
+        assertDoesNotThrow(() -> loginThrottle.acquire("marie@email.com", null));
+
+        advance(Duration.ofMinutes(5));
+        assertDoesNotThrow(() -> loginThrottle.acquire("jean@email.com", null));
+    }
+
+    @Test
+    void recordSuccess_ShouldResetAccountFailures() {
+        loginThrottle.acquire("jean@email.com", null);
+        loginThrottle.acquire("jean@email.com", null);
+        loginThrottle.recordSuccess("jean@email.com");
+        loginThrottle.acquire("jean@email.com", null);
+        loginThrottle.acquire("jean@email.com", null);
+
+        assertDoesNotThrow(() -> loginThrottle.acquire("jean@email.com", null));
+    }
+
+    @Test
+    void acquire_ShouldBoundConcurrentAttemptsUntilTheyAreReleased() {
+        // Trois tentatives en cours, aucune encore vérifiée : la quatrième est refusée
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("jean@email.com", null);
+        }
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("jean@email.com", null));
+
+        loginThrottle.release("jean@email.com");
+        assertDoesNotThrow(() -> loginThrottle.acquire("jean@email.com", null));
+    }
+
+    @Test
+    void acquire_ShouldRejectIpAfterMaxAttemptsWhateverTheAccount() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("compte" + i + "@email.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("autre@email.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> loginThrottle.acquire("autre@email.com", "10.0.0.2"));
+        assertEquals(1, throttled("ip"));
+
+        advance(Duration.ofMinutes(1));
+        assertDoesNotThrow(() -> loginThrottle.acquire("autre@email.com", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldDelegateToEncoderOnPool() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(4),
+                new SimpleMeterRegistry(), 2, 4);
+
+        String hash = passwordHashingService.encode("password123");
+
+        assertTrue(passwordHashingService.matches("password123", hash));
+        assertFalse(passwordHashingService.matches("autre", hash));
+    }
+
+    @Test
+    void upgradeEncoding_ShouldDetectHashesBelowConfiguredCost() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(6),
+                new SimpleMeterRegistry(), 1, 1);
+
+        assertTrue(passwordHashingService.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(passwordHashingService.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123")));
+    }
+
+    @Test
+    void matches_ShouldRejectWhenQueueIsFull() throws Exception {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService(encoder, meterRegistry, 1, 1);
+
+        // Un appel en cours sur l'unique thread, un autre dans la file : le suivant est refusé
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("a", "h"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("b", "h"));
+        while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> passwordHashingService.matches("c", "h"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,102 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.model.GameRatingStats;
+import com.gamesUP.gamesUP.repository.GameRatingStatsRepository;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.repository.WishlistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PopularityServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private PurchaseRepository purchaseRepository;
+
+    @Mock
+    private WishlistRepository wishlistRepository;
+
+    @Mock
+    private GameRatingStatsRepository gameRatingStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PopularityService popularityService;
+
+    @BeforeEach
+    void setUp() {
+        popularityService = new PopularityService(gameRepository, purchaseRepository, wishlistRepository,
+                gameRatingStatsRepository, transactionManager, 3, Duration.ofDays(14), 1.0, 2.0, 0.5, 5);
+        LocalDateTime now = LocalDateTime.now();
+        // Jeux 1, 2, 3 dans la catégorie 10 ; jeu 4 dans la catégorie 20 ; jeu 5 sans catégorie
+        when(gameRepository.findAllCategoryIds()).thenReturn(List.of(
+                new Object[]{1L, 10L}, new Object[]{2L, 10L}, new Object[]{3L, 10L},
+                new Object[]{4L, 20L}, new Object[]{5L, null}));
+        // Jeu 1 : 3 ventes récentes ; jeu 2 : 3 ventes vieilles de 4 demi-vies
+        when(purchaseRepository.findSaleLinesSince(any())).thenReturn(List.of(
+                new Object[]{1L, now, 3},
+                new Object[]{2L, now.minusDays(56), 3}));
+        when(gameRatingStatsRepository.findAll()).thenReturn(List.of(
+                GameRatingStats.builder().gameId(4L).ratingSum(25).ratingCount(5).build()));
+        when(wishlistRepository.countAllByGame()).thenReturn(List.<Object[]>of(new Object[]{3L, 2L}));
+        popularityService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        popularityService.shutdown();
+    }
+
+    @Test
+    void rebuild_ShouldRankDecayedSalesRatingsAndWishlists() {
+        // Jeu 1 : 3 ventes = 3,0 ; jeu 4 : 2 × (note bayésienne 4,0 − 3,0) = 2,0 ; jeu 3 : 0,5 × 2 = 1,0 ; jeu 2 : 3/16
+        assertEquals(List.of(1L, 4L, 3L), popularityService.topGames(3));
+        assertEquals(List.of(1L), popularityService.topGames(1));
+    }
+
+    @Test
+    void topGamesLike_ShouldReturnSameCategoryWithoutTheGameItself() {
+        assertEquals(List.of(3L, 2L), popularityService.topGamesLike(1L, 5));
+        // Sans catégorie : classement global
+        assertEquals(List.of(1L, 4L), popularityService.topGamesLike(5L, 2));
+    }
+
+    @Test
+    void refreshGames_ShouldUpdateOnlyTheGivenGames() {
+        when(gameRepository.findCategoryAndPublisherByGameIds(Set.of(2L)))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, 10L, "Stratégie", 1L, "Asmodee"}));
+        when(purchaseRepository.findSaleLinesByGameIdsSince(eq(Set.of(2L)), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, LocalDateTime.now(), 10}));
+
+        popularityService.refreshGames(Set.of(2L));
+
+        assertEquals(List.of(2L, 1L, 4L), popularityService.topGames(3));
+        verify(gameRepository, times(1)).findAllCategoryIds();
+    }
+
+    @Test
+    void refreshGames_WhenGameWasDeleted_ShouldRemoveItFromRanking() {
+        popularityService.refreshGames(Set.of(1L));
+
+        assertEquals(List.of(4L, 3L, 2L), popularityService.topGames(3));
+    }
+}
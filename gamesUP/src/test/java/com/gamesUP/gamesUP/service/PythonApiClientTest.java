@@ -0,0 +1,133 @@
+package com.gamesUP.gamesUP.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Client testé contre un serveur HTTP local qui simule l'API Python
+ */
+class PythonApiClientTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final CountDownLatch releaseBlocked = new CountDownLatch(1);
+    private final CountDownLatch blockedCallStarted = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/recommendations/user/1", exchange -> respond(exchange, "[3,1,2]"));
+        server.createContext("/recommendations/user/2", exchange -> {
+            slowCalls.incrementAndGet();
+            sleep(500);
+            respond(exchange, "[1]");
+        });
+        server.createContext("/recommendations/user/3", exchange -> {
+            blockedCallStarted.countDown();
+            await(releaseBlocked);
+            respond(exchange, "[1]");
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseBlocked.countDown();
+        server.stop(0);
+    }
+
+    private PythonApiClient client(int maxConcurrentCalls, int failureThreshold) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        return new PythonApiClient(httpClient, meterRegistry,
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                Duration.ofMillis(100), Duration.ofSeconds(5),
+                maxConcurrentCalls, failureThreshold, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getRecommendedGameIds_ShouldReturnIdsAndRecordLatency() {
+        PythonApiClient client = client(4, 3);
+
+        assertEquals(Optional.of(List.of(3L, 1L, 2L)), client.getRecommendedGameIds("/recommendations/user/1"));
+        assertEquals(1, meterRegistry.get("python.api.requests")
+                .tags("endpoint", "recommendations", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void getRecommendedGameIds_WhenBackendStalls_ShouldTimeOutThenOpenCircuit() {
+        PythonApiClient client = client(4, 2);
+
+        assertTrue(client.getRecommendedGameIds("/recommendations/user/2").isEmpty());
+        assertTrue(client.getRecommendedGameIds("/recommendations/user/2").isEmpty());
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        // Circuit ouvert : le fallback est immédiat et l'API n'est plus appelée
+        assertTrue(client.getRecommendedGameIds("/recommendations/user/2").isEmpty());
+        assertEquals(2, slowCalls.get());
+        assertEquals(1, meterRegistry.get("python.api.requests").tag("outcome", "short_circuited").timer().count());
+        assertEquals(1.0, meterRegistry.get("python.api.circuit.state").gauge().value());
+    }
+
+    @Test
+    void execute_WhenBulkheadIsFull_ShouldRejectImmediately() throws Exception {
+        PythonApiClient client = client(1, 3);
+        Thread blocked = new Thread(() -> client.postTraining("/recommendations/user/3"));
+        blocked.start();
+        assertTrue(blockedCallStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ResourceAccessException.class, client::getHealth);
+        assertEquals(0.0, meterRegistry.get("python.api.bulkhead.available").gauge().value());
+
+        releaseBlocked.countDown();
+        blocked.join(5000);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.gamesUP.gamesUP.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationPrecomputeServiceTest {
+
+    @Mock
+    private RecommendationEngine recommendationEngine;
+
+    @TempDir
+    private Path directory;
+
+    private final InteractionMatrix matrix = InteractionMatrix.builder()
+            .add(3L, 10L, 4).add(5L, 20L, 4).add(6L, 30L, 4)
+            .build();
+
+    private RecommendationPrecomputeService service(boolean enabled, String backend) {
+        return new RecommendationPrecomputeService(recommendationEngine, directory, enabled, backend, 10);
+    }
+
+    private static RecommendationEngine.LoadedMatrix loaded(InteractionMatrix matrix) {
+        return new RecommendationEngine.LoadedMatrix(matrix, System.nanoTime());
+    }
+
+    private RecommendationPrecomputeService precomputed() {
+        when(recommendationEngine.reload()).thenAnswer(invocation -> loaded(matrix));
+        when(recommendationEngine.recommendForAllUsers(matrix, 10))
+                .thenReturn(new long[][]{{20L, 30L}, {}, {10L}});
+        RecommendationPrecomputeService service = service(true, "local");
+        service.precompute();
+        return service;
+    }
+
+    @Test
+    void lookup_ShouldServeStoredRecommendationsByUserId() {
+        RecommendationPrecomputeService service = precomputed();
+
+        verify(recommendationEngine).reload();
+        assertEquals(Optional.of(List.of(20L, 30L)), service.lookup(3L));
+        assertEquals(Optional.of(List.of()), service.lookup(5L));
+        assertEquals(Optional.of(List.of(10L)), service.lookup(6L));
+        // ID 4 : utilisateur sans interaction lors du calcul
+        assertEquals(Optional.of(List.of()), service.lookup(4L));
+    }
+
+    @Test
+    void lookup_ShouldFallBackToLiveComputationForNewOrActiveUsers() {
+        RecommendationPrecomputeService service = precomputed();
+
+        service.markInteraction(3L);
+
+        assertTrue(service.lookup(3L).isEmpty());
+        assertTrue(service.lookup(7L).isEmpty());
+        assertTrue(service.lookup(1L).isEmpty());
+    }
+
+    @Test
+    void precompute_ShouldReplacePreviousFileAndForgetOlderInteractions() {
+        RecommendationPrecomputeService service = precomputed();
+        service.markInteraction(3L);
+
+        service.precompute();
+
+        assertEquals(Optional.of(List.of(20L, 30L)), service.lookup(3L));
+    }
+
+    @Test
+    void precompute_WithPythonBackend_ShouldDoNothing() {
+        RecommendationPrecomputeService service = service(true, "python");
+
+        service.precompute();
+
+        assertTrue(service.lookup(3L).isEmpty());
+        verifyNoInteractions(recommendationEngine);
+    }
+
+    @Test
+    void precompute_ShouldWriteOneFilePerInstanceAndDeleteItOnShutdown() {
+        RecommendationPrecomputeService first = precomputed();
+        RecommendationPrecomputeService second = precomputed();
+
+        assertNotEquals(first.file(), second.file());
+        assertTrue(Files.exists(first.file()));
+
+        first.deleteFile();
+
+        assertFalse(Files.exists(first.file()));
+        assertEquals(Optional.of(List.of(20L, 30L)), second.lookup(3L));
+    }
+
+    @Test
+    void precompute_WithWidelySpreadUserIds_ShouldUseSortedIndex() {
+        // Un index dense couvrirait trois milliards de cases
+        InteractionMatrix spreadMatrix = InteractionMatrix.builder()
+                .add(3L, 10L, 4).add(5L, 20L, 4).add(3_000_000_000L, 30L, 4)
+                .build();
+        when(recommendationEngine.reload()).thenAnswer(invocation -> loaded(spreadMatrix));
+        when(recommendationEngine.recommendForAllUsers(spreadMatrix, 10))
+                .thenReturn(new long[][]{{20L, 30L}, {}, {10L}});
+        RecommendationPrecomputeService service = service(true, "local");
+
+        service.precompute();
+
+        assertEquals(Optional.of(List.of(20L, 30L)), service.lookup(3L));
+        assertEquals(Optional.of(List.of()), service.lookup(5L));
+        assertEquals(Optional.of(List.of(10L)), service.lookup(3_000_000_000L));
+        assertEquals(Optional.of(List.of()), service.lookup(4L));
+        assertTrue(service.lookup(1L).isEmpty());
+        assertTrue(service.lookup(3_000_000_001L).isEmpty());
+    }
+
+    @Test
+    void precomputeAtStartup_ShouldReuseMatrixLoadedByEngine() {
+        when(recommendationEngine.loaded()).thenReturn(Optional.of(loaded(matrix)));
+        when(recommendationEngine.recommendForAllUsers(matrix, 10))
+                .thenReturn(new long[][]{{20L, 30L}, {}, {10L}});
+        RecommendationPrecomputeService service = service(true, "local");
+
+        service.precomputeAtStartup();
+
+        assertEquals(Optional.of(List.of(20L, 30L)), service.lookup(3L));
+        verify(recommendationEngine, never()).reload();
+    }
+}
@@ -0,0 +1,216 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.dto.GameDTO;
+import com.gamesUP.gamesUP.event.UserInteractionEvent;
+import com.gamesUP.gamesUP.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private PythonApiClient pythonApiClient;
+
+    @Mock
+    private RecommendationEngine recommendationEngine;
+
+    @Mock
+    private PopularityService popularityService;
+
+    @Mock
+    private RecommendationPrecomputeService precomputeService;
+
+    @Mock
+    private GameSimilarityService gameSimilarityService;
+
+    @Mock
+    private TrainingDataExportService trainingDataExportService;
+
+    private RecommendationService recommendationService;
+
+    @AfterEach
+    void tearDown() {
+        recommendationService.shutdown();
+    }
+
+    private RecommendationService service(String backend) {
+        recommendationService = new RecommendationService(gameRepository, gameService, pythonApiClient,
+                recommendationEngine, popularityService, precomputeService, gameSimilarityService,
+                trainingDataExportService, new SimpleMeterRegistry(), backend, 10,
+                1000, Duration.ofMinutes(10), Duration.ofMinutes(1), 3, 2, 2);
+        return recommendationService;
+    }
+
+    @Test
+    void getRecommendationsForUser_ShouldServeRepeatedCallsFromCache() {
+        RecommendationService service = service("local");
+        List<GameDTO> games = List.of(GameDTO.builder().id(3L).build());
+        when(recommendationEngine.recommendForUser(2L, 10)).thenReturn(List.of(3L));
+        when(gameService.getGamesByIds(List.of(3L))).thenReturn(games);
+
+        assertEquals(games, service.getRecommendationsForUser(2L));
+        assertEquals(games, service.getRecommendationsForUser(2L));
+
+        verify(recommendationEngine, times(1)).recommendForUser(2L, 10);
+    }
+
+    @Test
+    void onUserInteraction_ShouldInvalidateUserAndGamesWithoutRebuildingMatrix() {
+        RecommendationService service = service("local");
+        when(recommendationEngine.recommendForUser(2L, 10)).thenReturn(List.of(3L), List.of(4L));
+        when(recommendationEngine.recommendForGame(3L, 10)).thenReturn(List.of(5L));
+        service.getRecommendationsForUser(2L);
+        service.getRecommendationsForGame(3L);
+
+        service.onUserInteraction(new UserInteractionEvent(2L, Set.of(3L)));
+        service.getRecommendationsForUser(2L);
+        service.getRecommendationsForGame(3L);
+
+        verify(recommendationEngine, times(2)).recommendForUser(2L, 10);
+        verify(recommendationEngine, times(2)).recommendForGame(3L, 10);
+        verify(gameService).getGamesByIds(List.of(4L));
+        verify(recommendationEngine, never()).rebuild();
+    }
+
+    @Test
+    void getRecommendationsForUser_WhenPythonApiFails_ShouldFallBackWithoutCaching() {
+        RecommendationService service = service("python");
+        when(pythonApiClient.getRecommendedGameIds("/recommendations/user/2")).thenReturn(Optional.empty());
+        when(gameRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+
+        service.getRecommendationsForUser(2L);
+        service.getRecommendationsForUser(2L);
+
+        verify(pythonApiClient, times(2)).getRecommendedGameIds("/recommendations/user/2");
+        verify(gameService, times(2)).convertToDTOs(List.of());
+        verifyNoInteractions(recommendationEngine);
+    }
+
+    @Test
+    void getRecommendationsForGame_WithoutNeighbours_ShouldServePopularGamesOfSameCategory() {
+        RecommendationService service = service("local");
+        List<GameDTO> popular = List.of(GameDTO.builder().id(8L).build());
+        when(recommendationEngine.recommendForGame(3L, 10)).thenReturn(List.of());
+        when(popularityService.topGamesLike(3L, 10)).thenReturn(List.of(8L));
+        when(gameService.getGamesByIds(List.of(8L))).thenReturn(popular);
+
+        assertEquals(popular, service.getRecommendationsForGame(3L));
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void forEachUserRecommendations_ShouldHydrateEachGameOnceAndFallBackForUsersWithoutInteractions() {
+        RecommendationService service = service("local");
+        GameDTO game3 = GameDTO.builder().id(3L).build();
+        GameDTO game4 = GameDTO.builder().id(4L).build();
+        GameDTO game8 = GameDTO.builder().id(8L).build();
+        when(recommendationEngine.recommendForUser(1L, 10)).thenReturn(List.of(3L, 4L));
+        when(recommendationEngine.recommendForUser(2L, 10)).thenReturn(List.of());
+        when(recommendationEngine.recommendForUser(5L, 10)).thenReturn(List.of(4L, 3L));
+        when(popularityService.topGames(10)).thenReturn(List.of(8L));
+        when(gameService.getGamesByIds(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+                .map(Map.of(3L, game3, 4L, game4, 8L, game8)::get)
+                .toList());
+        Map<Long, List<GameDTO>> results = new ConcurrentHashMap<>();
+
+        // Le doublon est ignoré ; les résultats arrivent dans l'ordre d'achèvement
+        service.forEachUserRecommendations(List.of(1L, 2L, 1L, 5L),
+                ready -> ready.forEach(result -> results.put(result.getUserId(), result.getGames())));
+
+        assertEquals(Map.of(1L, List.of(game3, game4), 2L, List.of(game8), 5L, List.of(game4, game3)), results);
+        // Chaque jeu n'est lu qu'une fois pendant la demande
+        ArgumentCaptor<List<Long>> hydrated = ArgumentCaptor.forClass(List.class);
+        verify(gameService, atLeastOnce()).getGamesByIds(hydrated.capture());
+        List<Long> hydratedIds = hydrated.getAllValues().stream().flatMap(List::stream).sorted().toList();
+        assertEquals(List.of(3L, 4L, 8L), hydratedIds);
+    }
+
+    @Test
+    void forEachUserRecommendations_ShouldEmitFinishedUsersBeforeSlowOnes() throws Exception {
+        RecommendationService service = service("local");
+        CountDownLatch slowUserReleased = new CountDownLatch(1);
+        when(recommendationEngine.recommendForUser(1L, 10)).thenAnswer(invocation -> {
+            slowUserReleased.await(5, TimeUnit.SECONDS);
+            return List.of(3L);
+        });
+        when(recommendationEngine.recommendForUser(2L, 10)).thenReturn(List.of(3L));
+        when(recommendationEngine.recommendForUser(5L, 10)).thenReturn(List.of(3L));
+        when(gameService.getGamesByIds(List.of(3L))).thenReturn(List.of(GameDTO.builder().id(3L).build()));
+        List<Long> emitted = new CopyOnWriteArrayList<>();
+        CountDownLatch fastUsersEmitted = new CountDownLatch(2);
+
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(() -> service.forEachUserRecommendations(
+                List.of(1L, 2L, 5L), ready -> ready.forEach(result -> {
+                    emitted.add(result.getUserId());
+                    fastUsersEmitted.countDown();
+                })));
+
+        // Les utilisateurs 2 et 5 sont transmis pendant que le calcul de l'utilisateur 1 est bloqué
+        assertTrue(fastUsersEmitted.await(5, TimeUnit.SECONDS));
+        assertEquals(Set.of(2L, 5L), Set.copyOf(emitted));
+        assertFalse(batch.isDone());
+        slowUserReleased.countDown();
+        batch.get(5, TimeUnit.SECONDS);
+        assertEquals(1L, emitted.get(2));
+    }
+
+    @Test
+    void checkBatchSize_ShouldRejectEmptyAndOversizedLists() {
+        RecommendationService service = service("local");
+
+        assertThrows(IllegalArgumentException.class, () -> service.checkBatchSize(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.checkBatchSize(List.of(1L, 2L, 3L, 4L)));
+        assertDoesNotThrow(() -> service.checkBatchSize(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void getRecommendationsForUser_ShouldServePrecomputedRecommendationsWithoutEngine() {
+        RecommendationService service = service("local");
+        List<GameDTO> games = List.of(GameDTO.builder().id(6L).build());
+        when(precomputeService.lookup(2L)).thenReturn(Optional.of(List.of(6L)));
+        when(gameService.getGamesByIds(List.of(6L))).thenReturn(games);
+
+        assertEquals(games, service.getRecommendationsForUser(2L));
+        verifyNoInteractions(recommendationEngine);
+    }
+
+    @Test
+    void getRecommendationsForGame_ShouldReadSimilarGamesFromStore() {
+        RecommendationService service = service("local");
+        List<GameDTO> games = List.of(GameDTO.builder().id(7L).build());
+        when(gameSimilarityService.similarGames(3L, 10)).thenReturn(Optional.of(List.of(7L)));
+        when(gameService.getGamesByIds(List.of(7L))).thenReturn(games);
+
+        assertEquals(games, service.getRecommendationsForGame(3L));
+        verifyNoInteractions(recommendationEngine);
+    }
+}
@@ -0,0 +1,92 @@
+package com.gamesUP.gamesUP.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+
+    private final SessionStore sessionStore = new SessionStore(meterRegistry, 2, clock);
+
+    private Instant in(Duration duration) {
+        return clock.instant().plus(duration);
+    }
+
+    private double removed(String cause) {
+        return meterRegistry.get("auth.sessions.removed").tag("cause", cause).counter().count();
+    }
+
+    @Test
+    void isClosed_ShouldHoldUntilTokenExpiry() {
+        sessionStore.close("t1", in(Duration.ofHours(2)));
+
+        assertTrue(sessionStore.isClosed("t1"));
+        assertFalse(sessionStore.isClosed("t2"));
+        clock.advance(Duration.ofMinutes(119));
+        assertTrue(sessionStore.isClosed("t1"));
+        clock.advance(Duration.ofMinutes(1));
+        assertFalse(sessionStore.isClosed("t1"));
+    }
+
+    @Test
+    void sweep_ShouldReclaimSessionsOfExpiredTokensAndCountThem() {
+        sessionStore.close("t1", in(Duration.ofMinutes(30)));
+        sessionStore.close("t2", in(Duration.ofHours(2)));
+
+        clock.advance(Duration.ofMinutes(31));
+        sessionStore.sweep();
+
+        assertEquals(1, meterRegistry.get("auth.tokens.revoked").gauge().value());
+        assertEquals(1, removed("expired"));
+    }
+
+    @Test
+    void close_BeyondCapacity_ShouldEvictAndCountSessions() {
+        for (int i = 1; i <= 5; i++) {
+            sessionStore.close("t" + i, in(Duration.ofHours(2)));
+        }
+        sessionStore.sweep();
+
+        assertEquals(2, meterRegistry.get("auth.tokens.revoked").gauge().value());
+        assertEquals(3, removed("evicted"));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.gamesUP.gamesUP.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight singleFlight = new SingleFlight("test", meterRegistry);
+
+    private double calls(String outcome) {
+        return meterRegistry.get("singleflight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private Future<String> submit(ExecutorService executor, SingleFlight.Call<String> call) {
+        return executor.submit(() -> {
+            try {
+                return singleFlight.execute(1L, call);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        });
+    }
+
+    @Test
+    void execute_ConcurrentCallsWithSameKey_ShouldShareOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = submit(executor, () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                release.await();
+                return "jeu 1";
+            });
+            started.await();
+            Future<String> first = submit(executor, () -> "autre calcul");
+            Future<String> second = submit(executor, () -> "autre calcul");
+            while (calls("coalesced") < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals("jeu 1", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("jeu 1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("jeu 1", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+            assertEquals(1, calls("executed"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldRecompute() throws Throwable {
+        assertEquals("a", singleFlight.execute(1L, () -> "a"));
+        assertEquals("b", singleFlight.execute(1L, () -> "b"));
+        assertEquals(2, calls("executed"));
+        assertEquals(0, calls("coalesced"));
+    }
+
+    @Test
+    void execute_WhenCallFails_ShouldRethrowAndForgetTheKey() throws Throwable {
+        IllegalStateException failure = new IllegalStateException("panne");
+
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute(1L, () -> { throw failure; })));
+        assertEquals("ok", singleFlight.execute(1L, () -> "ok"));
+    }
+
+    @Test
+    void execute_ReentrantCallWithSameKey_ShouldNotWaitForItself() throws Throwable {
+        String result = singleFlight.execute(1L, () -> singleFlight.execute(1L, () -> "interne"));
+
+        assertEquals("interne", result);
+    }
+}
@@ -0,0 +1,208 @@
+package com.gamesUP.gamesUP.service;
+
+import com.gamesUP.gamesUP.model.RevokedToken;
+import com.gamesUP.gamesUP.model.User;
+import com.gamesUP.gamesUP.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private static final String OLD_KEY = "k1:" + "A".repeat(44);
+    private static final String NEW_KEY = "k2:" + "B".repeat(44);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+
+    private TokenService tokenService(String... keys) {
+        return new TokenService(revokedTokenRepository, new SessionStore(meterRegistry, 100, clock), meterRegistry,
+                List.of(keys), Duration.ofHours(2), clock);
+    }
+
+    private double verifications(String outcome) {
+        return meterRegistry.get("auth.tokens.verifications").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void verify_ShouldReturnClaimsOfIssuedToken() {
+        TokenService tokenService = tokenService(OLD_KEY);
+
+        String token = tokenService.issue(7L, User.UserRole.ADMIN);
+
+        TokenService.TokenClaims claims = tokenService.verify(token).orElseThrow();
+        assertEquals(7L, claims.userId());
+        assertEquals(User.UserRole.ADMIN, claims.role());
+        assertEquals(Instant.parse("2026-01-01T12:00:00Z"), claims.expiresAt());
+        assertTrue(token.startsWith("k1."));
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedClaims() {
+        TokenService tokenService = tokenService(OLD_KEY);
+        String token = tokenService.issue(7L, User.UserRole.CLIENT);
+        String[] parts = token.split("\\.");
+        String forged = new String(Base64.getUrlDecoder().decode(parts[1])).replace("CLIENT", "ADMIN");
+        String tampered = parts[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(forged.getBytes()) + "." + parts[2];
+
+        assertTrue(tokenService.verify(tampered).isEmpty());
+        assertEquals(1, verifications("signature"));
+    }
+
+    @Test
+    void verify_ShouldRejectMalformedAndUnknownKeyTokens() {
+        TokenService tokenService = tokenService(OLD_KEY);
+
+        assertTrue(tokenService.verify(null).isEmpty());
+        assertTrue(tokenService.verify("pas-un-token").isEmpty());
+        assertTrue(tokenService.verify("k1.%%%.%%%").isEmpty());
+        assertTrue(tokenService.verify("k9.abc.def").isEmpty());
+        assertEquals(3, verifications("malformed"));
+        assertEquals(1, verifications("unknown_key"));
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredToken() {
+        TokenService tokenService = tokenService(OLD_KEY);
+        String token = tokenService.issue(1L, User.UserRole.CLIENT);
+
+        clock.advance(Duration.ofMinutes(119));
+        assertTrue(tokenService.verify(token).isPresent());
+        clock.advance(Duration.ofMinutes(1));
+        assertTrue(tokenService.verify(token).isEmpty());
+        assertEquals(1, verifications("expired"));
+    }
+
+    @Test
+    void verify_ShouldAcceptTokensSignedByRotatedKey() {
+        String oldToken = tokenService(OLD_KEY).issue(1L, User.UserRole.CLIENT);
+
+        TokenService rotated = tokenService(NEW_KEY, OLD_KEY);
+        String newToken = rotated.issue(2L, User.UserRole.CLIENT);
+
+        assertEquals(1L, rotated.verify(oldToken).orElseThrow().userId());
+        assertTrue(newToken.startsWith("k2."));
+        // Une fois l'ancienne clé retirée, ses tokens ne sont plus acceptés
+        assertTrue(tokenService(NEW_KEY).verify(oldToken).isEmpty());
+        assertTrue(tokenService(NEW_KEY).verify(newToken).isPresent());
+    }
+
+    @Test
+    void revoke_ShouldRejectTokenUntilItExpires() {
+        TokenService tokenService = tokenService(OLD_KEY);
+        String revoked = tokenService.issue(1L, User.UserRole.CLIENT);
+        String other = tokenService.issue(1L, User.UserRole.CLIENT);
+
+        tokenService.revoke(revoked);
+        tokenService.revoke("pas-un-token");
+
+        assertTrue(tokenService.verify(revoked).isEmpty());
+        assertTrue(tokenService.verify(other).isPresent());
+        assertEquals(1, verifications("revoked"));
+        assertEquals(1, meterRegistry.get("auth.tokens.revoked").gauge().value());
+        verify(revokedTokenRepository).save(argThat(saved ->
+                saved.getExpiresAt().equals(Instant.parse("2026-01-01T12:00:00Z"))
+                        && saved.getRevokedAt().equals(Instant.parse("2026-01-01T10:00:00Z"))));
+    }
+
+    @Test
+    void refreshRevocations_ShouldApplyRevocationsRecordedByOtherNodes() {
+        TokenService otherNode = tokenService(OLD_KEY);
+        TokenService tokenService = tokenService(OLD_KEY);
+        String token = tokenService.issue(1L, User.UserRole.CLIENT);
+        otherNode.revoke(token);
+        RevokedToken saved = captureSaved();
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(saved));
+
+        assertTrue(tokenService.verify(token).isPresent());
+        tokenService.refreshRevocations();
+
+        assertTrue(tokenService.verify(token).isEmpty());
+        // La relecture suivante repart de la précédente, avec un recouvrement
+        clock.advance(Duration.ofMinutes(1));
+        tokenService.refreshRevocations();
+        verify(revokedTokenRepository).findActiveRevokedSince(
+                Instant.parse("2026-01-01T09:59:30Z"), Instant.parse("2026-01-01T10:01:00Z"));
+    }
+
+    @Test
+    void refreshRevocations_WhenDatabaseFails_ShouldRetryFromLastSuccessfulRefresh() {
+        TokenService tokenService = tokenService(OLD_KEY);
+        when(revokedTokenRepository.findActiveRevokedSince(any(), any()))
+                .thenThrow(new IllegalStateException("base indisponible"))
+                .thenReturn(List.of());
+
+        tokenService.refreshRevocations();
+        clock.advance(Duration.ofMinutes(1));
+        tokenService.refreshRevocations();
+
+        verify(revokedTokenRepository).findActiveRevokedSince(
+                Instant.EPOCH.minusSeconds(30), Instant.parse("2026-01-01T10:00:00Z"));
+        verify(revokedTokenRepository).findActiveRevokedSince(
+                Instant.EPOCH.minusSeconds(30), Instant.parse("2026-01-01T10:01:00Z"));
+    }
+
+    @Test
+    void sweep_ShouldDeleteExpiredRevocations() {
+        tokenService(OLD_KEY).sweep();
+
+        verify(revokedTokenRepository).deleteExpired(Instant.parse("2026-01-01T10:00:00Z"));
+    }
+
+    private RevokedToken captureSaved() {
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void constructor_ShouldRejectShortOrMissingKeys() {
+        assertThrows(IllegalArgumentException.class, () -> tokenService("k1:" + "A".repeat(8)));
+        assertThrows(IllegalArgumentException.class, () -> tokenService("sans-separateur"));
+        assertThrows(IllegalArgumentException.class, this::tokenService);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
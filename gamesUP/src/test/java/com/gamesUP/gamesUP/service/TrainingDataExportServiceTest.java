@@ -0,0 +1,282 @@
+package com.gamesUP.gamesUP.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gamesUP.gamesUP.model.InteractionChange;
+import com.gamesUP.gamesUP.model.TrainingExportCursor;
+import com.gamesUP.gamesUP.repository.AvisRepository;
+import com.gamesUP.gamesUP.repository.InteractionChangeRepository;
+import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.repository.TrainingExportCursorRepository;
+import com.gamesUP.gamesUP.repository.WishlistRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrainingDataExportServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 10, 0);
+    private static final LocalDateTime UNTIL = NOW.minusMinutes(1);
+    private static final LocalDateTime LAST_EXPORT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Mock
+    private PurchaseRepository purchaseRepository;
+
+    @Mock
+    private AvisRepository avisRepository;
+
+    @Mock
+    private WishlistRepository wishlistRepository;
+
+    @Mock
+    private InteractionChangeRepository changeRepository;
+
+    @Mock
+    private TrainingExportCursorRepository cursorRepository;
+
+    @Mock
+    private PythonApiClient pythonApiClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TrainingDataExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TrainingDataExportService(purchaseRepository, avisRepository, wishlistRepository,
+                changeRepository, cursorRepository, pythonApiClient, new ObjectMapper(), transactionManager, 2,
+                Duration.ofMinutes(1), Clock.fixed(Instant.parse("2026-01-01T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private static Object[] line(long id, long userId, long gameId, Integer value) {
+        return new Object[]{id, userId, gameId, value, null};
+    }
+
+    private static InteractionChange change(long id, long userId, long gameId, LocalDateTime at) {
+        return InteractionChange.builder().id(id).userId(userId).gameId(gameId).changedAt(at).build();
+    }
+
+    private static ResponseEntity<String> accepted(String storeId) {
+        return ResponseEntity.ok("{\"status\":\"success\",\"store_id\":\"" + storeId + "\"}");
+    }
+
+    private void givenCursor(LocalDateTime lastChangedAt, long lastExportedId, String storeId) {
+        when(cursorRepository.findById(TrainingDataExportService.CURSOR_KEY)).thenReturn(Optional.of(
+                TrainingExportCursor.builder()
+                        .source(TrainingDataExportService.CURSOR_KEY)
+                        .lastChangedAt(lastChangedAt)
+                        .lastExportedId(lastExportedId)
+                        .storeId(storeId)
+                        .build()));
+    }
+
+    private void givenEmptyTables() {
+        when(purchaseRepository.findSaleLinesAfter(0L, Limit.of(2))).thenReturn(List.of());
+        when(avisRepository.findApprovedNotesAfter(0L, Limit.of(2))).thenReturn(List.of());
+        when(wishlistRepository.findEntriesAfter(0L, Limit.of(2))).thenReturn(List.of());
+    }
+
+    private List<TrainingExportCursor> savedCursors(int times) {
+        ArgumentCaptor<TrainingExportCursor> cursors = ArgumentCaptor.forClass(TrainingExportCursor.class);
+        verify(cursorRepository, times(times)).save(cursors.capture());
+        return cursors.getAllValues();
+    }
+
+    @Test
+    void exportInteractions_ShouldReplayChangedPairsAsTombstoneThenCurrentState() {
+        givenCursor(LAST_EXPORT, 4L, "s1");
+        LocalDateTime at = LAST_EXPORT.plusMinutes(5);
+        when(changeRepository.findChangesAfter(LAST_EXPORT, 4L, UNTIL, Limit.of(2)))
+                .thenReturn(List.of(change(5L, 1L, 5L, at), change(6L, 2L, 7L, at)));
+        when(changeRepository.findChangesAfter(at, 6L, UNTIL, Limit.of(2)))
+                .thenReturn(List.of(change(7L, 1L, 5L, at.plusMinutes(1))));
+        // Produit utilisateurs × jeux : la ligne (2, 5) n'est pas un couple modifié
+        when(purchaseRepository.findSaleLinesOf(anySet(), anySet()))
+                .thenReturn(List.of(line(11L, 1L, 5L, 2), line(12L, 2L, 5L, 1)));
+        when(avisRepository.findApprovedNotesOf(anySet(), anySet())).thenReturn(List.of());
+        when(wishlistRepository.findEntriesOf(anySet(), anySet())).thenReturn(List.of());
+        when(pythonApiClient.postInteractions(any(), eq(false), eq("s1"))).thenReturn(accepted("s1"));
+
+        TrainingDataExportService.ExportReport report = exportService.exportInteractions(false);
+
+        assertEquals(2, report.batches());
+        assertEquals(3, report.replayedPairs());
+        assertEquals(2, report.total());
+        ArgumentCaptor<byte[]> batches = ArgumentCaptor.forClass(byte[].class);
+        verify(pythonApiClient, times(2)).postInteractions(batches.capture(), eq(false), eq("s1"));
+        assertEquals("""
+                {"kind":"delete","user_id":1,"game_id":5}
+                {"kind":"delete","user_id":2,"game_id":7}
+                {"kind":"purchase","user_id":1,"game_id":5,"quantity":2}
+                """, new String(batches.getAllValues().get(0), StandardCharsets.UTF_8));
+        List<TrainingExportCursor> cursors = savedCursors(2);
+        assertEquals(6L, cursors.get(0).getLastExportedId());
+        assertEquals(7L, cursors.get(1).getLastExportedId());
+        assertEquals(at.plusMinutes(1), cursors.get(1).getLastChangedAt());
+        verify(changeRepository).deleteChangedBefore(at.plusMinutes(1));
+    }
+
+    @Test
+    void exportInteractions_WithDeletedPair_ShouldSendTombstoneOnly() {
+        givenCursor(LAST_EXPORT, 0L, "s1");
+        when(changeRepository.findChangesAfter(LAST_EXPORT, 0L, UNTIL, Limit.of(2)))
+                .thenReturn(List.of(change(1L, 3L, 8L, LAST_EXPORT.plusMinutes(1))));
+        when(purchaseRepository.findSaleLinesOf(Set.of(3L), Set.of(8L))).thenReturn(List.of());
+        when(avisRepository.findApprovedNotesOf(Set.of(3L), Set.of(8L))).thenReturn(List.of());
+        when(wishlistRepository.findEntriesOf(Set.of(3L), Set.of(8L))).thenReturn(List.of());
+        when(pythonApiClient.postInteractions(any(), eq(false), eq("s1"))).thenReturn(accepted("s1"));
+
+        assertEquals(0, exportService.exportInteractions(false).total());
+
+        verify(pythonApiClient).postInteractions(
+                "{\"kind\":\"delete\",\"user_id\":3,\"game_id\":8}\n".getBytes(StandardCharsets.UTF_8), false, "s1");
+    }
+
+    @Test
+    void exportInteractions_WithoutChanges_ShouldStillCheckApiStore() {
+        givenCursor(LAST_EXPORT, 4L, "s1");
+        when(changeRepository.findChangesAfter(LAST_EXPORT, 4L, UNTIL, Limit.of(2))).thenReturn(List.of());
+
+        assertEquals(0, exportService.exportInteractions(false).batches());
+
+        verify(pythonApiClient).postInteractions(new byte[0], false, "s1");
+        verify(cursorRepository, never()).save(any());
+    }
+
+    @Test
+    void exportInteractions_WhenApiLostItsStore_ShouldFallBackToFullExport() {
+        givenCursor(LAST_EXPORT, 4L, "s1");
+        when(changeRepository.findChangesAfter(LAST_EXPORT, 4L, UNTIL, Limit.of(2))).thenReturn(List.of());
+        when(pythonApiClient.postInteractions(new byte[0], false, "s1"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.CONFLICT, "Conflict", null, null, null));
+        when(purchaseRepository.findSaleLinesAfter(0L, Limit.of(2))).thenReturn(List.<Object[]>of(line(1L, 1L, 5L, 1)));
+        when(avisRepository.findApprovedNotesAfter(0L, Limit.of(2))).thenReturn(List.of());
+        when(wishlistRepository.findEntriesAfter(0L, Limit.of(2))).thenReturn(List.of());
+        when(pythonApiClient.postInteractions(any(), eq(true), isNull())).thenReturn(accepted("s2"));
+
+        assertEquals(1, exportService.exportInteractions(false).total());
+
+        List<TrainingExportCursor> cursors = savedCursors(2);
+        assertNull(cursors.get(0).getStoreId());
+        assertEquals("s2", cursors.get(1).getStoreId());
+        assertEquals(UNTIL, cursors.get(1).getLastChangedAt());
+    }
+
+    @Test
+    void exportInteractions_WithoutCompletedFullExport_ShouldExportEverything() {
+        givenCursor(LAST_EXPORT, 4L, null);
+        givenEmptyTables();
+        when(pythonApiClient.postInteractions(new byte[0], true, null)).thenReturn(accepted("s1"));
+
+        exportService.exportInteractions(false);
+
+        verify(changeRepository, never()).findChangesAfter(any(), anyLong(), any(), any());
+        assertEquals("s1", savedCursors(2).get(1).getStoreId());
+    }
+
+    @Test
+    void exportInteractions_Full_ShouldResetOnFirstBatchOnly() {
+        when(purchaseRepository.findSaleLinesAfter(0L, Limit.of(2))).thenReturn(List.<Object[]>of(line(1L, 1L, 5L, 1)));
+        when(avisRepository.findApprovedNotesAfter(0L, Limit.of(2))).thenReturn(List.<Object[]>of(line(1L, 1L, 5L, 4)));
+        when(wishlistRepository.findEntriesAfter(0L, Limit.of(2))).thenReturn(List.of());
+        when(pythonApiClient.postInteractions(any(), anyBoolean(), isNull())).thenReturn(accepted("s1"));
+
+        exportService.exportInteractions(true);
+
+        verify(cursorRepository, never()).findById(any());
+        verify(pythonApiClient).postInteractions(any(), eq(true), isNull());
+        verify(pythonApiClient).postInteractions(any(), eq(false), isNull());
+        // Les modifications du retrait de sécurité seront rejouées par l'export incrémental suivant
+        verify(changeRepository).deleteChangedBefore(UNTIL);
+    }
+
+    @Test
+    void exportInteractions_Full_WithoutData_ShouldStillResetApi() {
+        givenEmptyTables();
+        when(pythonApiClient.postInteractions(new byte[0], true, null)).thenReturn(accepted("s1"));
+
+        assertEquals(0, exportService.exportInteractions(true).total());
+
+        verify(pythonApiClient).postInteractions(new byte[0], true, null);
+    }
+
+    @Test
+    void exportInteractions_WhenBatchRejected_ShouldKeepCursorAtLastAcceptedBatch() {
+        givenCursor(LAST_EXPORT, 0L, "s1");
+        LocalDateTime at = LAST_EXPORT.plusMinutes(1);
+        when(changeRepository.findChangesAfter(LAST_EXPORT, 0L, UNTIL, Limit.of(2)))
+                .thenReturn(List.of(change(1L, 1L, 5L, at), change(2L, 2L, 5L, at)));
+        when(changeRepository.findChangesAfter(at, 2L, UNTIL, Limit.of(2)))
+                .thenReturn(List.of(change(3L, 3L, 5L, at)));
+        when(purchaseRepository.findSaleLinesOf(anySet(), anySet())).thenReturn(List.of());
+        when(avisRepository.findApprovedNotesOf(anySet(), anySet())).thenReturn(List.of());
+        when(wishlistRepository.findEntriesOf(anySet(), anySet())).thenReturn(List.of());
+        when(pythonApiClient.postInteractions(any(), eq(false), eq("s1")))
+                .thenReturn(accepted("s1"))
+                .thenThrow(new ResourceAccessException("API Python injoignable"));
+
+        assertThrows(ResourceAccessException.class, () -> exportService.exportInteractions(false));
+
+        assertEquals(2L, savedCursors(1).get(0).getLastExportedId());
+        verify(changeRepository, never()).deleteChangedBefore(any());
+        // Un nouvel export peut démarrer après l'échec
+        givenEmptyTables();
+        when(pythonApiClient.postInteractions(new byte[0], true, null)).thenReturn(accepted("s1"));
+        assertEquals(0, exportService.exportInteractions(true).total());
+    }
+
+    @Test
+    void toNdjson_ShouldWriteOneJsonObjectPerLine() {
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 12, 30);
+        List<Object[]> rows = List.of(
+                new Object[]{1L, 2L, 3L, 5, at},
+                new Object[]{2L, 4L, 3L, 2, null});
+
+        String ndjson = new String(exportService.toNdjson(TrainingDataExportService.Source.REVIEWS, rows,
+                new ByteArrayOutputStream()), StandardCharsets.UTF_8);
+
+        assertEquals("""
+                {"kind":"review","user_id":2,"game_id":3,"note":5,"at":"2024-05-01T12:30"}
+                {"kind":"review","user_id":4,"game_id":3,"note":2}
+                """, ndjson);
+    }
+
+    @Test
+    void toNdjson_ShouldWriteTombstonesBeforeCurrentState() {
+        String ndjson = new String(exportService.toNdjson(
+                Set.of(new TrainingDataExportService.Pair(4L, 3L)),
+                Map.of(TrainingDataExportService.Source.WISHLIST, List.<Object[]>of(line(9L, 4L, 3L, null))),
+                new ByteArrayOutputStream()), StandardCharsets.UTF_8);
+
+        assertEquals("""
+                {"kind":"delete","user_id":4,"game_id":3}
+                {"kind":"wishlist","user_id":4,"game_id":3}
+                """, ndjson);
+    }
+}
@@ -4,15 +4,21 @@ import com.gamesUP.gamesUP.dto.UserDTO;
 import com.gamesUP.gamesUP.model.User;
 import com.gamesUP.gamesUP.repository.UserRepository;
 import com.gamesUP.gamesUP.repository.PurchaseRepository;
+import com.gamesUP.gamesUP.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +36,10 @@ class UserServiceTest {
     private PurchaseRepository purchaseRepository;
     
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private PrincipalCache principalCache;
 
     @InjectMocks
     private UserService userService;
@@ -64,26 +73,25 @@ class UserServiceTest {
     void getAllUsers_ShouldReturnAllUsers() {
         // Given
         List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
-        when(purchaseRepository.countByUserId(anyLong())).thenReturn(5L);
-        when(purchaseRepository.getTotalSpentByUser(anyLong())).thenReturn(150.0);
+        when(userRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(users));
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(stats(1L, 5L, 150.0));
 
         // When
-        List<UserDTO> result = userService.getAllUsers();
+        Page<UserDTO> result = userService.getAllUsers(0, 20);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("jean.dupont@email.com", result.get(0).getEmail());
-        verify(userRepository).findAll();
+        assertEquals(1, result.getContent().size());
+        assertEquals("jean.dupont@email.com", result.getContent().get(0).getEmail());
+        assertEquals(5L, result.getContent().get(0).getNumberOfPurchases());
+        verify(userRepository).findAll(PageRequest.of(0, 20, Sort.by("id")));
     }
 
     @Test
     void getUserById_WhenUserExists_ShouldReturnUser() {
         // Given
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(purchaseRepository.countByUserId(1L)).thenReturn(5L);
-        when(purchaseRepository.getTotalSpentByUser(1L)).thenReturn(150.0);
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(stats(1L, 5L, 150.0));
 
         // When
         Optional<UserDTO> result = userService.getUserById(1L);
@@ -113,8 +121,7 @@ class UserServiceTest {
     void getUserByEmail_WhenUserExists_ShouldReturnUser() {
         // Given
         when(userRepository.findByEmail("jean.dupont@email.com")).thenReturn(Optional.of(testUser));
-        when(purchaseRepository.countByUserId(1L)).thenReturn(5L);
-        when(purchaseRepository.getTotalSpentByUser(1L)).thenReturn(150.0);
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(stats(1L, 5L, 150.0));
 
         // When
         Optional<UserDTO> result = userService.getUserByEmail("jean.dupont@email.com");
@@ -129,10 +136,9 @@ class UserServiceTest {
     void createUser_ShouldCreateAndReturnUser() {
         // Given
         when(userRepository.existsByEmail("jean.dupont@email.com")).thenReturn(false);
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordHashingService.encode("password123")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
-        when(purchaseRepository.countByUserId(1L)).thenReturn(0L);
-        when(purchaseRepository.getTotalSpentByUser(1L)).thenReturn(0.0);
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(List.of());
 
         // When
         UserDTO result = userService.createUser(testUserDTO);
@@ -141,7 +147,7 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals("jean.dupont@email.com", result.getEmail());
         verify(userRepository).existsByEmail("jean.dupont@email.com");
-        verify(passwordEncoder).encode("password123");
+        verify(passwordHashingService).encode("password123");
         verify(userRepository).save(any(User.class));
     }
 
@@ -296,18 +302,18 @@ class UserServiceTest {
     void getUsersByRole_ShouldReturnUsersWithRole() {
         // Given
         List<User> users = Arrays.asList(testUser);
-        when(userRepository.findByRole(User.UserRole.CLIENT)).thenReturn(users);
-        when(purchaseRepository.countByUserId(anyLong())).thenReturn(5L);
-        when(purchaseRepository.getTotalSpentByUser(anyLong())).thenReturn(150.0);
+        when(userRepository.findByRole(eq(User.UserRole.CLIENT), any(Pageable.class))).thenReturn(new PageImpl<>(users));
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(stats(1L, 5L, 150.0));
 
         // When
-        List<UserDTO> result = userService.getUsersByRole(User.UserRole.CLIENT);
+        Page<UserDTO> result = userService.getUsersByRole(User.UserRole.CLIENT, 0, 500);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(User.UserRole.CLIENT, result.get(0).getRole());
-        verify(userRepository).findByRole(User.UserRole.CLIENT);
+        assertEquals(1, result.getContent().size());
+        assertEquals(User.UserRole.CLIENT, result.getContent().get(0).getRole());
+        // La taille de page est plafonnée
+        verify(userRepository).findByRole(User.UserRole.CLIENT, PageRequest.of(0, 100, Sort.by("id")));
     }
 
     @Test
@@ -315,8 +321,7 @@ class UserServiceTest {
         // Given
         List<User> activeUsers = Arrays.asList(testUser);
         when(userRepository.findByActive(true)).thenReturn(activeUsers);
-        when(purchaseRepository.countByUserId(anyLong())).thenReturn(5L);
-        when(purchaseRepository.getTotalSpentByUser(anyLong())).thenReturn(150.0);
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(stats(1L, 5L, 150.0));
 
         // When
         List<UserDTO> result = userService.getActiveUsers();
@@ -333,8 +338,7 @@ class UserServiceTest {
         // Given
         List<User> users = Arrays.asList(testUser);
         when(userRepository.findByKeyword("Dupont")).thenReturn(users);
-        when(purchaseRepository.countByUserId(anyLong())).thenReturn(5L);
-        when(purchaseRepository.getTotalSpentByUser(anyLong())).thenReturn(150.0);
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L))).thenReturn(stats(1L, 5L, 150.0));
 
         // When
         List<UserDTO> result = userService.searchUsers("Dupont");
@@ -345,4 +349,30 @@ class UserServiceTest {
         assertEquals("Dupont", result.get(0).getNom());
         verify(userRepository).findByKeyword("Dupont");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getActiveClients_ShouldReadStatsOfWholePageInOneQuery() {
+        // Given
+        User withoutPurchases = User.builder().id(2L).nom("Martin").prenom("Marie")
+                .email("marie.martin@email.com").role(User.UserRole.CLIENT).active(true).build();
+        when(userRepository.findActiveClients(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testUser, withoutPurchases), PageRequest.of(0, 2), 5));
+        when(purchaseRepository.findPurchaseStatsByUserIds(List.of(1L, 2L))).thenReturn(stats(1L, 3L, null));
+
+        // When
+        Page<UserDTO> result = userService.getActiveClients(0, 2);
+
+        // Then
+        assertEquals(5, result.getTotalElements());
+        assertEquals(3L, result.getContent().get(0).getNumberOfPurchases());
+        assertEquals(0.0, result.getContent().get(0).getTotalSpent());
+        assertEquals(0L, result.getContent().get(1).getNumberOfPurchases());
+        assertEquals(0.0, result.getContent().get(1).getTotalSpent());
+        verify(purchaseRepository).findPurchaseStatsByUserIds(anyCollection());
+        verify(purchaseRepository, never()).countByUserId(anyLong());
+    }
+
+    private static List<Object[]> stats(Long userId, Long numberOfPurchases, Double totalSpent) {
+        return Collections.singletonList(new Object[]{userId, numberOfPurchases, totalSpent});
+    }
+}